@@ -0,0 +1,49 @@
+package software.amazon.entityresolution.common;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClientBuilder;
+import software.amazon.cloudformation.LambdaWrapper;
+
+public class ClientBuilder {
+
+    /**
+     * Key used when the request carries no region and the SDK default region provider chain is used instead.
+     */
+    private static final String DEFAULT_REGION = "";
+
+    /**
+     * Points the clients at another Entity Resolution endpoint, such as the local service used for offline load tests.
+     * The system property wins over the environment variable so a test can redirect clients built in its own JVM.
+     * Neither is set in Lambda, where clients keep the SDK's regional endpoint.
+     */
+    public static final String ENDPOINT_OVERRIDE_PROPERTY = "entityresolution.endpoint";
+    public static final String ENDPOINT_OVERRIDE_VARIABLE = "ENTITY_RESOLUTION_ENDPOINT";
+
+    /**
+     * Clients live as long as the Lambda container, so warm invocations skip SDK client construction, endpoint
+     * resolution and signer setup. A container only ever serves one region, but the cache is keyed by region so a
+     * client is never reused against the wrong endpoint or partition.
+     */
+    private static final Map<String, EntityResolutionClient> CLIENTS = new ConcurrentHashMap<>();
+
+    public static EntityResolutionClient getClient(final String region) {
+        return CLIENTS.computeIfAbsent(region == null ? DEFAULT_REGION : region, ClientBuilder::buildClient);
+    }
+
+    private static EntityResolutionClient buildClient(final String region) {
+        final EntityResolutionClientBuilder builder = EntityResolutionClient.builder()
+                                                                            .httpClient(LambdaWrapper.HTTP_CLIENT);
+        if (!DEFAULT_REGION.equals(region)) {
+            builder.region(Region.of(region));
+        }
+        final String endpoint = System.getProperty(ENDPOINT_OVERRIDE_PROPERTY, System.getenv(ENDPOINT_OVERRIDE_VARIABLE));
+        if (endpoint != null && !endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,173 @@
+package software.amazon.entityresolution.common;
+
+import java.util.Objects;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Builds and takes apart the ARNs of Entity Resolution resources, which all have the form
+ * {@code arn:<partition>:entityresolution:<region>:<account>:<resourceType>/<name>}.
+ *
+ * <p>Handlers build the ARN of the resource they work on several times per request, so this avoids
+ * {@link String#format} and regular expressions: ARNs are copied into a builder sized to fit, and parsing only compares
+ * characters in place. The {@code arn:<partition>:entityresolution:<region>:<account>:} prefix is remembered for the
+ * last partition, region and account seen, which in a handler container is the one every request comes with.
+ */
+public class EntityResolutionArn {
+
+    public static final String MATCHING_WORKFLOW = "matchingworkflow";
+    public static final String ID_MAPPING_WORKFLOW = "idmappingworkflow";
+    public static final String SCHEMA_MAPPING = "schemamapping";
+
+    private static final String SCHEME = "arn:";
+    private static final String SERVICE = ":entityresolution:";
+
+    private static volatile Prefix lastPrefix;
+
+    /**
+     * ARN of the named resource in the partition, region and account the request is for.
+     */
+    public static String of(
+        final ResourceHandlerRequest<?> request,
+        final String resourceType,
+        final String name) {
+        return join(prefix(request.getAwsPartition(), request.getRegion(), request.getAwsAccountId()),
+            checkResourceType(resourceType), name);
+    }
+
+    /**
+     * Name at the end of an ARN, without checking what kind of resource it names.
+     */
+    public static String resourceName(final String arn) {
+        return arn.substring(arn.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Name of the resource {@code arn} points to, which has to be an Entity Resolution ARN of the given resource type.
+     * Anything else is rejected as an invalid request, since these ARNs come from the template.
+     */
+    public static String resourceName(
+        final String arn,
+        final String resourceType) {
+        final int nameStart = nameStart(arn, checkResourceType(resourceType));
+        if (nameStart < 0) {
+            throw new CfnInvalidRequestException(arn + " is not the ARN of an Entity Resolution " + resourceType);
+        }
+        return arn.substring(nameStart);
+    }
+
+    /**
+     * ARN of another resource in the same partition, region and account as {@code arn}, such as the schema mapping a
+     * workflow reads its input with.
+     */
+    public static String sibling(
+        final String arn,
+        final String resourceType,
+        final String name) {
+        checkResourceType(resourceType);
+        final int prefixLength = arn.lastIndexOf(':') + 1;
+        final Prefix cached = lastPrefix;
+        if (cached != null && cached.value.length() == prefixLength && arn.startsWith(cached.value)) {
+            return join(cached.value, resourceType, name);
+        }
+        return join(arn.substring(0, prefixLength), resourceType, name);
+    }
+
+    static String prefix(
+        final String partition,
+        final String region,
+        final String account) {
+        final Prefix cached = lastPrefix;
+        if (cached != null && cached.isFor(partition, region, account)) {
+            return cached.value;
+        }
+        final Prefix prefix = new Prefix(partition, region, account);
+        lastPrefix = prefix;
+        return prefix.value;
+    }
+
+    private static String join(
+        final String prefix,
+        final String resourceType,
+        final String name) {
+        final String safeName = String.valueOf(name);
+        return new StringBuilder(prefix.length() + resourceType.length() + 1 + safeName.length())
+            .append(prefix)
+            .append(resourceType)
+            .append('/')
+            .append(safeName)
+            .toString();
+    }
+
+    /**
+     * Index the name starts at in {@code arn}, or -1 if it is not an Entity Resolution ARN of the resource type or has
+     * an empty name. Neither the region nor the account can contain a colon, so the resource starts after the fifth.
+     */
+    private static int nameStart(
+        final String arn,
+        final String resourceType) {
+        if (arn == null || !arn.startsWith(SCHEME)) {
+            return -1;
+        }
+        final int partitionEnd = arn.indexOf(':', SCHEME.length());
+        if (partitionEnd < 0 || !arn.startsWith(SERVICE, partitionEnd)) {
+            return -1;
+        }
+        final int regionEnd = arn.indexOf(':', partitionEnd + SERVICE.length());
+        final int accountEnd = regionEnd < 0 ? -1 : arn.indexOf(':', regionEnd + 1);
+        if (accountEnd < 0 || !arn.startsWith(resourceType, accountEnd + 1)) {
+            return -1;
+        }
+        final int separator = accountEnd + 1 + resourceType.length();
+        if (separator + 1 >= arn.length() || arn.charAt(separator) != '/') {
+            return -1;
+        }
+        return separator + 1;
+    }
+
+    private static String checkResourceType(final String resourceType) {
+        if (!MATCHING_WORKFLOW.equals(resourceType) && !ID_MAPPING_WORKFLOW.equals(resourceType)
+            && !SCHEMA_MAPPING.equals(resourceType)) {
+            throw new IllegalArgumentException("Unknown Entity Resolution resource type " + resourceType);
+        }
+        return resourceType;
+    }
+
+    private static final class Prefix {
+
+        private final String partition;
+        private final String region;
+        private final String account;
+        private final String value;
+
+        Prefix(
+            final String partition,
+            final String region,
+            final String account) {
+            this.partition = partition;
+            this.region = region;
+            this.account = account;
+            final String safePartition = String.valueOf(partition);
+            final String safeRegion = String.valueOf(region);
+            final String safeAccount = String.valueOf(account);
+            this.value = new StringBuilder(SCHEME.length() + safePartition.length() + SERVICE.length()
+                + safeRegion.length() + 1 + safeAccount.length() + 1)
+                .append(SCHEME)
+                .append(safePartition)
+                .append(SERVICE)
+                .append(safeRegion)
+                .append(':')
+                .append(safeAccount)
+                .append(':')
+                .toString();
+        }
+
+        boolean isFor(
+            final String partition,
+            final String region,
+            final String account) {
+            return Objects.equals(this.partition, partition) && Objects.equals(this.region, region)
+                && Objects.equals(this.account, account);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package software.amazon.entityresolution.common;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.core.exception.RetryableException;
+import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.ExceedsLimitException;
+import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
+import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
+import software.amazon.awssdk.services.entityresolution.model.ValidationException;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+/**
+ * Maps a failed Entity Resolution call to the handler exception CloudFormation expects for it. Handlers catch the few
+ * exceptions whose meaning depends on the operation, such as a {@code ConflictException} on create, and leave the rest
+ * to {@link #translate}. Anything the service does not document becomes a general service error.
+ *
+ * <p>Call chains report a failure as a failed progress event rather than by throwing, since an exception thrown from
+ * their error handler is not passed on as it is. {@link #handleError} is the error handler for calls whose failures
+ * need no operation-specific mapping, and {@link #failure} builds the event for the ones that do. The one exception
+ * is a {@link RetryableException}, which is how an error handler asks the call chain to repeat the call after its
+ * backoff delay.
+ */
+public class ExceptionTranslator {
+
+    public static BaseHandlerException translate(final Exception e) {
+        if (e instanceof AccessDeniedException) {
+            return new CfnAccessDeniedException(e);
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return new CfnNotFoundException(e);
+        }
+        if (e instanceof ExceedsLimitException) {
+            return new CfnServiceLimitExceededException(e);
+        }
+        if (e instanceof InternalServerException) {
+            return new CfnServiceInternalErrorException(e);
+        }
+        if (e instanceof ValidationException) {
+            return new CfnInvalidRequestException(e);
+        }
+        if (e instanceof ThrottlingException) {
+            return new CfnThrottlingException(e);
+        }
+        return new CfnGeneralServiceException(e);
+    }
+
+    /**
+     * Fails the operation with the error code of the given handler exception, or of the one {@link #translate} maps
+     * the exception to.
+     */
+    public static <ModelT, CallbackT> ProgressEvent<ModelT, CallbackT> failure(final Exception e) {
+        final BaseHandlerException handlerException = e instanceof BaseHandlerException ? (BaseHandlerException) e
+            : translate(e);
+        return ProgressEvent.defaultFailureHandler(handlerException, handlerException.getErrorCode());
+    }
+
+    /**
+     * Retries the failures the request's {@link RetryPolicy} allows, and fails the operation on any other.
+     */
+    public static <RequestT extends AwsRequest, ClientT, ModelT, CallbackT extends StdCallbackContext>
+    ProgressEvent<ModelT, CallbackT> handleError(
+        final RequestT request,
+        final Exception e,
+        final ProxyClient<ClientT> proxyClient,
+        final ModelT model,
+        final CallbackT callbackContext) {
+        return retryOrFail(request, e);
+    }
+
+    /**
+     * What {@link #handleError} does, for error handlers that map some failures of their own first.
+     */
+    public static <ModelT, CallbackT> ProgressEvent<ModelT, CallbackT> retryOrFail(
+        final AwsRequest request,
+        final Exception e) {
+        if (RetryPolicy.forRequest(request)
+                       .isRetryable(e)) {
+            throw RetryableException.builder()
+                                    .cause(e)
+                                    .build();
+        }
+        return failure(e);
+    }
+}
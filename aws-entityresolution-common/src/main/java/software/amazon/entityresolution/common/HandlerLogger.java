@@ -0,0 +1,42 @@
+package software.amazon.entityresolution.common;
+
+import java.util.function.Supplier;
+import org.apache.logging.log4j.Level;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Level-gated handler logging. Messages are passed as suppliers and only built when their level is enabled, so an
+ * invocation at the default {@code INFO} level never formats the debug messages it drops. The level is read once per
+ * container from the {@code log.level} system property or the {@code LOG_LEVEL} environment variable, which are also
+ * what {@code log4j2.xml} uses for the SDK's own loggers.
+ */
+public class HandlerLogger {
+
+    static final String LEVEL_PROPERTY = "log.level";
+    static final String LEVEL_VARIABLE = "LOG_LEVEL";
+
+    private static final Level THRESHOLD = threshold(System.getProperty(LEVEL_PROPERTY,
+        System.getenv(LEVEL_VARIABLE)));
+
+    public static void info(final Logger logger, final Supplier<String> message) {
+        log(logger, Level.INFO, message);
+    }
+
+    public static void debug(final Logger logger, final Supplier<String> message) {
+        log(logger, Level.DEBUG, message);
+    }
+
+    static Level threshold(final String level) {
+        return Level.toLevel(level, Level.INFO);
+    }
+
+    static boolean isEnabled(final Level level, final Level threshold) {
+        return level.isMoreSpecificThan(threshold);
+    }
+
+    private static void log(final Logger logger, final Level level, final Supplier<String> message) {
+        if (isEnabled(level, THRESHOLD)) {
+            logger.log(message.get());
+        }
+    }
+}
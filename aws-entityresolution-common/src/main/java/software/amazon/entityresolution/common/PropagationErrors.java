@@ -0,0 +1,36 @@
+package software.amazon.entityresolution.common;
+
+import java.util.Locale;
+import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.ValidationException;
+
+/**
+ * Recognizes the errors a create gets while an IAM role or KMS key created in the same stack is not usable by the
+ * service yet. Those are the service failing to assume the role, or an STS denial of the AssumeRole call, and a
+ * validation error saying the KMS key is not accessible. Any other error about the role or key, such as a malformed
+ * ARN, a disabled key or a missing KMS permission, does not go away by waiting and fails the create right away.
+ */
+public class PropagationErrors {
+
+    private static final String UNABLE_TO_ASSUME_ROLE = "unable to assume role";
+    private static final String ASSUME_ROLE_DENIED = "not authorized to perform: sts:assumerole";
+    private static final String KMS_KEY = "kms key ";
+    private static final String NOT_ACCESSIBLE = " is not accessible";
+
+    public static boolean isPropagationDelay(final Exception e) {
+        if (e.getMessage() == null) {
+            return false;
+        }
+
+        final String message = e.getMessage()
+                                .toLowerCase(Locale.ROOT);
+        if (e instanceof AccessDeniedException) {
+            return message.contains(UNABLE_TO_ASSUME_ROLE) || message.contains(ASSUME_ROLE_DENIED);
+        }
+        if (e instanceof ValidationException) {
+            return message.contains(UNABLE_TO_ASSUME_ROLE)
+                || message.startsWith(KMS_KEY) && message.contains(NOT_ACCESSIBLE);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,78 @@
+package software.amazon.entityresolution.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import software.amazon.cloudformation.Action;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Creates, updates and deletes this container completed, keyed by the request's client request token. CloudFormation
+ * keeps the token when it retries an invocation whose response it never got, so a retry that lands in the same
+ * container is answered here instead of repeating service calls that already took effect. A repeated create would
+ * otherwise fail as AlreadyExists.
+ *
+ * <p>Only successes are kept: a failure may not happen again on retry, and an in-progress event already hands its
+ * state to the next invocation through the callback context. The call chain records each completed service call's
+ * response there under its call graph, so a retry that carries that context skips the calls already made, in whichever
+ * container it lands. A success carries no context, which leaves this cache as the only record of it, and only in the
+ * container that completed it. Once the capacity is reached, the least recently used outcome is dropped.
+ */
+public class ReplayCache<ModelT, CallbackT> {
+
+    public static final int CAPACITY = 256;
+
+    private final Map<String, ModelT> outcomes;
+
+    public ReplayCache() {
+        this(CAPACITY);
+    }
+
+    ReplayCache(final int capacity) {
+        this.outcomes = new LinkedHashMap<String, ModelT>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, ModelT> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the recorded outcome of this request, or null when the operation has not completed in this container.
+     */
+    public synchronized ProgressEvent<ModelT, CallbackT> replay(
+        final Action action,
+        final ResourceHandlerRequest<ModelT> request,
+        final Logger logger) {
+        final String key = key(action, request);
+        if (key == null || !outcomes.containsKey(key)) {
+            return null;
+        }
+
+        HandlerLogger.info(logger, () -> String.format("Replaying completed %s for clientRequestToken = %s", action,
+            request.getClientRequestToken()));
+        return ProgressEvent.defaultSuccessHandler(outcomes.get(key));
+    }
+
+    /**
+     * Records the event if it completes the operation, and returns it.
+     */
+    public synchronized ProgressEvent<ModelT, CallbackT> record(
+        final Action action,
+        final ResourceHandlerRequest<ModelT> request,
+        final ProgressEvent<ModelT, CallbackT> event) {
+        final String key = key(action, request);
+        if (key != null && event.getStatus() == OperationStatus.SUCCESS) {
+            outcomes.put(key, event.getResourceModel());
+        }
+        return event;
+    }
+
+    private static String key(
+        final Action action,
+        final ResourceHandlerRequest<?> request) {
+        return request.getClientRequestToken() == null ? null : action + ":" + request.getClientRequestToken();
+    }
+}
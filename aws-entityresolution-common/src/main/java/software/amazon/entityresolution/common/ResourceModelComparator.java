@@ -0,0 +1,133 @@
+package software.amazon.entityresolution.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Tells whether an update changes any property the service stores on the resource, so that updates touching only tags
+ * can skip the service's update call. Both models are reduced to a canonical JSON tree driven by the resource schema:
+ * tags and read-only properties are dropped, null properties count as absent, and arrays the schema declares with
+ * {@code "insertionOrder": false} are sorted, so reordering their items is not a change.
+ */
+public class ResourceModelComparator<ModelT> {
+
+    private static final String REF_PREFIX = "#/definitions/";
+    private static final String PROPERTY_POINTER_PREFIX = "/properties/";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final Comparator<JsonNode> CANONICAL_ORDER = Comparator.comparing(JsonNode::toString);
+
+    private final JSONObject schema;
+    private final Set<String> ignoredProperties = new HashSet<>();
+
+    /**
+     * The schema is the resource type's, as the handler's configuration loads it.
+     */
+    public ResourceModelComparator(final JSONObject schema) {
+        this.schema = schema;
+
+        final JSONObject tagging = schema.optJSONObject("tagging");
+        if (tagging != null && tagging.has("tagProperty")) {
+            ignoredProperties.add(propertyName(tagging.getString("tagProperty")));
+        }
+        final JSONArray readOnlyProperties = schema.optJSONArray("readOnlyProperties");
+        if (readOnlyProperties != null) {
+            for (int i = 0; i < readOnlyProperties.length(); i++) {
+                ignoredProperties.add(propertyName(readOnlyProperties.getString(i)));
+            }
+        }
+    }
+
+    /**
+     * Returns false when either model is missing, since there is then nothing to prove the update redundant.
+     */
+    public boolean hasSameProperties(
+        final ModelT previousModel,
+        final ModelT desiredModel) {
+        if (previousModel == null || desiredModel == null) {
+            return false;
+        }
+
+        return canonicalModel(previousModel).equals(canonicalModel(desiredModel));
+    }
+
+    private JsonNode canonicalModel(final ModelT model) {
+        final ObjectNode properties = (ObjectNode) canonical(MAPPER.valueToTree(model), schema);
+        properties.remove(ignoredProperties);
+        return properties;
+    }
+
+    private JsonNode canonical(
+        final JsonNode node,
+        final JSONObject nodeSchema) {
+        final JSONObject resolvedSchema = resolve(nodeSchema);
+
+        if (node.isObject()) {
+            final JSONObject propertySchemas = resolvedSchema == null ? null : resolvedSchema.optJSONObject(
+                "properties");
+            final ObjectNode canonicalObject = NODES.objectNode();
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue()
+                          .isNull()) {
+                    canonicalObject.set(field.getKey(), canonical(field.getValue(),
+                        propertySchemas == null ? null : propertySchemas.optJSONObject(field.getKey())));
+                }
+            }
+            return canonicalObject;
+        }
+
+        if (node.isArray()) {
+            final JSONObject itemSchema = resolvedSchema == null ? null : resolvedSchema.optJSONObject("items");
+            final List<JsonNode> items = new ArrayList<>(node.size());
+            for (final JsonNode item : node) {
+                items.add(canonical(item, itemSchema));
+            }
+            // CloudFormation treats arrays as ordered unless the schema says otherwise.
+            if (resolvedSchema != null && !resolvedSchema.optBoolean("insertionOrder", true)) {
+                items.sort(CANONICAL_ORDER);
+            }
+            final ArrayNode canonicalArray = NODES.arrayNode(items.size());
+            canonicalArray.addAll(items);
+            return canonicalArray;
+        }
+
+        return node;
+    }
+
+    /**
+     * Follows {@code $ref}s into the schema's definitions. Returns null for nodes the schema does not describe, which
+     * are then compared exactly.
+     */
+    private JSONObject resolve(final JSONObject nodeSchema) {
+        JSONObject resolved = nodeSchema;
+        while (resolved != null && resolved.has("$ref")) {
+            final String ref = resolved.getString("$ref");
+            if (!ref.startsWith(REF_PREFIX)) {
+                return null;
+            }
+            resolved = schema.getJSONObject("definitions")
+                             .optJSONObject(ref.substring(REF_PREFIX.length()));
+        }
+        return resolved;
+    }
+
+    private static String propertyName(final String pointer) {
+        return pointer.startsWith(PROPERTY_POINTER_PREFIX) ? pointer.substring(PROPERTY_POINTER_PREFIX.length())
+            : pointer;
+    }
+}
@@ -0,0 +1,47 @@
+package software.amazon.entityresolution.common;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
+import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
+
+/**
+ * Which failures {@link ExceptionTranslator#handleError} hands back to the call chain to retry for a kind of service
+ * call. Throttles are always retried: the service rejects a throttled call before doing any work, so repeating it is
+ * safe for every operation.
+ */
+public enum RetryPolicy {
+
+    /**
+     * Get and List calls have no side effects, so a server error is retried like a throttle.
+     */
+    READ(true),
+
+    /**
+     * A create, update, delete or tagging call that failed with a server error may still have taken effect, and
+     * repeating it could then fail where the first attempt succeeded, as a create does with AlreadyExists.
+     */
+    WRITE(false);
+
+    private static final String[] READ_PREFIXES = {"Get", "List"};
+
+    private final boolean retriesServerErrors;
+
+    RetryPolicy(final boolean retriesServerErrors) {
+        this.retriesServerErrors = retriesServerErrors;
+    }
+
+    public static RetryPolicy forRequest(final AwsRequest request) {
+        final String requestName = request.getClass()
+                                          .getSimpleName();
+        for (final String prefix : READ_PREFIXES) {
+            if (requestName.startsWith(prefix)) {
+                return READ;
+            }
+        }
+        return WRITE;
+    }
+
+    public boolean isRetryable(final Exception e) {
+        return e instanceof ThrottlingException || retriesServerErrors && e instanceof InternalServerException;
+    }
+}
@@ -0,0 +1,61 @@
+package software.amazon.entityresolution.common;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent service calls of a handler invocation in parallel, so that e.g. a read costs the latency of its
+ * slowest call rather than the sum of all of them. The pool is shared by the container and bounded, since a handler
+ * only ever fans out a couple of calls at a time.
+ */
+public class ServiceCallExecutor {
+
+    private static final int POOL_SIZE = 4;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(POOL_SIZE, runnable -> {
+        final Thread thread = new Thread(runnable, "service-call-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static <T> CompletableFuture<T> submit(final Supplier<T> serviceCall) {
+        return CompletableFuture.supplyAsync(serviceCall, EXECUTOR);
+    }
+
+    /**
+     * Waits for a submitted call and rethrows its failure unwrapped, so callers can keep mapping service exceptions
+     * exactly as they do for calls made on the handler thread.
+     */
+    public static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a submitted call whose result is no longer needed, ignoring how it ends. A call still running on the
+     * pool would otherwise record its metrics after the invocation that submitted it has published them.
+     */
+    public static void settle(final CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (final CompletionException | CancellationException e) {
+            // The invocation is already failing for another reason.
+        }
+    }
+}
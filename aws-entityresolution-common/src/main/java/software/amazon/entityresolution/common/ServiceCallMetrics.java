@@ -0,0 +1,142 @@
+package software.amazon.entityresolution.common;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Service calls made by one handler invocation, published through the handler's {@link Logger} as CloudWatch Embedded
+ * Metric Format documents once the invocation ends. Lambda turns those log lines into metrics, so dashboards get
+ * per-operation latency and errors without the handler calling CloudWatch itself.
+ *
+ * <p>EMF allows one value per dimension in a document, so each operation gets its own document covering all of its
+ * calls: every latency is listed, and errors are summed. Error classes are a plain property rather than a
+ * dimension, which keeps the number of metric streams fixed.
+ */
+public class ServiceCallMetrics {
+
+    static final String NAMESPACE = "EntityResolution/ResourceHandlers";
+
+    private static final String REQUEST_SUFFIX = "Request";
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    /**
+     * Calls fanned out through {@link ServiceCallExecutor} record from pool threads.
+     */
+    private final Queue<Call> calls = new ConcurrentLinkedQueue<>();
+
+    private final String resourceType;
+
+    /**
+     * The resource type name, such as {@code AWS::EntityResolution::SchemaMapping}, is the ResourceType dimension of
+     * every document.
+     */
+    public ServiceCallMetrics(final String resourceType) {
+        this.resourceType = resourceType;
+    }
+
+    void record(
+        final AwsRequest request,
+        final long latencyNanos,
+        final Throwable error) {
+        calls.add(new Call(operationName(request), TimeUnit.NANOSECONDS.toMicros(latencyNanos) / 1000.0,
+            error == null ? null : error.getClass()
+                                        .getSimpleName()));
+    }
+
+    /**
+     * Logs the calls recorded so far and forgets them. Logs nothing when the invocation made no calls.
+     */
+    public void publish(final Logger logger) {
+        for (final String document : drain(System.currentTimeMillis())) {
+            logger.log(document);
+        }
+    }
+
+    List<String> drain(final long timestampMillis) {
+        final Map<String, List<Call>> callsByOperation = new LinkedHashMap<>();
+        Call call;
+        while ((call = calls.poll()) != null) {
+            callsByOperation.computeIfAbsent(call.operation, operation -> new ArrayList<>())
+                            .add(call);
+        }
+
+        final List<String> documents = new ArrayList<>(callsByOperation.size());
+        for (final Map.Entry<String, List<Call>> entry : callsByOperation.entrySet()) {
+            documents.add(document(timestampMillis, entry.getKey(), entry.getValue()).toString());
+        }
+        return documents;
+    }
+
+    private ObjectNode document(
+        final long timestampMillis,
+        final String operation,
+        final List<Call> operationCalls) {
+        final ObjectNode document = NODES.objectNode();
+
+        final ObjectNode directive = document.putObject("_aws")
+                                             .put("Timestamp", timestampMillis)
+                                             .putArray("CloudWatchMetrics")
+                                             .addObject()
+                                             .put("Namespace", NAMESPACE);
+        directive.putArray("Dimensions")
+                 .addArray()
+                 .add("ResourceType")
+                 .add("Operation");
+        final ArrayNode metrics = directive.putArray("Metrics");
+        metrics.addObject()
+               .put("Name", "Latency")
+               .put("Unit", "Milliseconds");
+        metrics.addObject()
+               .put("Name", "Errors")
+               .put("Unit", "Count");
+
+        document.put("ResourceType", resourceType);
+        document.put("Operation", operation);
+
+        final ArrayNode latencies = document.putArray("Latency");
+        int errors = 0;
+        final ArrayNode errorTypes = NODES.arrayNode();
+        for (final Call call : operationCalls) {
+            latencies.add(call.latencyMillis);
+            if (call.errorType != null) {
+                errors++;
+                errorTypes.add(call.errorType);
+            }
+        }
+        document.put("Errors", errors);
+        if (errors > 0) {
+            document.set("ErrorTypes", errorTypes);
+        }
+        return document;
+    }
+
+    private static String operationName(final AwsRequest request) {
+        final String requestName = request.getClass()
+                                          .getSimpleName();
+        return requestName.endsWith(REQUEST_SUFFIX) ? requestName.substring(0,
+            requestName.length() - REQUEST_SUFFIX.length()) : requestName;
+    }
+
+    private static final class Call {
+
+        private final String operation;
+        private final double latencyMillis;
+        private final String errorType;
+
+        private Call(final String operation, final double latencyMillis, final String errorType) {
+            this.operation = operation;
+            this.latencyMillis = latencyMillis;
+            this.errorType = errorType;
+        }
+    }
+}
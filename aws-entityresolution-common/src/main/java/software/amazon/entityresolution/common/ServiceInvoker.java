@@ -0,0 +1,50 @@
+package software.amazon.entityresolution.common;
+
+import java.util.function.Function;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Wraps {@link AmazonWebServicesClientProxy#injectCredentialsAndInvokeV2} for one handler invocation, recording each
+ * call's latency and failure in {@link ServiceCallMetrics}, which the handler publishes once at the end of the
+ * invocation. A failed call is rethrown as it is; retrying it is left to the call chain, whose error handler asks
+ * {@link RetryPolicy} whether the failure is worth another attempt.
+ */
+public class ServiceInvoker {
+
+    private final AmazonWebServicesClientProxy proxy;
+
+    private final ServiceCallMetrics metrics;
+
+    /**
+     * Metrics are published under the given resource type name.
+     */
+    public ServiceInvoker(final AmazonWebServicesClientProxy proxy, final String resourceType) {
+        this.proxy = proxy;
+        this.metrics = new ServiceCallMetrics(resourceType);
+    }
+
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT invoke(
+        final RequestT request,
+        final Function<RequestT, ResponseT> serviceCall) {
+
+        final long startNanos = System.nanoTime();
+        try {
+            final ResponseT response = proxy.injectCredentialsAndInvokeV2(request, serviceCall);
+            metrics.record(request, System.nanoTime() - startNanos, null);
+            return response;
+        } catch (final RuntimeException e) {
+            metrics.record(request, System.nanoTime() - startNanos, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Logs the metrics of the calls made so far as Embedded Metric Format documents.
+     */
+    public void publishMetrics(final Logger logger) {
+        metrics.publish(logger);
+    }
+}
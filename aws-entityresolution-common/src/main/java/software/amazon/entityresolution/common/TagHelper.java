@@ -0,0 +1,156 @@
+package software.amazon.entityresolution.common;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
+import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.UntagResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+/**
+ * Computes the minimal tag changes between the previous and desired state of a resource, so that updates only untag
+ * keys that went away and only tag keys that are new or whose value changed.
+ */
+public class TagHelper {
+
+    /**
+     * Keys with this prefix are reserved for AWS, such as the {@code aws:cloudformation:*} system tags. TagResource and
+     * UntagResource reject them, so they are left out of the diff.
+     */
+    private static final String RESERVED_PREFIX = "aws:";
+
+    public static Map<String, String> getPreviousTags(final ResourceHandlerRequest<?> request) {
+        // System tags cannot change over the lifetime of a stack; fall back to the current ones so an absent
+        // previous map does not show up as a diff.
+        final Map<String, String> previousSystemTags = request.getPreviousSystemTags() == null
+            ? request.getSystemTags() : request.getPreviousSystemTags();
+
+        return mergeTags(request.getPreviousResourceTags(), previousSystemTags);
+    }
+
+    public static Map<String, String> getDesiredTags(final ResourceHandlerRequest<?> request) {
+        return mergeTags(request.getDesiredResourceTags(), request.getSystemTags());
+    }
+
+    public static Map<String, String> mergeTags(
+        final Map<String, String> resourceTags,
+        final Map<String, String> systemTags) {
+        final Map<String, String> tags = new HashMap<>();
+
+        if (resourceTags != null) {
+            tags.putAll(resourceTags);
+        }
+        if (systemTags != null) {
+            tags.putAll(systemTags);
+        }
+        tags.keySet()
+            .removeIf(key -> key.startsWith(RESERVED_PREFIX));
+
+        return tags;
+    }
+
+    public static Map<String, String> getTagsToAdd(
+        final Map<String, String> previousTags,
+        final Map<String, String> desiredTags) {
+        final Map<String, String> tagsToAdd = new HashMap<>();
+
+        for (final Map.Entry<String, String> tag : desiredTags.entrySet()) {
+            if (!previousTags.containsKey(tag.getKey())
+                || !Objects.equals(previousTags.get(tag.getKey()), tag.getValue())) {
+                tagsToAdd.put(tag.getKey(), tag.getValue());
+            }
+        }
+
+        return tagsToAdd;
+    }
+
+    public static List<String> getTagKeysToRemove(
+        final Map<String, String> previousTags,
+        final Map<String, String> desiredTags) {
+        return previousTags.keySet()
+                           .stream()
+                           .filter(key -> !desiredTags.containsKey(key))
+                           .sorted()
+                           .collect(Collectors.toList());
+    }
+
+    /**
+     * Whether {@link #updateTags} would call UntagResource or TagResource for the request.
+     */
+    public static boolean hasTagChanges(final ResourceHandlerRequest<?> request) {
+        final Map<String, String> previousTags = getPreviousTags(request);
+        final Map<String, String> desiredTags = getDesiredTags(request);
+
+        return !getTagKeysToRemove(previousTags, desiredTags).isEmpty()
+            || !getTagsToAdd(previousTags, desiredTags).isEmpty();
+    }
+
+    /**
+     * Brings the resource's tags from the request's previous state to its desired one, skipping the UntagResource and
+     * TagResource calls that would have nothing to do. Each call is a step of the given call graph, and a failed one
+     * ends the progress as failed.
+     */
+    public static <ModelT, CallbackT extends StdCallbackContext> ProgressEvent<ModelT, CallbackT> updateTags(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<EntityResolutionClient> proxyClient,
+        final ServiceInvoker invoker,
+        final String callGraph,
+        final String resourceArn,
+        final ResourceHandlerRequest<ModelT> request,
+        final ProgressEvent<ModelT, CallbackT> progress) {
+        final Map<String, String> previousTags = getPreviousTags(request);
+        final Map<String, String> desiredTags = getDesiredTags(request);
+
+        final List<String> tagKeysToRemove = getTagKeysToRemove(previousTags, desiredTags);
+        final Map<String, String> tagsToAdd = getTagsToAdd(previousTags, desiredTags);
+
+        return progress.then(untagProgress -> tagKeysToRemove.isEmpty() ? untagProgress
+                           : proxy.initiate(callGraph + "::UntagResource", proxyClient, untagProgress.getResourceModel(),
+                                      untagProgress.getCallbackContext())
+                                  .translateToServiceRequest(model -> UntagResourceRequest.builder()
+                                                                                          .resourceArn(resourceArn)
+                                                                                          .tagKeys(tagKeysToRemove)
+                                                                                          .build())
+                                  .makeServiceCall((untagResourceRequest, proxyInvocation) -> invoker.invoke(
+                                      untagResourceRequest, proxyInvocation.client()::untagResource))
+                                  .handleError(ExceptionTranslator::handleError)
+                                  .progress())
+                       .then(tagProgress -> tagsToAdd.isEmpty() ? tagProgress
+                           : proxy.initiate(callGraph + "::TagResource", proxyClient, tagProgress.getResourceModel(),
+                                      tagProgress.getCallbackContext())
+                                  .translateToServiceRequest(model -> TagResourceRequest.builder()
+                                                                                        .resourceArn(resourceArn)
+                                                                                        .tags(tagsToAdd)
+                                                                                        .build())
+                                  .makeServiceCall((tagResourceRequest, proxyInvocation) -> invoker.invoke(
+                                      tagResourceRequest, proxyInvocation.client()::tagResource))
+                                  .handleError(ExceptionTranslator::handleError)
+                                  .progress());
+    }
+
+    /**
+     * Turns the tags the service returned into the resource model's tag set, using the provider's own {@code Tag}
+     * type. Returns null rather than an empty set when there are no tags, so the property stays unset.
+     */
+    public static <T> Set<T> toTagSet(
+        final Map<String, String> tags,
+        final BiFunction<String, String, T> tagFactory) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+
+        return tags.entrySet()
+                   .stream()
+                   .map(tag -> tagFactory.apply(tag.getKey(), tag.getValue()))
+                   .collect(Collectors.toSet());
+    }
+}
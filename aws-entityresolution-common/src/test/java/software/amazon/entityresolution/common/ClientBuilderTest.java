@@ -0,0 +1,47 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
+
+public class ClientBuilderTest {
+
+    @Test
+    public void testClientReusedAcrossInvocations() {
+        final EntityResolutionClient client = ClientBuilder.getClient("us-west-2");
+
+        assertThat(ClientBuilder.getClient("us-west-2")).isSameAs(client);
+        assertThat(ClientBuilder.getClient("us-west-2")).isSameAs(client);
+    }
+
+    @Test
+    public void testClientCachedPerRegion() {
+        final EntityResolutionClient usClient = ClientBuilder.getClient("us-east-2");
+        final EntityResolutionClient govClient = ClientBuilder.getClient("us-gov-west-1");
+
+        assertThat(ClientBuilder.getClient("us-east-2")).isSameAs(usClient);
+        assertThat(ClientBuilder.getClient("us-gov-west-1")).isSameAs(govClient);
+        assertThat(usClient).isNotSameAs(govClient);
+        assertThat(usClient.serviceClientConfiguration()
+                           .region()
+                           .id()).isEqualTo("us-east-2");
+        assertThat(govClient.serviceClientConfiguration()
+                            .region()
+                            .id()).isEqualTo("us-gov-west-1");
+    }
+
+    @Test
+    public void testEndpointOverride() {
+        System.setProperty(ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY, "http://localhost:8080");
+        try {
+            final EntityResolutionClient client = ClientBuilder.getClient("ap-southeast-2");
+
+            assertThat(client.serviceClientConfiguration()
+                             .endpointOverride()).contains(URI.create("http://localhost:8080"));
+        } finally {
+            System.clearProperty(ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+public class EntityResolutionArnTest {
+
+    private static final String WORKFLOW_ARN =
+        "arn:aws-cn:entityresolution:cn-north-1:123456789012:matchingworkflow/workflow";
+
+    @Test
+    public void testOfUsesRequestPartitionRegionAndAccount() {
+        final ResourceHandlerRequest<Object> request = ResourceHandlerRequest.builder()
+                                                                             .awsPartition("aws-cn")
+                                                                             .region("cn-north-1")
+                                                                             .awsAccountId("123456789012")
+                                                                             .build();
+
+        assertThat(EntityResolutionArn.of(request, EntityResolutionArn.MATCHING_WORKFLOW, "workflow")).isEqualTo(
+            WORKFLOW_ARN);
+    }
+
+    @Test
+    public void testResourceName() {
+        assertThat(EntityResolutionArn.resourceName(WORKFLOW_ARN)).isEqualTo("workflow");
+    }
+
+    @Test
+    public void testSiblingKeepsPartitionRegionAndAccount() {
+        assertThat(EntityResolutionArn.sibling(WORKFLOW_ARN, EntityResolutionArn.SCHEMA_MAPPING, "schema")).isEqualTo(
+            "arn:aws-cn:entityresolution:cn-north-1:123456789012:schemamapping/schema");
+    }
+
+    @Test
+    public void testOfRejectsUnknownResourceType() {
+        final ResourceHandlerRequest<Object> request = ResourceHandlerRequest.builder()
+                                                                             .build();
+
+        assertThrows(IllegalArgumentException.class, () -> EntityResolutionArn.of(request, "workflow", "workflow"));
+    }
+
+    @Test
+    public void testPrefixIsReusedForTheSameAccount() {
+        final String prefix = EntityResolutionArn.prefix("aws", "us-east-1", "123456789012");
+
+        assertThat(EntityResolutionArn.prefix("aws", "us-east-1", "123456789012")).isSameAs(prefix);
+        assertThat(EntityResolutionArn.prefix("aws", "us-west-2", "123456789012")).isEqualTo(
+            "arn:aws:entityresolution:us-west-2:123456789012:");
+    }
+
+    @Test
+    public void testTypedResourceName() {
+        assertThat(EntityResolutionArn.resourceName(WORKFLOW_ARN, EntityResolutionArn.MATCHING_WORKFLOW)).isEqualTo(
+            "workflow");
+    }
+
+    @Test
+    public void testTypedResourceNameRejectsOtherArns() {
+        assertThrows(CfnInvalidRequestException.class,
+            () -> EntityResolutionArn.resourceName(WORKFLOW_ARN, EntityResolutionArn.SCHEMA_MAPPING));
+        assertThrows(CfnInvalidRequestException.class,
+            () -> EntityResolutionArn.resourceName("arn:aws:glue:us-east-1:123456789012:matchingworkflow/workflow",
+                EntityResolutionArn.MATCHING_WORKFLOW));
+        assertThrows(CfnInvalidRequestException.class,
+            () -> EntityResolutionArn.resourceName("arn:aws:entityresolution:us-east-1:123456789012:matchingworkflow/",
+                EntityResolutionArn.MATCHING_WORKFLOW));
+        assertThrows(CfnInvalidRequestException.class,
+            () -> EntityResolutionArn.resourceName(null, EntityResolutionArn.MATCHING_WORKFLOW));
+    }
+}
@@ -0,0 +1,134 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.RetryableException;
+import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.ConflictException;
+import software.amazon.awssdk.services.entityresolution.model.ExceedsLimitException;
+import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
+import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
+import software.amazon.awssdk.services.entityresolution.model.ValidationException;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
+import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+
+public class ExceptionTranslatorTest {
+
+    @Test
+    public void testServiceExceptionsMapToHandlerExceptions() {
+        assertThat(ExceptionTranslator.translate(AccessDeniedException.builder()
+                                                                      .build()))
+            .isInstanceOf(CfnAccessDeniedException.class);
+        assertThat(ExceptionTranslator.translate(ResourceNotFoundException.builder()
+                                                                          .build()))
+            .isInstanceOf(CfnNotFoundException.class);
+        assertThat(ExceptionTranslator.translate(ExceedsLimitException.builder()
+                                                                      .build()))
+            .isInstanceOf(CfnServiceLimitExceededException.class);
+        assertThat(ExceptionTranslator.translate(InternalServerException.builder()
+                                                                        .build()))
+            .isInstanceOf(CfnServiceInternalErrorException.class);
+        assertThat(ExceptionTranslator.translate(ValidationException.builder()
+                                                                    .build()))
+            .isInstanceOf(CfnInvalidRequestException.class);
+        assertThat(ExceptionTranslator.translate(ThrottlingException.builder()
+                                                                    .build()))
+            .isInstanceOf(CfnThrottlingException.class);
+    }
+
+    @Test
+    public void testOtherExceptionsAreGeneralServiceErrors() {
+        assertThat(ExceptionTranslator.translate(ConflictException.builder()
+                                                                  .build()))
+            .isInstanceOf(CfnGeneralServiceException.class);
+        assertThat(ExceptionTranslator.translate(new IllegalStateException()))
+            .isInstanceOf(CfnGeneralServiceException.class);
+    }
+
+    @Test
+    public void testCauseIsKept() {
+        final ValidationException cause = ValidationException.builder()
+                                                             .message("invalid")
+                                                             .build();
+
+        final BaseHandlerException translated = ExceptionTranslator.translate(cause);
+
+        assertThat(translated).hasCause(cause);
+    }
+
+    @Test
+    public void testFailureCarriesTheTranslatedErrorCode() {
+        final ProgressEvent<String, StdCallbackContext> failure = ExceptionTranslator.failure(
+            ResourceNotFoundException.builder()
+                                     .message("missing")
+                                     .build());
+
+        assertThat(failure.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failure.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void testFailureKeepsHandlerExceptions() {
+        final ProgressEvent<String, StdCallbackContext> failure = ExceptionTranslator.failure(
+            new CfnAlreadyExistsException(ConflictException.builder()
+                                                           .build()));
+
+        assertThat(failure.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+    }
+
+    @Test
+    public void testErrorHandlerFailsTheOperation() {
+        final ProgressEvent<String, StdCallbackContext> failure = ExceptionTranslator.handleError(
+            GetMatchingWorkflowRequest.builder()
+                                      .build(), ValidationException.builder()
+                                                                   .build(), null, "model", new StdCallbackContext());
+
+        assertThat(failure.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failure.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
+
+    @Test
+    public void testErrorHandlerRetriesWhatTheRetryPolicyAllows() {
+        final ThrottlingException throttle = ThrottlingException.builder()
+                                                                .build();
+
+        final RetryableException retry = assertThrows(RetryableException.class,
+            () -> ExceptionTranslator.handleError(TagResourceRequest.builder()
+                                                                    .build(), throttle, null, "model",
+                new StdCallbackContext()));
+
+        assertThat(retry.getCause()).isSameAs(throttle);
+        assertThrows(RetryableException.class,
+            () -> ExceptionTranslator.handleError(GetMatchingWorkflowRequest.builder()
+                                                                            .build(),
+                InternalServerException.builder()
+                                       .build(), null, "model", new StdCallbackContext()));
+    }
+
+    @Test
+    public void testErrorHandlerFailsServerErrorsOnWrites() {
+        final ProgressEvent<String, StdCallbackContext> failure = ExceptionTranslator.handleError(
+            TagResourceRequest.builder()
+                              .build(), InternalServerException.builder()
+                                                               .build(), null, "model", new StdCallbackContext());
+
+        assertThat(failure.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failure.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
+    }
+}
@@ -0,0 +1,36 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.logging.log4j.Level;
+import org.junit.jupiter.api.Test;
+
+public class HandlerLoggerTest {
+
+    @Test
+    public void testThresholdDefaultsToInfo() {
+        assertThat(HandlerLogger.threshold(null)).isEqualTo(Level.INFO);
+        assertThat(HandlerLogger.threshold("verbose")).isEqualTo(Level.INFO);
+        assertThat(HandlerLogger.threshold("debug")).isEqualTo(Level.DEBUG);
+    }
+
+    @Test
+    public void testLevelsBelowThresholdAreDisabled() {
+        assertThat(HandlerLogger.isEnabled(Level.INFO, Level.INFO)).isTrue();
+        assertThat(HandlerLogger.isEnabled(Level.DEBUG, Level.INFO)).isFalse();
+        assertThat(HandlerLogger.isEnabled(Level.DEBUG, Level.DEBUG)).isTrue();
+        assertThat(HandlerLogger.isEnabled(Level.INFO, Level.WARN)).isFalse();
+    }
+
+    @Test
+    public void testDisabledMessagesAreNeverBuilt() {
+        final StringBuilder logged = new StringBuilder();
+
+        HandlerLogger.debug(logged::append, () -> {
+            throw new AssertionError("debug message built at the default level");
+        });
+        HandlerLogger.info(logged::append, () -> "info");
+
+        assertThat(logged.toString()).isEqualTo("info");
+    }
+}
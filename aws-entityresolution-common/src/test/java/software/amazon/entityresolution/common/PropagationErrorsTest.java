@@ -0,0 +1,65 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
+import software.amazon.awssdk.services.entityresolution.model.ValidationException;
+
+public class PropagationErrorsTest {
+
+    private static final String ROLE_ARN = "arn:aws:iam::123456789012:role/entityResolutionRole";
+    private static final String KMS_ARN = "arn:aws:kms:us-east-1:123456789012:key/487846fe-1f5c-451a-84fb-82612296f28f";
+
+    @Test
+    public void testRoleAndKeyPropagationIsRecognized() {
+        assertThat(PropagationErrors.isPropagationDelay(AccessDeniedException.builder()
+                                                                              .message("Unable to assume role "
+                                                                                  + ROLE_ARN)
+                                                                              .build())).isTrue();
+        assertThat(PropagationErrors.isPropagationDelay(AccessDeniedException.builder()
+                                                                              .message("User: " + ROLE_ARN
+                                                                                  + " is not authorized to perform: "
+                                                                                  + "sts:AssumeRole")
+                                                                              .build())).isTrue();
+        assertThat(PropagationErrors.isPropagationDelay(ValidationException.builder()
+                                                                            .message("Unable to assume role "
+                                                                                + ROLE_ARN)
+                                                                            .build())).isTrue();
+        assertThat(PropagationErrors.isPropagationDelay(ValidationException.builder()
+                                                                            .message("KMS key " + KMS_ARN
+                                                                                + " is not accessible")
+                                                                            .build())).isTrue();
+    }
+
+    @Test
+    public void testPermanentRoleAndKeyErrorsAreNotRecognized() {
+        assertThat(PropagationErrors.isPropagationDelay(ValidationException.builder()
+                                                                            .message("KMS key " + KMS_ARN
+                                                                                + " is disabled")
+                                                                            .build())).isFalse();
+        assertThat(PropagationErrors.isPropagationDelay(ValidationException.builder()
+                                                                            .message("Invalid KMS key ARN: not-a-key")
+                                                                            .build())).isFalse();
+        assertThat(PropagationErrors.isPropagationDelay(ValidationException.builder()
+                                                                            .message("roleArn must be an IAM role "
+                                                                                + "the service can assume")
+                                                                            .build())).isFalse();
+        assertThat(PropagationErrors.isPropagationDelay(AccessDeniedException.builder()
+                                                                              .message("User: " + ROLE_ARN
+                                                                                  + " is not authorized to perform: "
+                                                                                  + "kms:GenerateDataKey")
+                                                                              .build())).isFalse();
+        assertThat(PropagationErrors.isPropagationDelay(AccessDeniedException.builder()
+                                                                              .build())).isFalse();
+    }
+
+    @Test
+    public void testOtherExceptionTypesAreNotRecognized() {
+        assertThat(PropagationErrors.isPropagationDelay(InternalServerException.builder()
+                                                                                .message("Unable to assume role "
+                                                                                    + ROLE_ARN)
+                                                                                .build())).isFalse();
+    }
+}
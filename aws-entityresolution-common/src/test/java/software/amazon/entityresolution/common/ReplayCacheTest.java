@@ -0,0 +1,89 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.Action;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+public class ReplayCacheTest {
+
+    private static final String MODEL = "model";
+
+    private final ReplayCache<String, Integer> cache = new ReplayCache<>(2);
+    private final List<String> logged = new ArrayList<>();
+    private final Logger logger = logged::add;
+
+    @Test
+    public void testCompletedOperationIsReplayed() {
+        cache.record(Action.CREATE, request("token"), ProgressEvent.defaultSuccessHandler(MODEL));
+
+        final ProgressEvent<String, Integer> replayed = cache.replay(Action.CREATE, request("token"), logger);
+
+        assertThat(replayed.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(replayed.getResourceModel()).isEqualTo(MODEL);
+        assertThat(replayed.getCallbackContext()).isNull();
+        assertThat(logged).hasSize(1);
+    }
+
+    @Test
+    public void testCompletedDeleteIsReplayedWithoutModel() {
+        cache.record(Action.DELETE, request("token"), ProgressEvent.defaultSuccessHandler(null));
+
+        final ProgressEvent<String, Integer> replayed = cache.replay(Action.DELETE, request("token"), logger);
+
+        assertThat(replayed.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(replayed.getResourceModel()).isNull();
+    }
+
+    @Test
+    public void testOnlySuccessesAreRecorded() {
+        cache.record(Action.CREATE, request("inProgress"), ProgressEvent.defaultInProgressHandler(1, 5, MODEL));
+        cache.record(Action.CREATE, request("failed"),
+            ProgressEvent.defaultFailureHandler(new IllegalStateException(), HandlerErrorCode.InternalFailure));
+
+        assertThat(cache.replay(Action.CREATE, request("inProgress"), logger)).isNull();
+        assertThat(cache.replay(Action.CREATE, request("failed"), logger)).isNull();
+        assertThat(logged).isEmpty();
+    }
+
+    @Test
+    public void testRequestsWithoutTokenAreNeverReplayed() {
+        cache.record(Action.UPDATE, request(null), ProgressEvent.defaultSuccessHandler(MODEL));
+
+        assertThat(cache.replay(Action.UPDATE, request(null), logger)).isNull();
+    }
+
+    @Test
+    public void testOutcomesAreKeptPerAction() {
+        cache.record(Action.CREATE, request("token"), ProgressEvent.defaultSuccessHandler(MODEL));
+
+        assertThat(cache.replay(Action.UPDATE, request("token"), logger)).isNull();
+        assertThat(cache.replay(Action.DELETE, request("token"), logger)).isNull();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedOutcomeIsEvicted() {
+        cache.record(Action.CREATE, request("first"), ProgressEvent.defaultSuccessHandler(MODEL));
+        cache.record(Action.CREATE, request("second"), ProgressEvent.defaultSuccessHandler(MODEL));
+        cache.replay(Action.CREATE, request("first"), logger);
+        cache.record(Action.CREATE, request("third"), ProgressEvent.defaultSuccessHandler(MODEL));
+
+        assertThat(cache.replay(Action.CREATE, request("first"), logger)).isNotNull();
+        assertThat(cache.replay(Action.CREATE, request("second"), logger)).isNull();
+        assertThat(cache.replay(Action.CREATE, request("third"), logger)).isNotNull();
+    }
+
+    private static ResourceHandlerRequest<String> request(final String clientRequestToken) {
+        return ResourceHandlerRequest.<String>builder()
+                                     .clientRequestToken(clientRequestToken)
+                                     .desiredResourceState(MODEL)
+                                     .build();
+    }
+}
@@ -0,0 +1,105 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+public class ResourceModelComparatorTest {
+
+    private static final JSONObject SCHEMA = new JSONObject()
+        .put("properties", new JSONObject()
+            .put("Name", new JSONObject().put("type", "string"))
+            .put("Sources", new JSONObject().put("type", "array")
+                                            .put("insertionOrder", false)
+                                            .put("items", new JSONObject().put("$ref", "#/definitions/Source")))
+            .put("Steps", new JSONObject().put("type", "array"))
+            .put("Tags", new JSONObject().put("type", "array"))
+            .put("Arn", new JSONObject().put("type", "string")))
+        .put("definitions", new JSONObject()
+            .put("Source", new JSONObject().put("type", "object")
+                                           .put("properties", new JSONObject()
+                                               .put("Keys", new JSONObject().put("type", "array")
+                                                                            .put("insertionOrder", false)))))
+        .put("tagging", new JSONObject().put("tagProperty", "/properties/Tags"))
+        .put("readOnlyProperties", new JSONArray().put("/properties/Arn"));
+
+    private final ResourceModelComparator<Map<String, Object>> comparator = new ResourceModelComparator<>(SCHEMA);
+
+    @Test
+    public void testIdenticalModelsAreEquivalent() {
+        assertThat(comparator.hasSameProperties(model(), model())).isTrue();
+    }
+
+    @Test
+    public void testTagsAndReadOnlyPropertiesAreIgnored() {
+        final Map<String, Object> previousModel = model();
+        previousModel.put("Tags", Collections.singletonList(Collections.singletonMap("Key", "key")));
+        previousModel.put("Arn", "arn:aws:entityresolution:us-east-1:123456789012:matchingworkflow/name");
+
+        assertThat(comparator.hasSameProperties(previousModel, model())).isTrue();
+    }
+
+    @Test
+    public void testNullPropertiesCountAsAbsent() {
+        final Map<String, Object> previousModel = model();
+        previousModel.put("Description", null);
+
+        assertThat(comparator.hasSameProperties(previousModel, model())).isTrue();
+    }
+
+    @Test
+    public void testReorderedUnorderedArraysAreEquivalent() {
+        final Map<String, Object> desiredModel = model();
+        desiredModel.put("Sources", Arrays.asList(source("second", "phone", "name"), source("first", "address",
+            "email")));
+
+        assertThat(comparator.hasSameProperties(model(), desiredModel)).isTrue();
+    }
+
+    @Test
+    public void testArraysAreOrderedUnlessTheSchemaSaysOtherwise() {
+        final Map<String, Object> desiredModel = model();
+        desiredModel.put("Steps", Arrays.asList("second", "first"));
+
+        assertThat(comparator.hasSameProperties(model(), desiredModel)).isFalse();
+    }
+
+    @Test
+    public void testChangedPropertiesAreDetected() {
+        final Map<String, Object> changedName = model();
+        changedName.put("Name", "changed");
+        final Map<String, Object> changedKey = model();
+        changedKey.put("Sources", Arrays.asList(source("first", "email", "phone"), source("second", "name",
+            "phone")));
+
+        assertThat(comparator.hasSameProperties(model(), changedName)).isFalse();
+        assertThat(comparator.hasSameProperties(model(), changedKey)).isFalse();
+    }
+
+    @Test
+    public void testMissingModelIsNeverEquivalent() {
+        assertThat(comparator.hasSameProperties(null, model())).isFalse();
+        assertThat(comparator.hasSameProperties(model(), null)).isFalse();
+    }
+
+    private static Map<String, Object> model() {
+        final Map<String, Object> model = new LinkedHashMap<>();
+        model.put("Name", "name");
+        model.put("Sources", Arrays.asList(source("first", "email", "address"), source("second", "name", "phone")));
+        model.put("Steps", Arrays.asList("first", "second"));
+        return model;
+    }
+
+    private static Map<String, Object> source(final String name, final String... keys) {
+        final Map<String, Object> source = new LinkedHashMap<>();
+        source.put("Name", name);
+        source.put("Keys", Arrays.asList(keys));
+        return source;
+    }
+}
@@ -0,0 +1,49 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.entityresolution.model.ConflictException;
+import software.amazon.awssdk.services.entityresolution.model.DeleteMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
+import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void testGetAndListCallsAreReads() {
+        assertThat(RetryPolicy.forRequest(GetMatchingWorkflowRequest.builder()
+                                                                    .build())).isEqualTo(RetryPolicy.READ);
+        assertThat(RetryPolicy.forRequest(ListTagsForResourceRequest.builder()
+                                                                    .build())).isEqualTo(RetryPolicy.READ);
+        assertThat(RetryPolicy.forRequest(DeleteMatchingWorkflowRequest.builder()
+                                                                       .build())).isEqualTo(RetryPolicy.WRITE);
+        assertThat(RetryPolicy.forRequest(TagResourceRequest.builder()
+                                                            .build())).isEqualTo(RetryPolicy.WRITE);
+    }
+
+    @Test
+    public void testOnlyReadsRetryServerErrors() {
+        final InternalServerException serverError = InternalServerException.builder()
+                                                                           .build();
+
+        assertThat(RetryPolicy.READ.isRetryable(serverError)).isTrue();
+        assertThat(RetryPolicy.WRITE.isRetryable(serverError)).isFalse();
+    }
+
+    @Test
+    public void testThrottlesAreAlwaysRetried() {
+        final ThrottlingException throttle = ThrottlingException.builder()
+                                                                .build();
+        final ConflictException conflict = ConflictException.builder()
+                                                            .build();
+
+        assertThat(RetryPolicy.READ.isRetryable(throttle)).isTrue();
+        assertThat(RetryPolicy.WRITE.isRetryable(throttle)).isTrue();
+        assertThat(RetryPolicy.READ.isRetryable(conflict)).isFalse();
+        assertThat(RetryPolicy.WRITE.isRetryable(conflict)).isFalse();
+    }
+}
@@ -0,0 +1,96 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
+
+public class ServiceCallMetricsTest {
+
+    private static final String RESOURCE_TYPE = "AWS::EntityResolution::MatchingWorkflow";
+    private static final long TIMESTAMP = 1_700_000_000_000L;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testOneDocumentPerOperation() throws Exception {
+        final ServiceCallMetrics metrics = new ServiceCallMetrics(RESOURCE_TYPE);
+        metrics.record(GetMatchingWorkflowRequest.builder()
+                                                 .build(), TimeUnit.MILLISECONDS.toNanos(12), null);
+        metrics.record(ListTagsForResourceRequest.builder()
+                                                 .build(), TimeUnit.MILLISECONDS.toNanos(5), null);
+        metrics.record(GetMatchingWorkflowRequest.builder()
+                                                 .build(), TimeUnit.MICROSECONDS.toNanos(1500),
+            ThrottlingException.builder()
+                               .build());
+
+        final List<String> documents = metrics.drain(TIMESTAMP);
+
+        assertThat(documents).hasSize(2);
+        final JsonNode get = MAPPER.readTree(documents.get(0));
+        assertThat(get.get("Operation")
+                      .asText()).isEqualTo("GetMatchingWorkflow");
+        assertThat(get.get("ResourceType")
+                      .asText()).isEqualTo(RESOURCE_TYPE);
+        assertThat(get.get("Latency")
+                      .toString()).isEqualTo("[12.0,1.5]");
+        assertThat(get.get("Errors")
+                      .asInt()).isEqualTo(1);
+        assertThat(get.get("ErrorTypes")
+                      .toString()).isEqualTo("[\"ThrottlingException\"]");
+
+        final JsonNode listTags = MAPPER.readTree(documents.get(1));
+        assertThat(listTags.get("Operation")
+                           .asText()).isEqualTo("ListTagsForResource");
+        assertThat(listTags.get("Errors")
+                           .asInt()).isEqualTo(0);
+        assertThat(listTags.has("ErrorTypes")).isFalse();
+    }
+
+    @Test
+    public void testDocumentDeclaresMetrics() throws Exception {
+        final ServiceCallMetrics metrics = new ServiceCallMetrics(RESOURCE_TYPE);
+        metrics.record(ListTagsForResourceRequest.builder()
+                                                 .build(), 0, null);
+
+        final List<String> documents = metrics.drain(TIMESTAMP);
+        final JsonNode directive = MAPPER.readTree(documents.get(0))
+                                         .get("_aws");
+
+        assertThat(directive.get("Timestamp")
+                            .asLong()).isEqualTo(TIMESTAMP);
+        final JsonNode metricDirective = directive.get("CloudWatchMetrics")
+                                                  .get(0);
+        assertThat(metricDirective.get("Namespace")
+                                  .asText()).isEqualTo(ServiceCallMetrics.NAMESPACE);
+        assertThat(metricDirective.get("Dimensions")
+                                  .toString()).isEqualTo("[[\"ResourceType\",\"Operation\"]]");
+        assertThat(metricDirective.get("Metrics")
+                                  .findValuesAsText("Name")).containsExactly("Latency", "Errors");
+    }
+
+    @Test
+    public void testDrainForgetsPublishedCalls() {
+        final ServiceCallMetrics metrics = new ServiceCallMetrics(RESOURCE_TYPE);
+        metrics.record(ListTagsForResourceRequest.builder()
+                                                 .build(), 0, null);
+
+        assertThat(metrics.drain(TIMESTAMP)).hasSize(1);
+        assertThat(metrics.drain(TIMESTAMP)).isEmpty();
+    }
+
+    @Test
+    public void testPublishLogsNothingWithoutCalls() {
+        final StringBuilder logged = new StringBuilder();
+
+        new ServiceCallMetrics(RESOURCE_TYPE).publish(logged::append);
+
+        assertThat(logged).isEmpty();
+    }
+}
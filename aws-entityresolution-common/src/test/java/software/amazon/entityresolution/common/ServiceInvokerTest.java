@@ -0,0 +1,96 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
+import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
+import software.amazon.awssdk.services.entityresolution.model.ValidationException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+@ExtendWith(MockitoExtension.class)
+public class ServiceInvokerTest {
+
+    private static final ListTagsForResourceRequest REQUEST = ListTagsForResourceRequest.builder()
+                                                                                        .resourceArn("arn")
+                                                                                        .build();
+
+    private AmazonWebServicesClientProxy proxy;
+    private EntityResolutionClient client;
+    private ServiceInvoker invoker;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        client = mock(EntityResolutionClient.class);
+        invoker = new ServiceInvoker(proxy, "AWS::EntityResolution::MatchingWorkflow");
+    }
+
+    @Test
+    public void testInvokeReturnsResponse() {
+        final ListTagsForResourceResponse response = ListTagsForResourceResponse.builder()
+                                                                                .build();
+        doReturn(response).when(proxy)
+                          .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ListTagsForResourceResponse result = invoker.invoke(REQUEST, client::listTagsForResource);
+
+        assertThat(result).isSameAs(response);
+    }
+
+    @Test
+    public void testInvokeDoesNotRetryThrottledCall() {
+        final ThrottlingException throttle = ThrottlingException.builder()
+                                                                .build();
+        doThrow(throttle).when(proxy)
+                         .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        // The call chain retries throttles, so the invoker passes them on after a single attempt.
+        final ThrottlingException thrown = assertThrows(ThrottlingException.class,
+            () -> invoker.invoke(REQUEST, client::listTagsForResource));
+
+        assertThat(thrown).isSameAs(throttle);
+        verify(proxy, times(1)).injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+    }
+
+    @Test
+    public void testPublishMetricsReportsCallsAndFailures() throws Exception {
+        final ListTagsForResourceResponse response = ListTagsForResourceResponse.builder()
+                                                                                .build();
+        doReturn(response).doThrow(ValidationException.builder()
+                                                      .build())
+                          .when(proxy)
+                          .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        invoker.invoke(REQUEST, client::listTagsForResource);
+        assertThrows(ValidationException.class, () -> invoker.invoke(REQUEST, client::listTagsForResource));
+        final List<String> logged = new ArrayList<>();
+        invoker.publishMetrics(logged::add);
+
+        assertThat(logged).hasSize(1);
+        final JsonNode document = new ObjectMapper().readTree(logged.get(0));
+        assertThat(document.get("Operation")
+                           .asText()).isEqualTo("ListTagsForResource");
+        assertThat(document.get("Latency")).hasSize(2);
+        assertThat(document.get("Errors")
+                           .asInt()).isEqualTo(1);
+        assertThat(document.get("ErrorTypes")
+                           .toString()).isEqualTo("[\"ValidationException\"]");
+    }
+}
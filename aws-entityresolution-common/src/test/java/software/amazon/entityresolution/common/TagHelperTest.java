@@ -0,0 +1,263 @@
+package software.amazon.entityresolution.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
+import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
+import software.amazon.awssdk.services.entityresolution.model.UntagResourceRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.StdCallbackContext;
+import software.amazon.cloudformation.proxy.WaitStrategy;
+
+public class TagHelperTest {
+
+    private static final Map<String, String> SYSTEM_TAGS = ImmutableMap.of("aws:cloudformation:stack-name",
+        "stackName");
+    private static final String CALL_GRAPH = "AWS-EntityResolution-SchemaMapping::Update";
+    private static final Object MODEL = new Object();
+    private static final String RESOURCE_ARN = "arn:aws:entityresolution:us-east-1:123456789012:schemamapping/name";
+
+    /**
+     * Previous and desired tags of each case: additions, removals, changed values, swapped values, a key renamed with
+     * its value kept, and no change at all.
+     */
+    private static final List<List<Map<String, String>>> DIFF_CASES = Arrays.asList(
+        Arrays.asList(ImmutableMap.of(), ImmutableMap.of()),
+        Arrays.asList(ImmutableMap.of(), ImmutableMap.of("key1", "value1")),
+        Arrays.asList(ImmutableMap.of("key1", "value1"), ImmutableMap.of()),
+        Arrays.asList(ImmutableMap.of("key1", "value1"), ImmutableMap.of("key1", "value1")),
+        Arrays.asList(ImmutableMap.of("key1", "value1"), ImmutableMap.of("key1", "value2")),
+        Arrays.asList(ImmutableMap.of("key1", "value1"), ImmutableMap.of("key2", "value1")),
+        Arrays.asList(ImmutableMap.of("key1", "value1", "key2", "value2"),
+            ImmutableMap.of("key1", "value2", "key2", "value1")),
+        Arrays.asList(ImmutableMap.of("key1", "value1", "key2", "value1"),
+            ImmutableMap.of("key2", "value2", "key3", "value1")),
+        Arrays.asList(ImmutableMap.of("key1", "value1", "key2", "value1", "key3", "value1"),
+            ImmutableMap.of("key1", "value1", "key2", "value2")));
+
+    @Test
+    public void testApplyingDiffToPreviousYieldsDesired() {
+        for (final List<Map<String, String>> diffCase : DIFF_CASES) {
+            final Map<String, String> previousTags = diffCase.get(0);
+            final Map<String, String> desiredTags = diffCase.get(1);
+
+            final List<String> tagKeysToRemove = TagHelper.getTagKeysToRemove(previousTags, desiredTags);
+            final Map<String, String> tagsToAdd = TagHelper.getTagsToAdd(previousTags, desiredTags);
+
+            final Map<String, String> resultingTags = new HashMap<>(previousTags);
+            tagKeysToRemove.forEach(resultingTags::remove);
+            resultingTags.putAll(tagsToAdd);
+
+            assertThat(resultingTags).isEqualTo(desiredTags);
+        }
+    }
+
+    @Test
+    public void testDiffIsMinimal() {
+        for (final List<Map<String, String>> diffCase : DIFF_CASES) {
+            final Map<String, String> previousTags = diffCase.get(0);
+            final Map<String, String> desiredTags = diffCase.get(1);
+
+            final List<String> tagKeysToRemove = TagHelper.getTagKeysToRemove(previousTags, desiredTags);
+            final Map<String, String> tagsToAdd = TagHelper.getTagsToAdd(previousTags, desiredTags);
+
+            assertThat(tagKeysToRemove).allMatch(key -> previousTags.containsKey(key) && !desiredTags.containsKey(key));
+            tagsToAdd.forEach((key, value) -> assertThat(previousTags.get(key)).isNotEqualTo(value));
+        }
+    }
+
+    @Test
+    public void testIdenticalTagsProduceNoChanges() {
+        for (final List<Map<String, String>> diffCase : DIFF_CASES) {
+            final Map<String, String> tags = diffCase.get(1);
+
+            assertThat(TagHelper.getTagKeysToRemove(tags, new HashMap<>(tags))).isEmpty();
+            assertThat(TagHelper.getTagsToAdd(tags, new HashMap<>(tags))).isEmpty();
+        }
+    }
+
+    @Test
+    public void testUnchangedSystemTagsProduceNoChanges() {
+        final ResourceHandlerRequest<Object> request = ResourceHandlerRequest.builder()
+                                                                             .previousResourceTags(
+                                                                                 ImmutableMap.of("key1", "value1"))
+                                                                             .desiredResourceTags(
+                                                                                 ImmutableMap.of("key1", "value1"))
+                                                                             .systemTags(SYSTEM_TAGS)
+                                                                             .build();
+
+        final Map<String, String> previousTags = TagHelper.getPreviousTags(request);
+        final Map<String, String> desiredTags = TagHelper.getDesiredTags(request);
+
+        assertThat(desiredTags).isEqualTo(ImmutableMap.of("key1", "value1"));
+        assertThat(TagHelper.getTagKeysToRemove(previousTags, desiredTags)).isEmpty();
+        assertThat(TagHelper.getTagsToAdd(previousTags, desiredTags)).isEmpty();
+    }
+
+    @Test
+    public void testMergeTagsHandlesNullMaps() {
+        assertThat(TagHelper.mergeTags(null, null)).isEmpty();
+        assertThat(TagHelper.mergeTags(null, ImmutableMap.of("key1", "value1"))).isEqualTo(
+            ImmutableMap.of("key1", "value1"));
+    }
+
+    @Test
+    public void testMergeTagsDropsReservedKeys() {
+        assertThat(TagHelper.mergeTags(ImmutableMap.of("key1", "value1", "aws:reserved", "value"), SYSTEM_TAGS))
+            .isEqualTo(ImmutableMap.of("key1", "value1"));
+    }
+
+    @Test
+    public void testUpdateTagsNeverSendsReservedKeys() {
+        final AmazonWebServicesClientProxy proxy = proxy();
+        final ResourceHandlerRequest<Object> request = ResourceHandlerRequest.builder()
+                                                                             .previousResourceTags(
+                                                                                 ImmutableMap.of("key1", "value1"))
+                                                                             .desiredResourceTags(
+                                                                                 ImmutableMap.of("key1", "value2"))
+                                                                             .previousSystemTags(ImmutableMap.of(
+                                                                                 "aws:cloudformation:stack-name",
+                                                                                 "oldStackName"))
+                                                                             .systemTags(SYSTEM_TAGS)
+                                                                             .build();
+
+        final ProgressEvent<Object, StdCallbackContext> progress = updateTags(proxy, request);
+
+        verify(proxy).injectCredentialsAndInvokeV2(eq(TagResourceRequest.builder()
+                                                                        .resourceArn(RESOURCE_ARN)
+                                                                        .tags(Collections.singletonMap("key1",
+                                                                            "value2"))
+                                                                        .build()), any());
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        assertThat(progress.isInProgress()).isTrue();
+    }
+
+    @Test
+    public void testUpdateTagsOnlySendsChanges() {
+        final AmazonWebServicesClientProxy proxy = proxy();
+        final ResourceHandlerRequest<Object> request = ResourceHandlerRequest.builder()
+                                                                             .previousResourceTags(ImmutableMap.of(
+                                                                                 "kept", "value",
+                                                                                 "changed", "before",
+                                                                                 "removed", "value"))
+                                                                             .desiredResourceTags(ImmutableMap.of(
+                                                                                 "kept", "value",
+                                                                                 "changed", "after"))
+                                                                             .build();
+
+        assertThat(TagHelper.hasTagChanges(request)).isTrue();
+
+        final ProgressEvent<Object, StdCallbackContext> progress = updateTags(proxy, request);
+
+        verify(proxy).injectCredentialsAndInvokeV2(eq(UntagResourceRequest.builder()
+                                                                          .resourceArn(RESOURCE_ARN)
+                                                                          .tagKeys("removed")
+                                                                          .build()), any());
+        verify(proxy).injectCredentialsAndInvokeV2(eq(TagResourceRequest.builder()
+                                                                        .resourceArn(RESOURCE_ARN)
+                                                                        .tags(Collections.singletonMap("changed",
+                                                                            "after"))
+                                                                        .build()), any());
+        assertThat(progress.isInProgress()).isTrue();
+    }
+
+    @Test
+    public void testUpdateTagsWithoutChangesCallsNothing() {
+        final AmazonWebServicesClientProxy proxy = proxy();
+        final ResourceHandlerRequest<Object> request = ResourceHandlerRequest.builder()
+                                                                             .previousResourceTags(SYSTEM_TAGS)
+                                                                             .desiredResourceTags(SYSTEM_TAGS)
+                                                                             .build();
+
+        assertThat(TagHelper.hasTagChanges(request)).isFalse();
+
+        final ProgressEvent<Object, StdCallbackContext> progress = updateTags(proxy, request);
+
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(), any());
+        assertThat(progress.isInProgress()).isTrue();
+    }
+
+    @Test
+    public void testUpdateTagsFailsTheProgressWhenACallFails() {
+        final AmazonWebServicesClientProxy proxy = proxy();
+        doThrow(AccessDeniedException.builder()
+                                     .build()).when(proxy)
+                                              .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        final ResourceHandlerRequest<Object> request = ResourceHandlerRequest.builder()
+                                                                             .previousResourceTags(ImmutableMap.of(
+                                                                                 "removed", "value"))
+                                                                             .desiredResourceTags(ImmutableMap.of(
+                                                                                 "added", "value"))
+                                                                             .build();
+
+        final ProgressEvent<Object, StdCallbackContext> progress = updateTags(proxy, request);
+
+        assertThat(progress.isFailed()).isTrue();
+        assertThat(progress.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+    }
+
+    @Test
+    public void testUpdateTagsHandsAThrottledCallBackToTheCallChain() {
+        final AmazonWebServicesClientProxy proxy = proxy();
+        doThrow(ThrottlingException.builder()
+                                   .build()).when(proxy)
+                                            .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        final ResourceHandlerRequest<Object> request = ResourceHandlerRequest.builder()
+                                                                             .desiredResourceTags(ImmutableMap.of(
+                                                                                 "added", "value"))
+                                                                             .build();
+
+        final ProgressEvent<Object, StdCallbackContext> progress = updateTags(proxy, request);
+
+        assertThat(progress.isInProgress()).isTrue();
+        assertThat(progress.getCallbackDelaySeconds()).isPositive();
+    }
+
+    @Test
+    public void testToTagSet() {
+        assertThat(TagHelper.toTagSet(null, (key, value) -> key + "=" + value)).isNull();
+        assertThat(TagHelper.toTagSet(Collections.emptyMap(), (key, value) -> key + "=" + value)).isNull();
+        assertThat(TagHelper.toTagSet(ImmutableMap.of("key1", "value1", "key2", "value2"),
+            (key, value) -> key + "=" + value)).containsExactlyInAnyOrder("key1=value1", "key2=value2");
+    }
+
+    private static AmazonWebServicesClientProxy proxy() {
+        return spy(new AmazonWebServicesClientProxy(new LoggerProxy(),
+            new Credentials("accessKeyId", "secretAccessKey", "sessionToken"),
+            DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY, WaitStrategy.scheduleForCallbackStrategy()));
+    }
+
+    private static ProgressEvent<Object, StdCallbackContext> updateTags(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<Object> request) {
+        return TagHelper.updateTags(proxy, proxy.newProxy(() -> mock(EntityResolutionClient.class)), invoker(proxy),
+            CALL_GRAPH, RESOURCE_ARN, request, ProgressEvent.progress(MODEL, new StdCallbackContext()));
+    }
+
+    private static ServiceInvoker invoker(final AmazonWebServicesClientProxy proxy) {
+        return new ServiceInvoker(proxy, "AWS::EntityResolution::SchemaMapping");
+    }
+}
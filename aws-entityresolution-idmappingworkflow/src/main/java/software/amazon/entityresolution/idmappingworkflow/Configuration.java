@@ -5,6 +5,11 @@ import java.util.stream.Collectors;
 
 class Configuration extends BaseConfiguration {
 
+    // The generated HandlerWrapper creates the configuration during Lambda init, before the SnapStart snapshot.
+    static {
+        SnapStartPriming.register();
+    }
+
     public Configuration() {
         super("aws-entityresolution-idmappingworkflow.json");
     }
@@ -2,26 +2,30 @@ package software.amazon.entityresolution.idmappingworkflow;
 
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.GetIdMappingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.DeleteIdMappingWorkflowRequest;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.awssdk.services.entityresolution.model.GetIdMappingWorkflowRequest;
+import software.amazon.cloudformation.Action;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ReplayCache;
+import software.amazon.entityresolution.common.ServiceInvoker;
 
 @NoArgsConstructor
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-IdMappingWorkflow::Delete";
+
+    /**
+     * Deletes this container completed, so that a retried delete is answered without calling the service again.
+     */
+    private static final ReplayCache<ResourceModel, CallbackContext> COMPLETED = new ReplayCache<>();
+
     private EntityResolutionClient client;
 
     public DeleteHandler(EntityResolutionClient client) {
@@ -35,57 +39,80 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ProgressEvent<ResourceModel, CallbackContext> replayed =
+                COMPLETED.replay(Action.DELETE, request, logger);
+        if (replayed != null) {
+            return replayed;
         }
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
-
-        final DeleteIdMappingWorkflowRequest deleteIdMappingWorkflowRequest = DeleteIdMappingWorkflowRequest.builder()
-                .workflowName(
-                        requestModel.getWorkflowName())
-                .build();
-
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
         try {
-            checkIfWorkflowExists(proxy, requestModel);
+            return COMPLETED.record(Action.DELETE, request,
+                    handleRequest(proxy, invoker, request, callbackContext, logger));
+        } finally {
+            invoker.publishMetrics(logger);
+        }
+    }
 
-            proxy.injectCredentialsAndInvokeV2(deleteIdMappingWorkflowRequest,
-                    client::deleteIdMappingWorkflow);
-            logger.log(String.format("Deleted IdMapping Workflow with workflowName = %s", requestModel.getWorkflowName()));
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ServiceInvoker invoker,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
+
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
         }
 
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(null)
-                .status(OperationStatus.SUCCESS)
-                .build();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+
+        return ProgressEvent.progress(request.getDesiredResourceState(), context)
+                .then(progress -> checkIfWorkflowExists(proxy, proxyClient, invoker, progress))
+                .then(progress -> deleteWorkflow(proxy, proxyClient, invoker, progress, logger));
     }
 
     /**
-     * This helper function is used in order to pass Contract Test - test_delete_delete.
-     * <p>
-     * To honor handler contract, if a resource is successfully delete, a subsequent DELETE request with same parameter
-     * must throw "ResourceNotFound" exception.
+     * The service deletes ID mapping workflows idempotently: deleting a name that does not exist succeeds with the
+     * same response as a real delete. The lookup is what lets a repeated delete fail with NotFound, which the handler
+     * contract requires (contract test test_delete_delete).
      */
-    private void checkIfWorkflowExists(
+    private static ProgressEvent<ResourceModel, CallbackContext> checkIfWorkflowExists(
             final AmazonWebServicesClientProxy proxy,
-            final ResourceModel requestModel) {
-        final GetIdMappingWorkflowRequest getIdMappingWorkflowRequest = GetIdMappingWorkflowRequest.builder()
-                .workflowName(
-                        requestModel.getWorkflowName())
-                .build();
-
-
-        proxy.injectCredentialsAndInvokeV2(getIdMappingWorkflowRequest, client::getIdMappingWorkflow);
+            final ProxyClient<EntityResolutionClient> proxyClient,
+            final ServiceInvoker invoker,
+            final ProgressEvent<ResourceModel, CallbackContext> progress) {
+        return proxy.initiate(CALL_GRAPH + "::GetIdMappingWorkflow", proxyClient, progress.getResourceModel(),
+                        progress.getCallbackContext())
+                .translateToServiceRequest(model -> GetIdMappingWorkflowRequest.builder()
+                        .workflowName(
+                                model.getWorkflowName())
+                        .build())
+                .makeServiceCall((getRequest, proxyInvocation) -> invoker.invoke(getRequest,
+                        proxyInvocation.client()::getIdMappingWorkflow))
+                .handleError(ExceptionTranslator::handleError)
+                .progress();
+    }
 
+    private static ProgressEvent<ResourceModel, CallbackContext> deleteWorkflow(
+            final AmazonWebServicesClientProxy proxy,
+            final ProxyClient<EntityResolutionClient> proxyClient,
+            final ServiceInvoker invoker,
+            final ProgressEvent<ResourceModel, CallbackContext> progress,
+            final Logger logger) {
+        return proxy.initiate(CALL_GRAPH, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+                .translateToServiceRequest(model -> DeleteIdMappingWorkflowRequest.builder()
+                        .workflowName(
+                                model.getWorkflowName())
+                        .build())
+                .makeServiceCall((deleteRequest, proxyInvocation) -> invoker.invoke(deleteRequest,
+                        proxyInvocation.client()::deleteIdMappingWorkflow))
+                .handleError(ExceptionTranslator::handleError)
+                .done((deleteRequest, deleteResponse, proxyInvocation, model, context) -> {
+                    HandlerLogger.info(logger, () -> String.format(
+                            "Deleted IdMapping Workflow with workflowName = %s", model.getWorkflowName()));
+                    return ProgressEvent.defaultSuccessHandler(null);
+                });
     }
 }
@@ -1,28 +1,28 @@
 package software.amazon.entityresolution.idmappingworkflow;
 
+import java.util.concurrent.CompletableFuture;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.GetIdMappingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.GetIdMappingWorkflowResponse;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ServiceCallExecutor;
+import software.amazon.entityresolution.common.ServiceInvoker;
 
 @NoArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-IdMappingWorkflow::Read";
+
     private EntityResolutionClient client;
 
     public ReadHandler(EntityResolutionClient client) {
@@ -36,48 +36,55 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return handleRequest(proxy, invoker, request, callbackContext, logger);
+        } finally {
+            invoker.publishMetrics(logger);
         }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ServiceInvoker invoker,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
+        }
 
-        final GetIdMappingWorkflowRequest getIdMappingWorkflowRequest = GetIdMappingWorkflowRequest.builder()
-                .workflowName(
-                        requestModel.getWorkflowName())
-                .build();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
 
         final ListTagsForResourceRequest listTagsForResourceRequest = ListTagsForResourceRequest.builder()
                 .resourceArn(
                         Translator.toWorkflowArn(
                                 request))
                 .build();
-        final GetIdMappingWorkflowResponse getIdMappingWorkflowResponse;
 
-        final ListTagsForResourceResponse listTagsForResourceResponse;
+        return proxy.initiate(CALL_GRAPH, proxyClient, request.getDesiredResourceState(), context)
+                .translateToServiceRequest(model -> GetIdMappingWorkflowRequest.builder()
+                        .workflowName(
+                                model.getWorkflowName())
+                        .build())
+                .makeServiceCall((getIdMappingWorkflowRequest, proxyInvocation) -> readWorkflow(invoker,
+                        proxyInvocation.client(), getIdMappingWorkflowRequest, listTagsForResourceRequest))
+                .handleError(ExceptionTranslator::handleError)
+                .done(workflowRead -> {
+                    HandlerLogger.debug(logger, () -> String.format(
+                            "Retrieved IdMapping Workflow and tags with workflowName = %s",
+                            workflowRead.workflow.workflowName()));
+                    return ProgressEvent.defaultSuccessHandler(translateFromReadResponse(workflowRead));
+                });
+    }
 
-        try {
-            getIdMappingWorkflowResponse = proxy.injectCredentialsAndInvokeV2(getIdMappingWorkflowRequest,
-                    client::getIdMappingWorkflow);
-            logger.log(
-                    String.format("Retrieved IdMapping Workflow with workflowName = %s", requestModel.getWorkflowName()));
-
-            listTagsForResourceResponse = proxy.injectCredentialsAndInvokeV2(listTagsForResourceRequest,
-                    client::listTagsForResource);
-            logger.log(String.format("Retrieve Tags for workflowName = %s", requestModel.getWorkflowName()));
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
-        }
+    private static ResourceModel translateFromReadResponse(final WorkflowRead workflowRead) {
+        final GetIdMappingWorkflowResponse getIdMappingWorkflowResponse = workflowRead.workflow;
+        final ListTagsForResourceResponse listTagsForResourceResponse = workflowRead.tags;
 
-        final ResourceModel responseModel = ResourceModel.builder()
+        return ResourceModel.builder()
                 .createdAt(getIdMappingWorkflowResponse.createdAt()
                         .toString())
                 .description(getIdMappingWorkflowResponse.description())
@@ -98,7 +105,36 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 .workflowArn(getIdMappingWorkflowResponse.workflowArn())
                 .workflowName(getIdMappingWorkflowResponse.workflowName())
                 .build();
+    }
+
+    private static WorkflowRead readWorkflow(
+            final ServiceInvoker invoker,
+            final EntityResolutionClient client,
+            final GetIdMappingWorkflowRequest getIdMappingWorkflowRequest,
+            final ListTagsForResourceRequest listTagsForResourceRequest) {
+        final CompletableFuture<ListTagsForResourceResponse> listTagsForResourceFuture =
+                ServiceCallExecutor.submit(() -> invoker.invoke(listTagsForResourceRequest,
+                        client::listTagsForResource));
 
-        return ProgressEvent.defaultSuccessHandler(responseModel);
+        final GetIdMappingWorkflowResponse getIdMappingWorkflowResponse;
+        try {
+            getIdMappingWorkflowResponse = invoker.invoke(getIdMappingWorkflowRequest, client::getIdMappingWorkflow);
+        } catch (final RuntimeException e) {
+            ServiceCallExecutor.settle(listTagsForResourceFuture);
+            throw e;
+        }
+
+        return new WorkflowRead(getIdMappingWorkflowResponse, ServiceCallExecutor.join(listTagsForResourceFuture));
+    }
+
+    private static final class WorkflowRead {
+
+        private final GetIdMappingWorkflowResponse workflow;
+        private final ListTagsForResourceResponse tags;
+
+        private WorkflowRead(final GetIdMappingWorkflowResponse workflow, final ListTagsForResourceResponse tags) {
+            this.workflow = workflow;
+            this.tags = tags;
+        }
     }
 }
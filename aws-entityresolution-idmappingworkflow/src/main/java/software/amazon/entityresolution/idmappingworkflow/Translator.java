@@ -13,6 +13,8 @@ import software.amazon.awssdk.services.entityresolution.model.IdMappingWorkflowO
 import software.amazon.awssdk.services.entityresolution.model.IdMappingTechniques;
 import software.amazon.awssdk.services.entityresolution.model.ProviderProperties;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.EntityResolutionArn;
+import software.amazon.entityresolution.common.TagHelper;
 
 
 /**
@@ -22,8 +24,6 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 public class Translator {
 
-      public static String WORKFLOW_ARN_FORMAT = "arn:%s:entityresolution:%s:%s:idmappingworkflow/%s";
-
       public static List<IdMappingWorkflowInputSource> translateToVeniceInputSourceConfig(
               List<software.amazon.entityresolution.idmappingworkflow.IdMappingWorkflowInputSource> source) {
           if (source == null) {
@@ -33,7 +33,8 @@ public class Translator {
           return source.stream()
                   .map(inputSource -> IdMappingWorkflowInputSource.builder()
                           .inputSourceARN(inputSource.getInputSourceARN())
-                          .schemaName(getNameFromArn(inputSource.getSchemaArn()))
+                          .schemaName(EntityResolutionArn.resourceName(inputSource.getSchemaArn(),
+                                  EntityResolutionArn.SCHEMA_MAPPING))
                           .build())
                   .collect(Collectors.toList());
       }
@@ -163,32 +164,23 @@ public class Translator {
       }
 
       public static Set<Tag> mapTagsToSet(Map<String, String> tags) {
-          if (tags == null || tags.isEmpty()) {
-            return null;
-          }
-
-          return tags.entrySet()
-                  .stream()
-                  .map(t -> Tag.builder()
-                          .key(t.getKey())
-                          .value(t.getValue())
-                          .build())
-                  .collect(Collectors.toSet());
+          return TagHelper.toTagSet(tags, (key, value) -> Tag.builder()
+                  .key(key)
+                  .value(value)
+                  .build());
       }
 
       public static String toWorkflowArn(final ResourceHandlerRequest<ResourceModel> request) {
-          return String.format(WORKFLOW_ARN_FORMAT, request.getAwsPartition(), request.getRegion(),
-                  request.getAwsAccountId(),
+          return EntityResolutionArn.of(request, EntityResolutionArn.ID_MAPPING_WORKFLOW,
                   request.getDesiredResourceState()
                           .getWorkflowName());
       }
 
       public static String getNameFromArn(final String arn) {
-          return arn.substring(arn.lastIndexOf("/") + 1);
+          return EntityResolutionArn.resourceName(arn);
       }
 
       public static String buildSchemaArnFromWorkflowArn(final String schemaName, final String workflowArn) {
-          String prefix = workflowArn.substring(0, workflowArn.lastIndexOf(":") + 1);
-          return prefix + "schemamapping/" + schemaName;
+          return EntityResolutionArn.sibling(workflowArn, EntityResolutionArn.SCHEMA_MAPPING, schemaName);
       }
 }
@@ -1,35 +1,37 @@
 package software.amazon.entityresolution.idmappingworkflow;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.UntagResourceRequest;
-import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
-import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.entityresolution.model.UpdateIdMappingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.UpdateIdMappingWorkflowResponse;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.Action;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ReplayCache;
+import software.amazon.entityresolution.common.ResourceModelComparator;
+import software.amazon.entityresolution.common.ServiceInvoker;
+import software.amazon.entityresolution.common.TagHelper;
 
 @NoArgsConstructor
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-IdMappingWorkflow::Update";
+
+    /**
+     * Updates this container completed, so that a retried update is answered without calling the service again.
+     */
+    private static final ReplayCache<ResourceModel, CallbackContext> COMPLETED = new ReplayCache<>();
+
+    private static final ResourceModelComparator<ResourceModel> MODEL_COMPARATOR =
+            new ResourceModelComparator<>(new Configuration().resourceSchemaJSONObject());
+
     private EntityResolutionClient client;
 
     public UpdateHandler(EntityResolutionClient client) {
@@ -43,46 +45,121 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             final CallbackContext callbackContext,
             final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ProgressEvent<ResourceModel, CallbackContext> replayed =
+                COMPLETED.replay(Action.UPDATE, request, logger);
+        if (replayed != null) {
+            return replayed;
         }
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return COMPLETED.record(Action.UPDATE, request,
+                    handleRequest(proxy, invoker, request, callbackContext, logger));
+        } finally {
+            invoker.publishMetrics(logger);
+        }
+    }
 
-        final Set<Tag> previousTags = request.getPreviousResourceTags() == null ? new HashSet<>()
-                : Translator.mapTagsToSet(request.getPreviousResourceTags());
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+            final AmazonWebServicesClientProxy proxy,
+            final ServiceInvoker invoker,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Logger logger) {
 
-        if (previousTags != null) {
-            final List<String> tagsToRemove = previousTags.stream()
-                    .map(Tag::getKey)
-                    .collect(Collectors.toList());
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
+        }
 
-            if (tagsToRemove.size() > 0) {
-                final UntagResourceRequest untagResourceRequest = UntagResourceRequest.builder()
-                        .resourceArn(
-                                Translator.toWorkflowArn(
-                                        request))
-                        .tagKeys(tagsToRemove)
-                        .build();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
 
-                proxy.injectCredentialsAndInvokeV2(untagResourceRequest, client::untagResource);
-            }
-        }
+        final ResourceModel requestModel = request.getDesiredResourceState();
+        final String workflowArn = Translator.toWorkflowArn(request);
+
+        // Skipped when only tags changed, since the service would just store the workflow it already has.
+        final boolean propertiesChanged = !MODEL_COMPARATOR.hasSameProperties(
+                request.getPreviousResourceState(), requestModel);
+
+        return TagHelper.updateTags(proxy, proxyClient, invoker, CALL_GRAPH, workflowArn, request,
+                        ProgressEvent.progress(requestModel, context))
+                .then(progress -> propertiesChanged
+                        ? updateWorkflow(proxy, proxyClient, invoker, workflowArn, progress, logger)
+                        : skipWorkflowUpdate(progress, logger))
+                .then(progress -> readTags(proxy, proxyClient, invoker, workflowArn, progress, logger));
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> updateWorkflow(
+            final AmazonWebServicesClientProxy proxy,
+            final ProxyClient<EntityResolutionClient> proxyClient,
+            final ServiceInvoker invoker,
+            final String workflowArn,
+            final ProgressEvent<ResourceModel, CallbackContext> progress,
+            final Logger logger) {
+        return proxy.initiate(CALL_GRAPH, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+                .translateToServiceRequest(UpdateHandler::translateToUpdateRequest)
+                .makeServiceCall((updateRequest, proxyInvocation) -> invoker.invoke(updateRequest,
+                        proxyInvocation.client()::updateIdMappingWorkflow))
+                .handleError(ExceptionTranslator::handleError)
+                .done((updateRequest, updateIdMappingWorkflowResponse, proxyInvocation, model, context) -> {
+                    HandlerLogger.info(logger, () -> String.format(
+                            "Updated IdMapping Workflow with workflowName = %s", model.getWorkflowName()));
+                    return ProgressEvent.progress(
+                            translateFromUpdateResponse(updateIdMappingWorkflowResponse, workflowArn), context);
+                });
+    }
 
-        if (request.getDesiredResourceTags() != null && !request.getDesiredResourceTags()
-                .isEmpty()) {
-            final Map<String, String> resourceTags = request.getDesiredResourceTags();
+    private static ProgressEvent<ResourceModel, CallbackContext> skipWorkflowUpdate(
+            final ProgressEvent<ResourceModel, CallbackContext> progress,
+            final Logger logger) {
+        final ResourceModel requestModel = progress.getResourceModel();
+        HandlerLogger.debug(logger, () -> String.format(
+                "No property changes for idmapping workflowName = %s, skipping update",
+                requestModel.getWorkflowName()));
 
-            final TagResourceRequest tagResourceRequest = TagResourceRequest.builder()
-                    .resourceArn(
-                            Translator.toWorkflowArn(request))
-                    .tags(resourceTags)
-                    .build();
+        final ResourceModel responseModel = ResourceModel.builder()
+                .description(requestModel.getDescription())
+                .inputSourceConfig(requestModel.getInputSourceConfig())
+                .outputSourceConfig(requestModel.getOutputSourceConfig())
+                .idMappingTechniques(requestModel.getIdMappingTechniques())
+                .roleArn(requestModel.getRoleArn())
+                .workflowName(requestModel.getWorkflowName())
+                .workflowArn(requestModel.getWorkflowArn())
+                .createdAt(requestModel.getCreatedAt())
+                .updatedAt(requestModel.getUpdatedAt())
+                .build();
+        return ProgressEvent.progress(responseModel, progress.getCallbackContext());
+    }
 
-            proxy.injectCredentialsAndInvokeV2(tagResourceRequest, client::tagResource);
-        }
+    /**
+     * Completes the update with the tags the workflow ended up with. The model is the one built from the update's
+     * response, or for a tag-only update from the desired state, never the request's own.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> readTags(
+            final AmazonWebServicesClientProxy proxy,
+            final ProxyClient<EntityResolutionClient> proxyClient,
+            final ServiceInvoker invoker,
+            final String workflowArn,
+            final ProgressEvent<ResourceModel, CallbackContext> progress,
+            final Logger logger) {
+        return proxy.initiate(CALL_GRAPH + "::ListTagsForResource", proxyClient, progress.getResourceModel(),
+                        progress.getCallbackContext())
+                .translateToServiceRequest(model -> ListTagsForResourceRequest.builder()
+                        .resourceArn(workflowArn)
+                        .build())
+                .makeServiceCall((listTagsRequest, proxyInvocation) -> invoker.invoke(listTagsRequest,
+                        proxyInvocation.client()::listTagsForResource))
+                .handleError(ExceptionTranslator::handleError)
+                .done((listTagsRequest, listTagsForResourceResponse, proxyInvocation, model, context) -> {
+                    HandlerLogger.debug(logger, () -> String.format("Retrieve Tags for idmapping workflowName = %s",
+                            model.getWorkflowName()));
+                    model.setTags(Translator.mapTagsToSet(listTagsForResourceResponse.tags()));
+                    return ProgressEvent.defaultSuccessHandler(model);
+                });
+    }
 
-        final UpdateIdMappingWorkflowRequest updateIdMappingWorkflowRequest = UpdateIdMappingWorkflowRequest.builder()
+    private static UpdateIdMappingWorkflowRequest translateToUpdateRequest(final ResourceModel requestModel) {
+        return UpdateIdMappingWorkflowRequest.builder()
                 .workflowName(
                         requestModel.getWorkflowName())
                 .description(
@@ -99,44 +176,17 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                 .roleArn(
                         requestModel.getRoleArn())
                 .build();
+    }
 
-        final ListTagsForResourceRequest listTagsForResourceRequest = ListTagsForResourceRequest.builder()
-                .resourceArn(
-                        Translator.toWorkflowArn(
-                                request))
-                .build();
-        final UpdateIdMappingWorkflowResponse updateIdMappingWorkflowResponse;
-
-        final ListTagsForResourceResponse listTagsForResourceResponse;
-
-        try {
-            updateIdMappingWorkflowResponse = proxy.injectCredentialsAndInvokeV2(updateIdMappingWorkflowRequest,
-                    client::updateIdMappingWorkflow);
-            logger.log(
-                    String.format("Updated IdMapping Workflow with workflowName = %s", requestModel.getWorkflowName()));
-
-            listTagsForResourceResponse = proxy.injectCredentialsAndInvokeV2(listTagsForResourceRequest,
-                    client::listTagsForResource);
-            logger.log(String.format("Retrieve Tags for idmapping workflowName = %s", requestModel.getWorkflowName()));
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
-        }
-
-        final ResourceModel responseModel = ResourceModel.builder()
+    private static ResourceModel translateFromUpdateResponse(
+            final UpdateIdMappingWorkflowResponse updateIdMappingWorkflowResponse,
+            final String workflowArn) {
+        return ResourceModel.builder()
                 .description(updateIdMappingWorkflowResponse.description())
                 .inputSourceConfig(
                         Translator.translateToCfnInputSourceConfig(
                                 updateIdMappingWorkflowResponse.inputSourceConfig(),
-                                Translator.toWorkflowArn(
-                                        request)))
+                                workflowArn))
                 .outputSourceConfig(
                         Translator.translateToCfnOutputSourceConfig(
                                 updateIdMappingWorkflowResponse.outputSourceConfig()))
@@ -145,10 +195,6 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                                 updateIdMappingWorkflowResponse.idMappingTechniques()))
                 .roleArn(updateIdMappingWorkflowResponse.roleArn())
                 .workflowName(updateIdMappingWorkflowResponse.workflowName())
-                .tags(Translator.mapTagsToSet(
-                        listTagsForResourceResponse.tags()))
                 .build();
-
-        return ProgressEvent.defaultSuccessHandler(responseModel);
     }
 }
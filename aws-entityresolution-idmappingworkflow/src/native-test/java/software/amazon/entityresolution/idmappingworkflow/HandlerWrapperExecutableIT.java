@@ -0,0 +1,129 @@
+package software.amazon.entityresolution.idmappingworkflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.localservice.LocalEntityResolutionService;
+import software.amazon.entityresolution.localservice.ServiceBehavior;
+
+/**
+ * Runs the native {@code HandlerWrapperExecutable} built by the {@code native} profile through all five handlers
+ * against the local Entity Resolution service, passing each request the way {@code cfn test} does: as the only
+ * argument, with the progress event printed between the response markers.
+ */
+public class HandlerWrapperExecutableIT {
+
+    private static final String IMAGE_PROPERTY = "native.image";
+    private static final String START_MARKER = "__CFN_RESOURCE_START_RESPONSE__";
+    private static final String END_MARKER = "__CFN_RESOURCE_END_RESPONSE__";
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static LocalEntityResolutionService service;
+
+    @TempDir
+    Path workingDirectory;
+
+    @BeforeAll
+    public static void startService() throws Exception {
+        service = new LocalEntityResolutionService(0, ServiceBehavior.defaults());
+        service.start();
+    }
+
+    @AfterAll
+    public static void stopService() {
+        service.stop();
+    }
+
+    @Test
+    public void testAllHandlers() throws Exception {
+        final ObjectNode model = (ObjectNode) MAPPER.readTree(new Serializer().serialize(
+                SnapStartPriming.sampleModel()));
+        final ObjectNode identifier = MAPPER.createObjectNode()
+                .put("WorkflowName", model.get("WorkflowName")
+                        .asText());
+        final ObjectNode updatedModel = model.deepCopy()
+                .put("Description", "updated");
+
+        assertSuccess(invoke("CREATE", model, null));
+        assertSuccess(invoke("READ", identifier, null));
+        assertSuccess(invoke("UPDATE", updatedModel, model));
+        assertSuccess(invoke("LIST", MAPPER.createObjectNode(), null));
+        assertSuccess(invoke("DELETE", identifier, null));
+
+        assertThat(service.getRequestCounts()).containsKeys("CreateIdMappingWorkflow", "GetIdMappingWorkflow",
+                "UpdateIdMappingWorkflow", "ListIdMappingWorkflows", "DeleteIdMappingWorkflow");
+    }
+
+    private JsonNode invoke(
+            final String action,
+            final JsonNode properties,
+            final JsonNode previousProperties) throws Exception {
+        final ObjectNode requestData = MAPPER.createObjectNode()
+                .put("logicalResourceId", "NativeSmokeTest");
+        requestData.putObject("callerCredentials")
+                .put("accessKeyId", "accessKeyId")
+                .put("secretAccessKey", "secretAccessKey")
+                .put("sessionToken", "sessionToken");
+        requestData.set("resourceProperties", properties);
+        requestData.set("previousResourceProperties", previousProperties);
+
+        final ObjectNode request = MAPPER.createObjectNode()
+                .put("action", action)
+                .put("awsAccountId", "123456789012")
+                .put("region", "us-east-1")
+                .put("resourceType", "AWS::EntityResolution::IdMappingWorkflow")
+                .put("stackId", "arn:aws:cloudformation:us-east-1:123456789012:stack/native/smoke");
+        request.set("requestData", requestData);
+
+        final ProcessBuilder builder = new ProcessBuilder(System.getProperty(IMAGE_PROPERTY),
+                MAPPER.writeValueAsString(request)).directory(workingDirectory.toFile())
+                .redirectErrorStream(true);
+        builder.environment()
+                .put(ClientBuilder.ENDPOINT_OVERRIDE_VARIABLE, service.getEndpoint()
+                        .toString());
+
+        final Process process = builder.start();
+        final String output = readAll(process.getInputStream());
+        assertThat(process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)).as(output)
+                .isTrue();
+
+        final int start = output.indexOf(START_MARKER);
+        final int end = output.indexOf(END_MARKER);
+        assertThat(start).as(output)
+                .isNotNegative();
+        assertThat(end).as(output)
+                .isGreaterThan(start);
+        return MAPPER.readTree(output.substring(start + START_MARKER.length(), end));
+    }
+
+    private static void assertSuccess(final JsonNode event) {
+        assertThat(event.path("status")
+                .asText()).as(event.toString())
+                .isEqualTo("SUCCESS");
+    }
+
+    private static String readAll(final InputStream input) throws Exception {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[8192];
+        int read;
+        while ((read = input.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,9 +1,9 @@
 package software.amazon.entityresolution.idmappingworkflow;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 
 import com.google.common.collect.Lists;
 import java.time.Instant;
@@ -13,8 +13,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
 import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.EntityResolutionException;
 import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListIdMappingWorkflowsRequest;
 import software.amazon.awssdk.services.entityresolution.model.ListIdMappingWorkflowsResponse;
@@ -22,16 +24,16 @@ import software.amazon.awssdk.services.entityresolution.model.IdMappingWorkflowS
 import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
 import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest {
@@ -57,7 +59,9 @@ public class ListHandlerTest {
 
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(), new Credentials("accessKeyId",
+                "secretAccessKey", "sessionToken"), DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY,
+                WaitStrategy.scheduleForCallbackStrategy()));
         client = mock(EntityResolutionClient.class);
         logger = mock(Logger.class);
 
@@ -100,6 +104,8 @@ public class ListHandlerTest {
         final ProgressEvent<ResourceModel, CallbackContext> response =
                 handler.handleRequest(proxy, request, null, logger);
 
+        ServiceCallBudget.LIST_PAGE.assertWithin(proxy);
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackContext()).isNull();
@@ -122,6 +128,25 @@ public class ListHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_withoutDesiredResourceState() {
+        final ListHandler handler = new ListHandler(client);
+
+        Mockito.doReturn(ListIdMappingWorkflowsResponse.builder()
+                .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListIdMappingWorkflowsRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEmpty();
+    }
+
     @Test
     public void handleRequest_throwsAccessDeniedException() {
         final ListHandler handler = new ListHandler(client);
@@ -136,8 +161,11 @@ public class ListHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnAccessDeniedException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
 
     @Test
@@ -154,8 +182,11 @@ public class ListHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnNotFoundException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -172,8 +203,11 @@ public class ListHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnServiceInternalErrorException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
     }
 
     @Test
@@ -190,12 +224,15 @@ public class ListHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_throwsOtherException() {
+    public void handleRequest_throwsThrottlingException() {
         final ListHandler handler = new ListHandler(client);
         ThrottlingException exception = ThrottlingException.builder()
                 .build();
@@ -208,7 +245,31 @@ public class ListHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnGeneralServiceException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+    }
+
+    @Test
+    public void handleRequest_throwsOtherException() {
+        final ListHandler handler = new ListHandler(client);
+        AwsServiceException exception = EntityResolutionException.builder()
+                .build();
+
+        Mockito.doThrow(exception)
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListIdMappingWorkflowsRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
     }
 }
@@ -1,9 +1,10 @@
 package software.amazon.entityresolution.idmappingworkflow;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static software.amazon.entityresolution.idmappingworkflow.Translator.getNameFromArn;
 
 import com.amazonaws.SDKGlobalConfiguration;
@@ -18,8 +19,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
 import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.EntityResolutionException;
 import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
@@ -38,16 +41,16 @@ import software.amazon.awssdk.services.entityresolution.model.IdMappingWorkflowI
 import software.amazon.awssdk.services.entityresolution.model.IdMappingWorkflowOutputSource;
 import software.amazon.awssdk.services.entityresolution.model.IntermediateSourceConfiguration;
 import software.amazon.awssdk.services.entityresolution.model.ProviderProperties;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateHandlerTest {
@@ -70,6 +73,10 @@ public class UpdateHandlerTest {
     private static final String INTERMEDIATE_S3_PATH = "s3://intermediate-bucket/folder";
     private static final Map<String, String> PREVIOUS_TAGS = ImmutableMap.of("key1", "value1");
     private static final Map<String, String> DESIRED_TAGS = ImmutableMap.of("key1", "value1");
+    private static final Map<String, String> CHANGED_PREVIOUS_TAGS = ImmutableMap.of("key1", "value1", "key2",
+            "value2");
+    private static final Map<String, String> CHANGED_DESIRED_TAGS = ImmutableMap.of("key1", "value1-updated", "key3",
+            "value3");
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -91,7 +98,9 @@ public class UpdateHandlerTest {
     public void setup() {
         System.setProperty(SDKGlobalConfiguration.AWS_REGION_SYSTEM_PROPERTY, Regions.US_EAST_1.getName());
 
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(), new Credentials("accessKeyId",
+                "secretAccessKey", "sessionToken"), DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY,
+                WaitStrategy.scheduleForCallbackStrategy()));
         client = mock(EntityResolutionClient.class);
         logger = mock(Logger.class);
 
@@ -152,6 +161,107 @@ public class UpdateHandlerTest {
                 .when(proxy)
                 .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
 
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        ServiceCallBudget.UPDATE.assertWithin(proxy);
+
+        Mockito.verify(proxy, Mockito.times(0))
+                .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        Mockito.verify(proxy, Mockito.times(0))
+                .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isNotNull();
+
+        assertThat(response.getResourceModel()
+                .getDescription()).isEqualTo(DESCRIPTION);
+        assertThat(response.getResourceModel()
+                .getInputSourceConfig()).isEqualTo(
+                Translator.translateToCfnInputSourceConfig(updateIdMappingWorkflowResponse.inputSourceConfig(),
+                        WORKFLOW_ARN));
+        assertThat(response.getResourceModel()
+                .getOutputSourceConfig()).isEqualTo(
+                Translator.translateToCfnOutputSourceConfig(updateIdMappingWorkflowResponse.outputSourceConfig()));
+        assertThat(response.getResourceModel()
+                .getIdMappingTechniques()).isEqualTo(
+                Translator.translateToCfnResolutionTechniques(updateIdMappingWorkflowResponse.idMappingTechniques()));
+        assertThat(response.getResourceModel()
+                .getRoleArn()).isEqualTo(ROLE_ARN);
+        assertThat(response.getResourceModel()
+                .getWorkflowName()).isEqualTo(WORKFLOW_NAME);
+        assertThat(response.getResourceModel()
+                .getTags()).isEqualTo(Translator.mapTagsToSet(DESIRED_TAGS));
+
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_retryWithInProgressContext_doesNotRepeatUpdate() {
+        Mockito.doReturn(buildUpdateIdMappingWorkflowResponse())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(UpdateIdMappingWorkflowRequest.class), any());
+        Mockito.doThrow(ThrottlingException.builder()
+                        .build())
+                .doReturn(ListTagsForResourceResponse.builder()
+                        .tags(ImmutableMap.of("key1", "value1"))
+                        .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceTags(PREVIOUS_TAGS)
+                .desiredResourceTags(DESIRED_TAGS)
+                .awsPartition(AWS_PARTITION)
+                .region(REGION)
+                .awsAccountId(AWS_ACCOUNT_ID)
+                .build();
+
+        // A new handler stands in for a cold container, so only the callback context knows the update went through.
+        final ProgressEvent<ResourceModel, CallbackContext> throttled =
+                new UpdateHandler(client).handleRequest(proxy, request, null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                new UpdateHandler(client).handleRequest(proxy, request, throttled.getCallbackContext(), logger);
+
+        assertThat(throttled.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()
+                .getTags()).isEqualTo(Translator.mapTagsToSet(DESIRED_TAGS));
+        Mockito.verify(proxy, Mockito.times(1))
+                .injectCredentialsAndInvokeV2(any(UpdateIdMappingWorkflowRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_onlyAppliesChangedTags() {
+        final UpdateHandler handler = new UpdateHandler(client);
+
+        final UpdateIdMappingWorkflowResponse updateIdMappingWorkflowResponse = buildUpdateIdMappingWorkflowResponse();
+
+        Mockito.doReturn(updateIdMappingWorkflowResponse)
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(UpdateIdMappingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceTags(CHANGED_PREVIOUS_TAGS)
+                .desiredResourceTags(CHANGED_DESIRED_TAGS)
+                .awsPartition(AWS_PARTITION)
+                .region(REGION)
+                .awsAccountId(AWS_ACCOUNT_ID)
+                .build();
+
+        Mockito.doReturn(ListTagsForResourceResponse.builder()
+                        .tags(CHANGED_DESIRED_TAGS)
+                        .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
         Mockito.doReturn(UntagResourceResponse.builder()
                         .build())
                 .when(proxy)
@@ -165,10 +275,18 @@ public class UpdateHandlerTest {
         final ProgressEvent<ResourceModel, CallbackContext> response =
                 handler.handleRequest(proxy, request, null, logger);
 
+        ServiceCallBudget.UPDATE_WITH_TAG_CHANGES.assertWithin(proxy);
+
         Mockito.verify(proxy)
-                .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+                .injectCredentialsAndInvokeV2(eq(UntagResourceRequest.builder()
+                    .resourceArn(Translator.toWorkflowArn(request))
+                    .tagKeys("key2")
+                    .build()), any());
         Mockito.verify(proxy)
-                .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+                .injectCredentialsAndInvokeV2(eq(TagResourceRequest.builder()
+                    .resourceArn(Translator.toWorkflowArn(request))
+                    .tags(ImmutableMap.of("key1", "value1-updated", "key3", "value3"))
+                    .build()), any());
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -193,13 +311,112 @@ public class UpdateHandlerTest {
         assertThat(response.getResourceModel()
                 .getWorkflowName()).isEqualTo(WORKFLOW_NAME);
         assertThat(response.getResourceModel()
-                .getTags()).isEqualTo(Translator.mapTagsToSet(DESIRED_TAGS));
+                .getTags()).isEqualTo(Translator.mapTagsToSet(CHANGED_DESIRED_TAGS));
 
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_tagOnlyChange_skipsWorkflowUpdate() {
+        final UpdateHandler handler = new UpdateHandler(client);
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .description(DESCRIPTION)
+                .inputSourceConfig(model.getInputSourceConfig())
+                .outputSourceConfig(model.getOutputSourceConfig())
+                .idMappingTechniques(model.getIdMappingTechniques())
+                .roleArn(ROLE_ARN)
+                .workflowName(WORKFLOW_NAME)
+                .tags(Translator.mapTagsToSet(CHANGED_PREVIOUS_TAGS))
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .previousResourceTags(CHANGED_PREVIOUS_TAGS)
+                .desiredResourceTags(CHANGED_DESIRED_TAGS)
+                .awsPartition(AWS_PARTITION)
+                .region(REGION)
+                .awsAccountId(AWS_ACCOUNT_ID)
+                .build();
+
+        Mockito.doReturn(ListTagsForResourceResponse.builder()
+                        .tags(CHANGED_DESIRED_TAGS)
+                        .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+        Mockito.doReturn(UntagResourceResponse.builder()
+                        .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        Mockito.doReturn(TagResourceResponse.builder()
+                        .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        ServiceCallBudget.UPDATE_WITH_TAG_CHANGES.assertWithin(proxy);
+
+        Mockito.verify(proxy, Mockito.never())
+                .injectCredentialsAndInvokeV2(any(UpdateIdMappingWorkflowRequest.class), any());
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()
+                .getIdMappingTechniques()).isEqualTo(model.getIdMappingTechniques());
+        assertThat(response.getResourceModel()
+                .getWorkflowArn()).isEqualTo(WORKFLOW_ARN);
+        assertThat(response.getResourceModel()
+                .getTags()).isEqualTo(Translator.mapTagsToSet(CHANGED_DESIRED_TAGS));
+        assertThat(response.getResourceModel()).isNotSameAs(model);
+        assertThat(model.getTags()).isNull();
+    }
+
+    @Test
+    public void handleRequest_propertyChange_updatesWorkflow() {
+        final UpdateHandler handler = new UpdateHandler(client);
+
+        Mockito.doReturn(buildUpdateIdMappingWorkflowResponse())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(UpdateIdMappingWorkflowRequest.class), any());
+        Mockito.doReturn(ListTagsForResourceResponse.builder()
+                        .tags(DESIRED_TAGS)
+                        .build())
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceModel previousModel = ResourceModel.builder()
+                .description(DESCRIPTION)
+                .inputSourceConfig(model.getInputSourceConfig())
+                .outputSourceConfig(model.getOutputSourceConfig())
+                .idMappingTechniques(model.getIdMappingTechniques())
+                .roleArn("arn:aws:iam::123456789012:role/previousRole")
+                .workflowName(WORKFLOW_NAME)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(previousModel)
+                .previousResourceTags(PREVIOUS_TAGS)
+                .desiredResourceTags(DESIRED_TAGS)
+                .awsPartition(AWS_PARTITION)
+                .region(REGION)
+                .awsAccountId(AWS_ACCOUNT_ID)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        ServiceCallBudget.UPDATE.assertWithin(proxy);
+
+        Mockito.verify(proxy)
+                .injectCredentialsAndInvokeV2(any(UpdateIdMappingWorkflowRequest.class), any());
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+
     @Test
     public void handleRequest_withNullPreviousResourceTags() {
         final UpdateHandler handler = new UpdateHandler(client);
@@ -480,8 +697,11 @@ public class UpdateHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnAccessDeniedException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
 
     @Test
@@ -498,8 +718,11 @@ public class UpdateHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnNotFoundException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -516,8 +739,11 @@ public class UpdateHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnServiceInternalErrorException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
     }
 
     @Test
@@ -534,14 +760,38 @@ public class UpdateHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
+
+    @Test
+    public void handleRequest_throwsThrottlingException() {
+        final UpdateHandler handler = new UpdateHandler(client);
+        ThrottlingException exception = ThrottlingException.builder()
+                .build();
+
+        Mockito.doThrow(exception)
+                .when(proxy)
+                .injectCredentialsAndInvokeV2(any(UpdateIdMappingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
     }
 
     @Test
     public void handleRequest_throwsOtherException() {
         final UpdateHandler handler = new UpdateHandler(client);
-        ThrottlingException exception = ThrottlingException.builder()
+        AwsServiceException exception = EntityResolutionException.builder()
                 .build();
 
         Mockito.doThrow(exception)
@@ -552,8 +802,11 @@ public class UpdateHandlerTest {
                 .desiredResourceState(model)
                 .build();
 
-        assertThrows(CfnGeneralServiceException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
     }
 
     private UpdateIdMappingWorkflowResponse buildUpdateIdMappingWorkflowResponse() {
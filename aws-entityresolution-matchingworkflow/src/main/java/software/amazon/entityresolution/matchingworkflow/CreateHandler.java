@@ -1,32 +1,57 @@
 package software.amazon.entityresolution.matchingworkflow;
 
+import java.time.Duration;
+import java.util.Locale;
 import java.util.Map;
 import lombok.NoArgsConstructor;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.core.exception.RetryableException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.ConflictException;
 import software.amazon.awssdk.services.entityresolution.model.CreateMatchingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.CreateMatchingWorkflowResponse;
-import software.amazon.awssdk.services.entityresolution.model.ExceedsLimitException;
-import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.Action;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
-import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Delay;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.delay.CappedExponential;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.PropagationErrors;
+import software.amazon.entityresolution.common.ReplayCache;
+import software.amazon.entityresolution.common.ServiceInvoker;
 
 @NoArgsConstructor
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     public static final String WORKFLOW_ALREADY_EXISTS_ERROR_MESSAGE = "MatchingWorkflow already exists";
 
+    private static final String ALREADY_EXISTS = "already exists";
+
+    private static final String CALL_GRAPH = "AWS-EntityResolution-MatchingWorkflow::Create";
+
+    /**
+     * Waits between creates that failed while the role or KMS key propagates: from 5 seconds, doubling up to a minute,
+     * for about three minutes in all.
+     */
+    static final Delay PROPAGATION_DELAY = CappedExponential.of()
+                                                            .minDelay(Duration.ofSeconds(5))
+                                                            .maxDelay(Duration.ofSeconds(60))
+                                                            .powerBy(2.0)
+                                                            .timeout(Duration.ofMinutes(4))
+                                                            .build();
+
+    /**
+     * Creates this container completed, so that a retried create is answered without calling the service again.
+     */
+    private static final ReplayCache<ResourceModel, CallbackContext> COMPLETED = new ReplayCache<>();
+
     private EntityResolutionClient client;
 
     public CreateHandler(EntityResolutionClient client) {
@@ -40,11 +65,34 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
+        final ProgressEvent<ResourceModel, CallbackContext> replayed =
+            COMPLETED.replay(Action.CREATE, request, logger);
+        if (replayed != null) {
+            return replayed;
+        }
+
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return COMPLETED.record(Action.CREATE, request,
+                handleRequest(proxy, invoker, request, callbackContext, logger));
+        } finally {
+            invoker.publishMetrics(logger);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ServiceInvoker invoker,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+
         if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+            this.client = ClientBuilder.getClient(request.getRegion());
         }
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
 
         final Map<String, String> resourceTags;
         if (request.getDesiredResourceTags() == null || request.getDesiredResourceTags()
@@ -54,93 +102,96 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             resourceTags = request.getDesiredResourceTags();
         }
 
-        final CreateMatchingWorkflowRequest createMatchingWorkflowRequest = CreateMatchingWorkflowRequest.builder()
-                                                                                                         .description(
-                                                                                                             requestModel.getDescription())
-                                                                                                         .inputSourceConfig(
-                                                                                                             Translator.translateToVeniceInputSourceConfig(
-                                                                                                                 requestModel.getInputSourceConfig()))
-                                                                                                         .outputSourceConfig(
-                                                                                                             Translator.translateToVeniceOutputSourceConfig(
-                                                                                                                 requestModel.getOutputSourceConfig()))
-                                                                                                         .resolutionTechniques(
-                                                                                                             Translator.translateToVeniceResolutionTechniques(
-                                                                                                                 requestModel.getResolutionTechniques()))
-                                                                                                         .roleArn(
-                                                                                                             requestModel.getRoleArn())
-                                                                                                         .workflowName(
-                                                                                                             requestModel.getWorkflowName())
-                                                                                                         .tags(
-                                                                                                             resourceTags)
-                                                                                                         .build();
-
-        final CreateMatchingWorkflowResponse createMatchingWorkflowResponse;
+        return proxy.initiate(CALL_GRAPH, proxyClient, request.getDesiredResourceState(), context)
+                    .translateToServiceRequest(model -> translateToCreateRequest(model, resourceTags))
+                    .backoffDelay(PROPAGATION_DELAY)
+                    .makeServiceCall((createRequest, proxyInvocation) -> invoker.invoke(createRequest,
+                        proxyInvocation.client()::createMatchingWorkflow))
+                    .handleError((createRequest, e, proxyInvocation, model, handlerContext) ->
+                        handleCreateError(createRequest, e, model, logger))
+                    .done(createMatchingWorkflowResponse -> {
+                        HandlerLogger.info(logger, () -> String.format(
+                            "Created Matching Workflow with workflowName = %s",
+                            createMatchingWorkflowResponse.workflowName()));
+                        return ProgressEvent.defaultSuccessHandler(translateFromCreateResponse(
+                            createMatchingWorkflowResponse));
+                    });
+    }
 
-        try {
-            checkIfWorkflowExists(proxy, requestModel);
-
-            createMatchingWorkflowResponse = proxy.injectCredentialsAndInvokeV2(createMatchingWorkflowRequest,
-                client::createMatchingWorkflow);
-
-            logger.log(
-                String.format("Created Matching Workflow with workflowName = %s", requestModel.getWorkflowName()));
-        } catch (final ConflictException e) {
-            if (e.getMessage() != null && e.getMessage()
-                                           .contains(WORKFLOW_ALREADY_EXISTS_ERROR_MESSAGE)) {
-                throw new CfnAlreadyExistsException(e);
-            }
-            throw new CfnInvalidRequestException(e);
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ExceedsLimitException e) {
-            throw new CfnServiceLimitExceededException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
-        }
+    private static CreateMatchingWorkflowRequest translateToCreateRequest(
+        final ResourceModel requestModel,
+        final Map<String, String> resourceTags) {
+        return CreateMatchingWorkflowRequest.builder()
+                                            .description(
+                                                requestModel.getDescription())
+                                            .inputSourceConfig(
+                                                Translator.translateToVeniceInputSourceConfig(
+                                                    requestModel.getInputSourceConfig()))
+                                            .outputSourceConfig(
+                                                Translator.translateToVeniceOutputSourceConfig(
+                                                    requestModel.getOutputSourceConfig()))
+                                            .resolutionTechniques(
+                                                Translator.translateToVeniceResolutionTechniques(
+                                                    requestModel.getResolutionTechniques()))
+                                            .roleArn(
+                                                requestModel.getRoleArn())
+                                            .workflowName(
+                                                requestModel.getWorkflowName())
+                                            .tags(
+                                                resourceTags)
+                                            .build();
+    }
 
-        final ResourceModel responseModel = ResourceModel.builder()
-                                                         .description(createMatchingWorkflowResponse.description())
-                                                         .inputSourceConfig(Translator.translateToCfnInputSourceConfig(
-                                                             createMatchingWorkflowResponse.inputSourceConfig(), createMatchingWorkflowResponse.workflowArn()))
-                                                         .outputSourceConfig(Translator.translateToCfnOutputSourceConfig(
-                                                             createMatchingWorkflowResponse.outputSourceConfig()))
-                                                         .resolutionTechniques(Translator.translateToCfnResolutionTechniques(
-                                                             createMatchingWorkflowResponse.resolutionTechniques()))
-                                                         .roleArn(createMatchingWorkflowResponse.roleArn())
-                                                         .workflowArn(createMatchingWorkflowResponse.workflowArn())
-                                                         .workflowName(createMatchingWorkflowResponse.workflowName())
-                                                         .build();
-
-        return ProgressEvent.defaultSuccessHandler(responseModel);
+    private static ResourceModel translateFromCreateResponse(
+        final CreateMatchingWorkflowResponse createMatchingWorkflowResponse) {
+        return ResourceModel.builder()
+                            .description(createMatchingWorkflowResponse.description())
+                            .inputSourceConfig(Translator.translateToCfnInputSourceConfig(
+                                createMatchingWorkflowResponse.inputSourceConfig(),
+                                createMatchingWorkflowResponse.workflowArn()))
+                            .outputSourceConfig(Translator.translateToCfnOutputSourceConfig(
+                                createMatchingWorkflowResponse.outputSourceConfig()))
+                            .resolutionTechniques(Translator.translateToCfnResolutionTechniques(
+                                createMatchingWorkflowResponse.resolutionTechniques()))
+                            .roleArn(createMatchingWorkflowResponse.roleArn())
+                            .workflowArn(createMatchingWorkflowResponse.workflowArn())
+                            .workflowName(createMatchingWorkflowResponse.workflowName())
+                            .build();
     }
 
     /**
-     * This helper function is used in order to pass Contract Test - test_create_create.
-     * <p>
-     * To honor handler contract, if a resource is successfully created, a subsequent CREATE request with same
-     * parameters must throw "AlreadyExists" exception.
+     * A role or KMS key created in the same stack can take a while to become usable by the service. Such failures are
+     * handed back to the call chain, which retries the create on a later invocation after a {@link #PROPAGATION_DELAY}
+     * wait, and fails it as NotStabilized once the waits run out.
      */
-    private void checkIfWorkflowExists(
-        final AmazonWebServicesClientProxy proxy,
-        final ResourceModel requestModel) {
-
-        final GetMatchingWorkflowRequest getSchemaMappingRequest = GetMatchingWorkflowRequest.builder()
-                                                                                             .workflowName(
-                                                                                                 requestModel
-                                                                                                     .getWorkflowName())
-                                                                                             .build();
-
-        try {
-            proxy.injectCredentialsAndInvokeV2(getSchemaMappingRequest, client::getMatchingWorkflow);
-        } catch (final Exception e) {
-            return;
+    private static ProgressEvent<ResourceModel, CallbackContext> handleCreateError(
+        final AwsRequest createRequest,
+        final Exception e,
+        final ResourceModel model,
+        final Logger logger) {
+        if (e instanceof ConflictException) {
+            return ExceptionTranslator.failure(isAlreadyExists((ConflictException) e)
+                ? new CfnAlreadyExistsException(e) : new CfnInvalidRequestException(e));
+        }
+        if (PropagationErrors.isPropagationDelay(e)) {
+            HandlerLogger.info(logger, () -> String.format(
+                "Waiting for dependencies of workflowName = %s to propagate: %s", model.getWorkflowName(),
+                e.getMessage()));
+            throw RetryableException.builder()
+                                    .cause(e)
+                                    .build();
         }
-        throw ConflictException.builder()
-                               .message(WORKFLOW_ALREADY_EXISTS_ERROR_MESSAGE)
-                               .build();
+        return ExceptionTranslator.retryOrFail(createRequest, e);
+    }
+
+    /**
+     * The service rejects a create for a name that is already taken with a {@link ConflictException}, which the
+     * handler contract (contract test test_create_create) requires to surface as AlreadyExists. Other conflicts on
+     * create are reported as invalid requests.
+     */
+    private static boolean isAlreadyExists(final ConflictException e) {
+        return e.getMessage() != null && e.getMessage()
+                                          .toLowerCase(Locale.ROOT)
+                                          .contains(ALREADY_EXISTS);
     }
 }
@@ -4,26 +4,23 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListMatchingWorkflowsRequest;
 import software.amazon.awssdk.services.entityresolution.model.ListMatchingWorkflowsResponse;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.ServiceInvoker;
 
 @NoArgsConstructor
 public class ListHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-MatchingWorkflow::List";
+
     private EntityResolutionClient client;
 
     public ListHandler(EntityResolutionClient client) {
@@ -37,31 +34,43 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return handleRequest(proxy, invoker, request, callbackContext, logger);
+        } finally {
+            invoker.publishMetrics(logger);
         }
+    }
 
-        final ListMatchingWorkflowsRequest listMatchingWorkflowsRequest = ListMatchingWorkflowsRequest.builder()
-                                                                                                      .nextToken(
-                                                                                                          request.getNextToken())
-                                                                                                      .build();
-        final ListMatchingWorkflowsResponse listMatchingWorkflowsResponse;
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ServiceInvoker invoker,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
-        try {
-            listMatchingWorkflowsResponse = proxy.injectCredentialsAndInvokeV2(listMatchingWorkflowsRequest,
-                client::listMatchingWorkflows);
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
         }
 
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+        final ResourceModel requestModel = request.getDesiredResourceState() == null ? new ResourceModel()
+            : request.getDesiredResourceState();
+
+        return proxy.initiate(CALL_GRAPH, proxyClient, requestModel, context)
+                    .translateToServiceRequest(model -> ListMatchingWorkflowsRequest.builder()
+                                                                                    .nextToken(
+                                                                                        request.getNextToken())
+                                                                                    .build())
+                    .makeServiceCall((listRequest, proxyInvocation) -> invoker.invoke(listRequest,
+                        proxyInvocation.client()::listMatchingWorkflows))
+                    .handleError(ExceptionTranslator::handleError)
+                    .done(ListHandler::translateFromListResponse);
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> translateFromListResponse(
+        final ListMatchingWorkflowsResponse listMatchingWorkflowsResponse) {
         List<ResourceModel> responseModels = new ArrayList<>();
 
         listMatchingWorkflowsResponse.workflowSummaries()
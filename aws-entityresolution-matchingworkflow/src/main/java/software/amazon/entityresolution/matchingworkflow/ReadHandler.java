@@ -1,28 +1,28 @@
 package software.amazon.entityresolution.matchingworkflow;
 
+import java.util.concurrent.CompletableFuture;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowResponse;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ServiceCallExecutor;
+import software.amazon.entityresolution.common.ServiceInvoker;
 
 @NoArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-MatchingWorkflow::Read";
+
     private EntityResolutionClient client;
 
     public ReadHandler(EntityResolutionClient client) {
@@ -36,69 +36,107 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return handleRequest(proxy, invoker, request, callbackContext, logger);
+        } finally {
+            invoker.publishMetrics(logger);
         }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ServiceInvoker invoker,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
+        }
 
-        final GetMatchingWorkflowRequest getMatchingWorkflowRequest = GetMatchingWorkflowRequest.builder()
-                                                                                                .workflowName(
-                                                                                                    requestModel.getWorkflowName())
-                                                                                                .build();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
 
         final ListTagsForResourceRequest listTagsForResourceRequest = ListTagsForResourceRequest.builder()
                                                                                                 .resourceArn(
                                                                                                     Translator.toWorkflowArn(
                                                                                                         request))
                                                                                                 .build();
-        final GetMatchingWorkflowResponse getMatchingWorkflowResponse;
 
-        final ListTagsForResourceResponse listTagsForResourceResponse;
+        return proxy.initiate(CALL_GRAPH, proxyClient, request.getDesiredResourceState(), context)
+                    .translateToServiceRequest(model -> GetMatchingWorkflowRequest.builder()
+                                                                                  .workflowName(
+                                                                                      model.getWorkflowName())
+                                                                                  .build())
+                    .makeServiceCall((getMatchingWorkflowRequest, proxyInvocation) -> readWorkflow(invoker,
+                        proxyInvocation.client(), getMatchingWorkflowRequest, listTagsForResourceRequest))
+                    .handleError(ExceptionTranslator::handleError)
+                    .done(workflowRead -> {
+                        HandlerLogger.debug(logger, () -> String.format(
+                            "Retrieved Matching Workflow and tags with workflowName = %s",
+                            workflowRead.workflow.workflowName()));
+                        return ProgressEvent.defaultSuccessHandler(translateFromReadResponse(workflowRead));
+                    });
+    }
+
+    private static ResourceModel translateFromReadResponse(final WorkflowRead workflowRead) {
+        final GetMatchingWorkflowResponse getMatchingWorkflowResponse = workflowRead.workflow;
+        final ListTagsForResourceResponse listTagsForResourceResponse = workflowRead.tags;
+
+        return ResourceModel.builder()
+                            .createdAt(getMatchingWorkflowResponse.createdAt()
+                                                                  .toString())
+                            .description(getMatchingWorkflowResponse.description())
+                            .inputSourceConfig(
+                                Translator.translateToCfnInputSourceConfig(
+                                    getMatchingWorkflowResponse.inputSourceConfig(),
+                                    getMatchingWorkflowResponse.workflowArn()))
+                            .outputSourceConfig(
+                                Translator.translateToCfnOutputSourceConfig(
+                                    getMatchingWorkflowResponse.outputSourceConfig()))
+                            .resolutionTechniques(
+                                Translator.translateToCfnResolutionTechniques(
+                                    getMatchingWorkflowResponse.resolutionTechniques()))
+                            .roleArn(getMatchingWorkflowResponse.roleArn())
+                            .tags(Translator.mapTagsToSet(
+                                listTagsForResourceResponse.tags()))
+                            .updatedAt(getMatchingWorkflowResponse.updatedAt()
+                                                                  .toString())
+                            .workflowArn(getMatchingWorkflowResponse.workflowArn())
+                            .workflowName(getMatchingWorkflowResponse.workflowName())
+                            .build();
+    }
+
+    private static WorkflowRead readWorkflow(
+        final ServiceInvoker invoker,
+        final EntityResolutionClient client,
+        final GetMatchingWorkflowRequest getMatchingWorkflowRequest,
+        final ListTagsForResourceRequest listTagsForResourceRequest) {
+        final CompletableFuture<ListTagsForResourceResponse> listTagsForResourceFuture =
+            ServiceCallExecutor.submit(
+                () -> invoker.invoke(listTagsForResourceRequest,
+                    client::listTagsForResource));
 
+        final GetMatchingWorkflowResponse getMatchingWorkflowResponse;
         try {
-            getMatchingWorkflowResponse = proxy.injectCredentialsAndInvokeV2(getMatchingWorkflowRequest,
-                client::getMatchingWorkflow);
-            logger.log(
-                String.format("Retrieved Matching Workflow with workflowName = %s", requestModel.getWorkflowName()));
-
-            listTagsForResourceResponse = proxy.injectCredentialsAndInvokeV2(listTagsForResourceRequest,
-                client::listTagsForResource);
-            logger.log(String.format("Retrieve Tags for workflowName = %s", requestModel.getWorkflowName()));
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
+            getMatchingWorkflowResponse = invoker.invoke(getMatchingWorkflowRequest, client::getMatchingWorkflow);
+        } catch (final RuntimeException e) {
+            ServiceCallExecutor.settle(listTagsForResourceFuture);
+            throw e;
         }
 
-        final ResourceModel responseModel = ResourceModel.builder()
-                                                         .createdAt(getMatchingWorkflowResponse.createdAt()
-                                                                                               .toString())
-                                                         .description(getMatchingWorkflowResponse.description())
-                                                         .inputSourceConfig(
-                                                             Translator.translateToCfnInputSourceConfig(
-                                                                 getMatchingWorkflowResponse.inputSourceConfig(), getMatchingWorkflowResponse.workflowArn()))
-                                                         .outputSourceConfig(
-                                                             Translator.translateToCfnOutputSourceConfig(
-                                                                 getMatchingWorkflowResponse.outputSourceConfig()))
-                                                         .resolutionTechniques(
-                                                             Translator.translateToCfnResolutionTechniques(
-                                                                 getMatchingWorkflowResponse.resolutionTechniques()))
-                                                         .roleArn(getMatchingWorkflowResponse.roleArn())
-                                                         .tags(Translator.mapTagsToSet(
-                                                             listTagsForResourceResponse.tags()))
-                                                         .updatedAt(getMatchingWorkflowResponse.updatedAt()
-                                                                                               .toString())
-                                                         .workflowArn(getMatchingWorkflowResponse.workflowArn())
-                                                         .workflowName(getMatchingWorkflowResponse.workflowName())
-                                                         .build();
-
-        return ProgressEvent.defaultSuccessHandler(responseModel);
+        return new WorkflowRead(getMatchingWorkflowResponse, ServiceCallExecutor.join(listTagsForResourceFuture));
+    }
+
+    private static final class WorkflowRead {
+
+        private final GetMatchingWorkflowResponse workflow;
+        private final ListTagsForResourceResponse tags;
+
+        private WorkflowRead(final GetMatchingWorkflowResponse workflow, final ListTagsForResourceResponse tags) {
+            this.workflow = workflow;
+            this.tags = tags;
+        }
     }
 }
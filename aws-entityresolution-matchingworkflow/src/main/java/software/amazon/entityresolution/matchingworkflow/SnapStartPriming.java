@@ -0,0 +1,258 @@
+package software.amazon.entityresolution.matchingworkflow;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
+import software.amazon.awssdk.services.entityresolution.model.CreateMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.CreateMatchingWorkflowResponse;
+import software.amazon.awssdk.services.entityresolution.model.DeleteMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.ListMatchingWorkflowsRequest;
+import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.UntagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.UpdateMatchingWorkflowRequest;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.entityresolution.common.ClientBuilder;
+
+/**
+ * Warms the handler before a Lambda SnapStart snapshot is taken, so restored containers skip the class loading and
+ * static initialization that a cold start pays on its first request. Priming builds the region's cached client, runs
+ * every {@link Translator} conversion on a full model, round-trips the model through the wrapper's JSON serializer and
+ * sends each service request the handlers make through a client whose HTTP layer echoes the request back, so SDK
+ * marshalling, signing and unmarshalling run without reaching the network.
+ *
+ * <p>Without a CRaC-capable runtime the hooks are never called and the handler behaves exactly as before.
+ */
+public class SnapStartPriming implements Resource {
+
+    static final String REGION_VARIABLE = "AWS_REGION";
+
+    private static final String PRIMING_NAME = "snapStartPriming";
+    private static final String PRIMING_ARN =
+        "arn:aws:entityresolution:us-east-1:123456789012:matchingworkflow/" + PRIMING_NAME;
+
+    /**
+     * CRaC only keeps weak references to registered resources.
+     */
+    private static final SnapStartPriming INSTANCE = new SnapStartPriming();
+
+    static void register() {
+        Core.getGlobalContext()
+            .register(INSTANCE);
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) {
+        prime(System.getenv(REGION_VARIABLE));
+    }
+
+    /**
+     * Nothing primed before the snapshot depends on the host or time it is restored at.
+     */
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+    }
+
+    public static void prime(final String region) {
+        ClientBuilder.getClient(region);
+
+        final ResourceModel model = sampleModel();
+        primeSerializer(model);
+
+        try (EntityResolutionClient client = EntityResolutionClient.builder()
+                                                                   .region(region == null ? Region.US_EAST_1
+                                                                       : Region.of(region))
+                                                                   .httpClient(new EchoHttpClient())
+                                                                   .credentialsProvider(
+                                                                       StaticCredentialsProvider.create(
+                                                                           AwsBasicCredentials.create(PRIMING_NAME,
+                                                                               PRIMING_NAME)))
+                                                                   .build()) {
+            primeServiceCalls(client, model);
+        }
+    }
+
+    private static void primeServiceCalls(final EntityResolutionClient client, final ResourceModel model) {
+        final CreateMatchingWorkflowResponse createResponse = client.createMatchingWorkflow(
+            CreateMatchingWorkflowRequest.builder()
+                                         .workflowName(model.getWorkflowName())
+                                         .description(model.getDescription())
+                                         .inputSourceConfig(Translator.translateToVeniceInputSourceConfig(
+                                             model.getInputSourceConfig()))
+                                         .outputSourceConfig(Translator.translateToVeniceOutputSourceConfig(
+                                             model.getOutputSourceConfig()))
+                                         .resolutionTechniques(Translator.translateToVeniceResolutionTechniques(
+                                             model.getResolutionTechniques()))
+                                         .roleArn(model.getRoleArn())
+                                         .tags(Collections.singletonMap(PRIMING_NAME, PRIMING_NAME))
+                                         .build());
+
+        // The echoed create carries the whole workflow, so translating it back covers the response paths.
+        Translator.translateToCfnInputSourceConfig(createResponse.inputSourceConfig(), PRIMING_ARN);
+        Translator.translateToCfnOutputSourceConfig(createResponse.outputSourceConfig());
+        Translator.translateToCfnResolutionTechniques(createResponse.resolutionTechniques());
+        Translator.translateToCfnResolutionTechniques(Translator.translateToVeniceResolutionTechniques(
+            providerTechniques()));
+        Translator.mapTagsToSet(Collections.singletonMap(PRIMING_NAME, PRIMING_NAME));
+
+        client.getMatchingWorkflow(GetMatchingWorkflowRequest.builder()
+                                                             .workflowName(PRIMING_NAME)
+                                                             .build());
+        client.updateMatchingWorkflow(UpdateMatchingWorkflowRequest.builder()
+                                                                   .workflowName(PRIMING_NAME)
+                                                                   .inputSourceConfig(createResponse.inputSourceConfig())
+                                                                   .build());
+        client.listMatchingWorkflows(ListMatchingWorkflowsRequest.builder()
+                                                                 .build());
+        client.deleteMatchingWorkflow(DeleteMatchingWorkflowRequest.builder()
+                                                                   .workflowName(PRIMING_NAME)
+                                                                   .build());
+        client.listTagsForResource(ListTagsForResourceRequest.builder()
+                                                             .resourceArn(PRIMING_ARN)
+                                                             .build());
+        client.tagResource(TagResourceRequest.builder()
+                                             .resourceArn(PRIMING_ARN)
+                                             .tags(Collections.singletonMap(PRIMING_NAME, PRIMING_NAME))
+                                             .build());
+        client.untagResource(UntagResourceRequest.builder()
+                                                 .resourceArn(PRIMING_ARN)
+                                                 .tagKeys(PRIMING_NAME)
+                                                 .build());
+    }
+
+    private static void primeSerializer(final ResourceModel model) {
+        final Serializer serializer = new Serializer();
+        try {
+            serializer.deserialize(serializer.serialize(model), new TypeReference<ResourceModel>() {
+            });
+            serializer.deserialize(serializer.serialize(new CallbackContext()), new TypeReference<CallbackContext>() {
+            });
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ResourceModel sampleModel() {
+        final InputSource inputSource = InputSource.builder()
+                                                   .inputSourceARN("arn:aws:glue:us-east-1:123456789012:table/db/table")
+                                                   .schemaArn(Translator.buildSchemaArnFromWorkflowArn("schema",
+                                                       PRIMING_ARN))
+                                                   .applyNormalization(true)
+                                                   .build();
+        final OutputSource outputSource = OutputSource.builder()
+                                                      .outputS3Path("s3://bucket/output")
+                                                      .kMSArn("arn:aws:kms:us-east-1:123456789012:key/key")
+                                                      .applyNormalization(true)
+                                                      .output(Collections.singletonList(OutputAttribute.builder()
+                                                                                                       .name("email")
+                                                                                                       .hashed(true)
+                                                                                                       .build()))
+                                                      .build();
+        final RuleBasedProperties ruleBasedProperties = RuleBasedProperties.builder()
+                                                                           .attributeMatchingModel("ONE_TO_ONE")
+                                                                           .rules(Collections.singletonList(
+                                                                               Rule.builder()
+                                                                                   .ruleName("rule")
+                                                                                   .matchingKeys(Arrays.asList(
+                                                                                       "email", "phone"))
+                                                                                   .build()))
+                                                                           .build();
+
+        return ResourceModel.builder()
+                            .workflowName(Translator.getNameFromArn(PRIMING_ARN))
+                            .description(PRIMING_NAME)
+                            .inputSourceConfig(Collections.singletonList(inputSource))
+                            .outputSourceConfig(Collections.singletonList(outputSource))
+                            .resolutionTechniques(ResolutionTechniques.builder()
+                                                                      .resolutionType("RULE_MATCHING")
+                                                                      .ruleBasedProperties(ruleBasedProperties)
+                                                                      .build())
+                            .roleArn("arn:aws:iam::123456789012:role/role")
+                            .build();
+    }
+
+    private static ResolutionTechniques providerTechniques() {
+        final Map<String, String> providerConfiguration = new HashMap<>();
+        providerConfiguration.put("key", "value");
+        final IntermediateSourceConfiguration intermediateSource =
+            IntermediateSourceConfiguration.builder()
+                                           .intermediateS3Path("s3://bucket/intermediate")
+                                           .build();
+
+        return ResolutionTechniques.builder()
+                                   .resolutionType("PROVIDER")
+                                   .providerProperties(ProviderProperties.builder()
+                                                                         .providerServiceArn(
+                                                                             "arn:aws:entityresolution:us-east-1::providerservice/provider/service")
+                                                                         .providerConfiguration(providerConfiguration)
+                                                                         .intermediateSourceConfiguration(intermediateSource)
+                                                                         .build())
+                                   .build();
+    }
+
+    /**
+     * Answers every request with its own body, or an empty object when it has none. Create and update responses share
+     * most of their shape with the requests, so echoing them exercises the response unmarshallers too.
+     */
+    private static class EchoHttpClient implements SdkHttpClient {
+
+        private static final byte[] EMPTY_OBJECT = {'{', '}'};
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(final HttpExecuteRequest request) {
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() throws IOException {
+                    final Optional<ContentStreamProvider> content = request.contentStreamProvider();
+                    byte[] body = EMPTY_OBJECT;
+                    if (content.isPresent()) {
+                        try (InputStream stream = content.get()
+                                                         .newStream()) {
+                            body = IoUtils.toByteArray(stream);
+                        }
+                    }
+
+                    return HttpExecuteResponse.builder()
+                                              .response(SdkHttpResponse.builder()
+                                                                       .statusCode(200)
+                                                                       .putHeader("Content-Type", "application/json")
+                                                                       .build())
+                                              .responseBody(AbortableInputStream.create(
+                                                  new ByteArrayInputStream(body.length == 0 ? EMPTY_OBJECT : body)))
+                                              .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
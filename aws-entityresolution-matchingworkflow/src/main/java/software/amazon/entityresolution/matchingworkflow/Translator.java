@@ -1,12 +1,11 @@
 package software.amazon.entityresolution.matchingworkflow;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.core.document.Document;
 import software.amazon.awssdk.services.entityresolution.model.InputSource;
 import software.amazon.awssdk.services.entityresolution.model.IntermediateSourceConfiguration;
@@ -17,6 +16,8 @@ import software.amazon.awssdk.services.entityresolution.model.ResolutionTechniqu
 import software.amazon.awssdk.services.entityresolution.model.Rule;
 import software.amazon.awssdk.services.entityresolution.model.RuleBasedProperties;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.EntityResolutionArn;
+import software.amazon.entityresolution.common.TagHelper;
 
 
 /**
@@ -25,21 +26,23 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
  */
 public class Translator {
 
-    public static String WORKFLOW_ARN_FORMAT = "arn:%s:entityresolution:%s:%s:matchingworkflow/%s";
-
     public static List<InputSource> translateToVeniceInputSourceConfig(
         List<software.amazon.entityresolution.matchingworkflow.InputSource> source) {
         if (source == null) {
             return null;
         }
 
-        return source.stream()
-                     .map(inputSource -> InputSource.builder()
-                                                    .inputSourceARN(inputSource.getInputSourceARN())
-                                                    .schemaName(getNameFromArn(inputSource.getSchemaArn()))
-                                                    .applyNormalization(inputSource.getApplyNormalization())
-                                                    .build())
-                     .collect(Collectors.toList());
+        final List<InputSource> inputSources = new ArrayList<>(source.size());
+        for (final software.amazon.entityresolution.matchingworkflow.InputSource inputSource : source) {
+            inputSources.add(InputSource.builder()
+                                        .inputSourceARN(inputSource.getInputSourceARN())
+                                        .schemaName(EntityResolutionArn.resourceName(inputSource.getSchemaArn(),
+                                            EntityResolutionArn.SCHEMA_MAPPING))
+                                        .applyNormalization(inputSource.getApplyNormalization())
+                                        .build());
+        }
+
+        return inputSources;
     }
 
     public static List<software.amazon.entityresolution.matchingworkflow.InputSource> translateToCfnInputSourceConfig(
@@ -48,18 +51,22 @@ public class Translator {
             return null;
         }
 
-        return source.stream()
-                     .map(inputSource -> software.amazon.entityresolution.matchingworkflow.InputSource.builder()
-                                                                                                      .inputSourceARN(
-                                                                                                          inputSource.inputSourceARN())
-                                                                                                      .schemaArn(
-                                                                                                          buildSchemaArnFromWorkflowArn(
-                                                                                                              inputSource.schemaName(),
-                                                                                                              workflowArn))
-                                                                                                      .applyNormalization(
-                                                                                                          inputSource.applyNormalization())
-                                                                                                      .build())
-                     .collect(Collectors.toList());
+        final List<software.amazon.entityresolution.matchingworkflow.InputSource> inputSources =
+            new ArrayList<>(source.size());
+        for (final InputSource inputSource : source) {
+            inputSources.add(software.amazon.entityresolution.matchingworkflow.InputSource.builder()
+                                                                                          .inputSourceARN(
+                                                                                              inputSource.inputSourceARN())
+                                                                                          .schemaArn(
+                                                                                              buildSchemaArnFromWorkflowArn(
+                                                                                                  inputSource.schemaName(),
+                                                                                                  workflowArn))
+                                                                                          .applyNormalization(
+                                                                                              inputSource.applyNormalization())
+                                                                                          .build());
+        }
+
+        return inputSources;
     }
 
     public static List<OutputSource> translateToVeniceOutputSourceConfig(
@@ -68,24 +75,17 @@ public class Translator {
             return null;
         }
 
-        return source.stream()
-                     .map(outputSource -> OutputSource.builder()
-                                                      .output(outputSource.getOutput() == null ? null
-                                                          : outputSource.getOutput()
-                                                                        .stream()
-                                                                        .map(
-                                                                            outputAttribute -> OutputAttribute.builder()
-                                                                                                              .name(
-                                                                                                                  outputAttribute.getName())
-                                                                                                              .hashed(
-                                                                                                                  outputAttribute.getHashed())
-                                                                                                              .build())
-                                                                        .collect(Collectors.toList()))
-                                                      .outputS3Path(outputSource.getOutputS3Path())
-                                                      .applyNormalization(outputSource.getApplyNormalization())
-                                                      .kmsArn(outputSource.getKMSArn())
-                                                      .build())
-                     .collect(Collectors.toList());
+        final List<OutputSource> outputSources = new ArrayList<>(source.size());
+        for (final software.amazon.entityresolution.matchingworkflow.OutputSource outputSource : source) {
+            outputSources.add(OutputSource.builder()
+                                          .output(translateToVeniceOutputAttributes(outputSource.getOutput()))
+                                          .outputS3Path(outputSource.getOutputS3Path())
+                                          .applyNormalization(outputSource.getApplyNormalization())
+                                          .kmsArn(outputSource.getKMSArn())
+                                          .build());
+        }
+
+        return outputSources;
     }
 
     public static List<software.amazon.entityresolution.matchingworkflow.OutputSource> translateToCfnOutputSourceConfig(
@@ -94,28 +94,23 @@ public class Translator {
             return null;
         }
 
-        return source.stream()
-                     .map(outputSource -> software.amazon.entityresolution.matchingworkflow.OutputSource.builder()
-                                                                                                        .applyNormalization(
-                                                                                                            outputSource.applyNormalization())
-                                                                                                        .kMSArn(
-                                                                                                            outputSource.kmsArn())
-                                                                                                        .outputS3Path(
-                                                                                                            outputSource.outputS3Path())
-                                                                                                        .output(
-                                                                                                            outputSource.output()
-                                                                                                                        .stream()
-                                                                                                                        .map(
-                                                                                                                            outputAttribute -> software.amazon.entityresolution.matchingworkflow.OutputAttribute.builder()
-                                                                                                                                                                                                                .name(
-                                                                                                                                                                                                                    outputAttribute.name())
-                                                                                                                                                                                                                .hashed(
-                                                                                                                                                                                                                    outputAttribute.hashed())
-                                                                                                                                                                                                                .build())
-                                                                                                                        .collect(
-                                                                                                                            Collectors.toList()))
-                                                                                                        .build())
-                     .collect(Collectors.toList());
+        final List<software.amazon.entityresolution.matchingworkflow.OutputSource> outputSources =
+            new ArrayList<>(source.size());
+        for (final OutputSource outputSource : source) {
+            outputSources.add(software.amazon.entityresolution.matchingworkflow.OutputSource.builder()
+                                                                                            .applyNormalization(
+                                                                                                outputSource.applyNormalization())
+                                                                                            .kMSArn(
+                                                                                                outputSource.kmsArn())
+                                                                                            .outputS3Path(
+                                                                                                outputSource.outputS3Path())
+                                                                                            .output(
+                                                                                                translateToCfnOutputAttributes(
+                                                                                                    outputSource.output()))
+                                                                                            .build());
+        }
+
+        return outputSources;
     }
 
     public static ResolutionTechniques translateToVeniceResolutionTechniques(
@@ -135,10 +130,11 @@ public class Translator {
                                                                                      .providerServiceArn(source.getProviderProperties().getProviderServiceArn());
 
             if (source.getProviderProperties().getProviderConfiguration() != null) {
-                Map<String, Document> providerConfiguration = source.getProviderProperties().getProviderConfiguration()
-                                                                    .entrySet()
-                                                                    .stream()
-                                                                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> Document.fromString(entry.getValue())));
+                final Map<String, String> configuration = source.getProviderProperties().getProviderConfiguration();
+                final Map<String, Document> providerConfiguration = new HashMap<>(hashMapCapacity(configuration.size()));
+                for (Map.Entry<String, String> entry : configuration.entrySet()) {
+                    providerConfiguration.put(entry.getKey(), Document.fromString(entry.getValue()));
+                }
 
                 providerPropertiesBuilder.providerConfiguration(Document.fromMap(providerConfiguration));
             }
@@ -156,23 +152,23 @@ public class Translator {
                                        .build();
         }
 
+        final List<software.amazon.entityresolution.matchingworkflow.Rule> sourceRules = source.getRuleBasedProperties()
+                                                                                              .getRules();
+        final List<Rule> rules = new ArrayList<>(sourceRules.size());
+        for (final software.amazon.entityresolution.matchingworkflow.Rule rule : sourceRules) {
+            rules.add(Rule.builder()
+                          .ruleName(rule.getRuleName())
+                          .matchingKeys(rule.getMatchingKeys())
+                          .build());
+        }
+
         return ResolutionTechniques.builder()
                                    .resolutionType(source.getResolutionType())
                                    .ruleBasedProperties(RuleBasedProperties.builder()
                                                                            .attributeMatchingModel(
                                                                                source.getRuleBasedProperties()
                                                                                      .getAttributeMatchingModel())
-                                                                           .rules(source.getRuleBasedProperties()
-                                                                                        .getRules()
-                                                                                        .stream()
-                                                                                        .map(rule -> Rule.builder()
-                                                                                                         .ruleName(
-                                                                                                             rule.getRuleName())
-                                                                                                         .matchingKeys(
-                                                                                                             rule.getMatchingKeys())
-                                                                                                         .build())
-                                                                                        .collect(
-                                                                                            Collectors.toList()))
+                                                                           .rules(rules)
                                                                            .build())
                                    .build();
     }
@@ -196,8 +192,9 @@ public class Translator {
                                                                                     .providerServiceArn(source.providerProperties().providerServiceArn());
 
             if (source.providerProperties().providerConfiguration() != null) {
-                Map<String, String> providerConfiguration = new HashMap<>();
-                for (Map.Entry<String, Document> entry: source.providerProperties().providerConfiguration().asMap().entrySet()) {
+                final Map<String, Document> documents = source.providerProperties().providerConfiguration().asMap();
+                final Map<String, String> providerConfiguration = new HashMap<>(hashMapCapacity(documents.size()));
+                for (Map.Entry<String, Document> entry: documents.entrySet()) {
                     providerConfiguration.put(entry.getKey(), entry.getValue().asString());
                 }
 
@@ -217,6 +214,16 @@ public class Translator {
                                                                                          .build();
         }
 
+        final List<Rule> sourceRules = source.ruleBasedProperties()
+                                             .rules();
+        final List<software.amazon.entityresolution.matchingworkflow.Rule> rules = new ArrayList<>(sourceRules.size());
+        for (final Rule rule : sourceRules) {
+            rules.add(software.amazon.entityresolution.matchingworkflow.Rule.builder()
+                                                                            .ruleName(rule.ruleName())
+                                                                            .matchingKeys(rule.matchingKeys())
+                                                                            .build());
+        }
+
         return software.amazon.entityresolution.matchingworkflow.ResolutionTechniques.builder()
                                                                                      .resolutionType(
                                                                                          source.resolutionTypeAsString())
@@ -225,51 +232,69 @@ public class Translator {
                                                                                                                                                               .attributeMatchingModel(
                                                                                                                                                                   source.ruleBasedProperties()
                                                                                                                                                                         .attributeMatchingModelAsString())
-                                                                                                                                                              .rules(
-                                                                                                                                                                  source.ruleBasedProperties()
-                                                                                                                                                                        .rules()
-                                                                                                                                                                        .stream()
-                                                                                                                                                                        .map(
-                                                                                                                                                                            rule ->
-                                                                                                                                                                                software.amazon.entityresolution.matchingworkflow.Rule.builder()
-                                                                                                                                                                                                                                      .ruleName(
-                                                                                                                                                                                                                                          rule.ruleName())
-                                                                                                                                                                                                                                      .matchingKeys(
-                                                                                                                                                                                                                                          rule.matchingKeys())
-                                                                                                                                                                                                                                      .build())
-                                                                                                                                                                        .collect(
-                                                                                                                                                                            Collectors.toList()))
+                                                                                                                                                              .rules(rules)
                                                                                                                                                               .build())
                                                                                      .build();
     }
 
     public static Set<Tag> mapTagsToSet(Map<String, String> tags) {
-        if (tags == null || tags.isEmpty()) {
-            return null;
-        }
-
-        return tags.entrySet()
-                   .stream()
-                   .map(t -> Tag.builder()
-                                .key(t.getKey())
-                                .value(t.getValue())
-                                .build())
-                   .collect(Collectors.toSet());
+        return TagHelper.toTagSet(tags, (key, value) -> Tag.builder()
+                                                           .key(key)
+                                                           .value(value)
+                                                           .build());
     }
 
     public static String toWorkflowArn(final ResourceHandlerRequest<ResourceModel> request) {
-        return String.format(WORKFLOW_ARN_FORMAT, request.getAwsPartition(), request.getRegion(),
-            request.getAwsAccountId(),
+        return EntityResolutionArn.of(request, EntityResolutionArn.MATCHING_WORKFLOW,
             request.getDesiredResourceState()
                    .getWorkflowName());
     }
 
     public static String getNameFromArn(final String arn) {
-        return arn.substring(arn.lastIndexOf("/") + 1);
+        return EntityResolutionArn.resourceName(arn);
     }
 
     public static String buildSchemaArnFromWorkflowArn(final String schemaName, final String workflowArn) {
-        String prefix = workflowArn.substring(0, workflowArn.lastIndexOf(":") + 1);
-        return prefix + "schemamapping/" + schemaName;
+        return EntityResolutionArn.sibling(workflowArn, EntityResolutionArn.SCHEMA_MAPPING, schemaName);
+    }
+
+    private static List<OutputAttribute> translateToVeniceOutputAttributes(
+        List<software.amazon.entityresolution.matchingworkflow.OutputAttribute> source) {
+        if (source == null) {
+            return null;
+        }
+
+        final List<OutputAttribute> outputAttributes = new ArrayList<>(source.size());
+        for (final software.amazon.entityresolution.matchingworkflow.OutputAttribute outputAttribute : source) {
+            outputAttributes.add(OutputAttribute.builder()
+                                                .name(outputAttribute.getName())
+                                                .hashed(outputAttribute.getHashed())
+                                                .build());
+        }
+
+        return outputAttributes;
+    }
+
+    private static List<software.amazon.entityresolution.matchingworkflow.OutputAttribute> translateToCfnOutputAttributes(
+        List<OutputAttribute> source) {
+        final List<software.amazon.entityresolution.matchingworkflow.OutputAttribute> outputAttributes =
+            new ArrayList<>(source.size());
+        for (final OutputAttribute outputAttribute : source) {
+            outputAttributes.add(software.amazon.entityresolution.matchingworkflow.OutputAttribute.builder()
+                                                                                                  .name(
+                                                                                                      outputAttribute.name())
+                                                                                                  .hashed(
+                                                                                                      outputAttribute.hashed())
+                                                                                                  .build());
+        }
+
+        return outputAttributes;
+    }
+
+    /**
+     * Initial capacity that lets a {@link HashMap} hold {@code expectedSize} entries without rehashing.
+     */
+    private static int hashMapCapacity(final int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
     }
 }
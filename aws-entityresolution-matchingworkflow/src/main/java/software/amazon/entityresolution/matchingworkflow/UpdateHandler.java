@@ -1,35 +1,37 @@
 package software.amazon.entityresolution.matchingworkflow;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
-import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
-import software.amazon.awssdk.services.entityresolution.model.UntagResourceRequest;
 import software.amazon.awssdk.services.entityresolution.model.UpdateMatchingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.UpdateMatchingWorkflowResponse;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.Action;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ReplayCache;
+import software.amazon.entityresolution.common.ResourceModelComparator;
+import software.amazon.entityresolution.common.ServiceInvoker;
+import software.amazon.entityresolution.common.TagHelper;
 
 @NoArgsConstructor
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-MatchingWorkflow::Update";
+
+    /**
+     * Updates this container completed, so that a retried update is answered without calling the service again.
+     */
+    private static final ReplayCache<ResourceModel, CallbackContext> COMPLETED = new ReplayCache<>();
+
+    private static final ResourceModelComparator<ResourceModel> MODEL_COMPARATOR =
+        new ResourceModelComparator<>(new Configuration().resourceSchemaJSONObject());
+
     private EntityResolutionClient client;
 
     public UpdateHandler(EntityResolutionClient client) {
@@ -43,112 +45,155 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ProgressEvent<ResourceModel, CallbackContext> replayed =
+            COMPLETED.replay(Action.UPDATE, request, logger);
+        if (replayed != null) {
+            return replayed;
         }
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
-
-        final Set<Tag> previousTags = request.getPreviousResourceTags() == null ? new HashSet<>()
-            : Translator.mapTagsToSet(request.getPreviousResourceTags());
-
-        if (previousTags != null) {
-            final List<String> tagsToRemove = previousTags.stream()
-                                                          .map(Tag::getKey)
-                                                          .collect(Collectors.toList());
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return COMPLETED.record(Action.UPDATE, request,
+                handleRequest(proxy, invoker, request, callbackContext, logger));
+        } finally {
+            invoker.publishMetrics(logger);
+        }
+    }
 
-            if (tagsToRemove.size() > 0) {
-                final UntagResourceRequest untagResourceRequest = UntagResourceRequest.builder()
-                                                                                      .resourceArn(
-                                                                                          Translator.toWorkflowArn(
-                                                                                              request))
-                                                                                      .tagKeys(tagsToRemove)
-                                                                                      .build();
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ServiceInvoker invoker,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
-                proxy.injectCredentialsAndInvokeV2(untagResourceRequest, client::untagResource);
-            }
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
         }
 
-        if (request.getDesiredResourceTags() != null && !request.getDesiredResourceTags()
-                                                                .isEmpty()) {
-            final Map<String, String> resourceTags = request.getDesiredResourceTags();
-
-            final TagResourceRequest tagResourceRequest = TagResourceRequest.builder()
-                                                                            .resourceArn(
-                                                                                Translator.toWorkflowArn(request))
-                                                                            .tags(resourceTags)
-                                                                            .build();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
 
-            proxy.injectCredentialsAndInvokeV2(tagResourceRequest, client::tagResource);
-        }
+        final ResourceModel requestModel = request.getDesiredResourceState();
+        final String workflowArn = Translator.toWorkflowArn(request);
+
+        // A tag-only update leaves the workflow itself as it is, so there is nothing to send to the service.
+        final boolean propertiesChanged = !MODEL_COMPARATOR.hasSameProperties(
+            request.getPreviousResourceState(), requestModel);
+
+        return TagHelper.updateTags(proxy, proxyClient, invoker, CALL_GRAPH, workflowArn, request,
+                            ProgressEvent.progress(requestModel, context))
+                        .then(progress -> propertiesChanged
+                            ? updateWorkflow(proxy, proxyClient, invoker, workflowArn, progress, logger)
+                            : skipWorkflowUpdate(progress, logger))
+                        .then(progress -> readTags(proxy, proxyClient, invoker, workflowArn, progress, logger));
+    }
 
-        final UpdateMatchingWorkflowRequest updateMatchingWorkflowRequest = UpdateMatchingWorkflowRequest.builder()
-                                                                                                         .workflowName(
-                                                                                                             requestModel.getWorkflowName())
-                                                                                                         .description(
-                                                                                                             requestModel.getDescription())
-                                                                                                         .inputSourceConfig(
-                                                                                                             Translator.translateToVeniceInputSourceConfig(
-                                                                                                                 requestModel.getInputSourceConfig()))
-                                                                                                         .outputSourceConfig(
-                                                                                                             Translator.translateToVeniceOutputSourceConfig(
-                                                                                                                 requestModel.getOutputSourceConfig()))
-                                                                                                         .resolutionTechniques(
-                                                                                                             Translator.translateToVeniceResolutionTechniques(
-                                                                                                                 requestModel.getResolutionTechniques()))
-                                                                                                         .roleArn(
-                                                                                                             requestModel.getRoleArn())
-                                                                                                         .build();
-
-        final ListTagsForResourceRequest listTagsForResourceRequest = ListTagsForResourceRequest.builder()
-                                                                                                .resourceArn(
-                                                                                                    Translator.toWorkflowArn(
-                                                                                                        request))
-                                                                                                .build();
-        final UpdateMatchingWorkflowResponse updateMatchingWorkflowResponse;
-
-        final ListTagsForResourceResponse listTagsForResourceResponse;
+    private static ProgressEvent<ResourceModel, CallbackContext> updateWorkflow(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<EntityResolutionClient> proxyClient,
+        final ServiceInvoker invoker,
+        final String workflowArn,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger) {
+        return proxy.initiate(CALL_GRAPH, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+                    .translateToServiceRequest(UpdateHandler::translateToUpdateRequest)
+                    .makeServiceCall((updateRequest, proxyInvocation) -> invoker.invoke(updateRequest,
+                        proxyInvocation.client()::updateMatchingWorkflow))
+                    .handleError(ExceptionTranslator::handleError)
+                    .done((updateRequest, updateMatchingWorkflowResponse, proxyInvocation, model, context) -> {
+                        HandlerLogger.info(logger, () -> String.format(
+                            "Updated Matching Workflow with workflowName = %s", model.getWorkflowName()));
+                        return ProgressEvent.progress(
+                            translateFromUpdateResponse(updateMatchingWorkflowResponse, workflowArn), context);
+                    });
+    }
 
-        try {
-            updateMatchingWorkflowResponse = proxy.injectCredentialsAndInvokeV2(updateMatchingWorkflowRequest,
-                client::updateMatchingWorkflow);
-            logger.log(
-                String.format("Updated Matching Workflow with workflowName = %s", requestModel.getWorkflowName()));
-
-            listTagsForResourceResponse = proxy.injectCredentialsAndInvokeV2(listTagsForResourceRequest,
-                client::listTagsForResource);
-            logger.log(String.format("Retrieve Tags for workflowName = %s", requestModel.getWorkflowName()));
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
-        }
+    private static ProgressEvent<ResourceModel, CallbackContext> skipWorkflowUpdate(
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger) {
+        final ResourceModel requestModel = progress.getResourceModel();
+        HandlerLogger.debug(logger, () -> String.format(
+            "No property changes for workflowName = %s, skipping update", requestModel.getWorkflowName()));
 
         final ResourceModel responseModel = ResourceModel.builder()
-                                                         .description(updateMatchingWorkflowResponse.description())
-                                                         .inputSourceConfig(
-                                                             Translator.translateToCfnInputSourceConfig(
-                                                                 updateMatchingWorkflowResponse.inputSourceConfig(),
-                                                                 Translator.toWorkflowArn(
-                                                                     request)))
-                                                         .outputSourceConfig(
-                                                             Translator.translateToCfnOutputSourceConfig(
-                                                                 updateMatchingWorkflowResponse.outputSourceConfig()))
-                                                         .resolutionTechniques(
-                                                             Translator.translateToCfnResolutionTechniques(
-                                                                 updateMatchingWorkflowResponse.resolutionTechniques()))
-                                                         .roleArn(updateMatchingWorkflowResponse.roleArn())
-                                                         .workflowName(updateMatchingWorkflowResponse.workflowName())
-                                                         .tags(Translator.mapTagsToSet(
-                                                             listTagsForResourceResponse.tags()))
+                                                         .description(requestModel.getDescription())
+                                                         .inputSourceConfig(requestModel.getInputSourceConfig())
+                                                         .outputSourceConfig(requestModel.getOutputSourceConfig())
+                                                         .resolutionTechniques(requestModel.getResolutionTechniques())
+                                                         .roleArn(requestModel.getRoleArn())
+                                                         .workflowName(requestModel.getWorkflowName())
+                                                         .workflowArn(requestModel.getWorkflowArn())
+                                                         .createdAt(requestModel.getCreatedAt())
+                                                         .updatedAt(requestModel.getUpdatedAt())
                                                          .build();
+        return ProgressEvent.progress(responseModel, progress.getCallbackContext());
+    }
+
+    /**
+     * Completes the update with the tags the workflow ended up with. The model is the one built from the update's
+     * response, or for a tag-only update from the desired state, never the request's own.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> readTags(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<EntityResolutionClient> proxyClient,
+        final ServiceInvoker invoker,
+        final String workflowArn,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger) {
+        return proxy.initiate(CALL_GRAPH + "::ListTagsForResource", proxyClient, progress.getResourceModel(),
+                        progress.getCallbackContext())
+                    .translateToServiceRequest(model -> ListTagsForResourceRequest.builder()
+                                                                                  .resourceArn(workflowArn)
+                                                                                  .build())
+                    .makeServiceCall((listTagsRequest, proxyInvocation) -> invoker.invoke(listTagsRequest,
+                        proxyInvocation.client()::listTagsForResource))
+                    .handleError(ExceptionTranslator::handleError)
+                    .done((listTagsRequest, listTagsForResourceResponse, proxyInvocation, model, context) -> {
+                        HandlerLogger.debug(logger, () -> String.format("Retrieve Tags for workflowName = %s",
+                            model.getWorkflowName()));
+                        model.setTags(Translator.mapTagsToSet(listTagsForResourceResponse.tags()));
+                        return ProgressEvent.defaultSuccessHandler(model);
+                    });
+    }
+
+    private static UpdateMatchingWorkflowRequest translateToUpdateRequest(final ResourceModel requestModel) {
+        return UpdateMatchingWorkflowRequest.builder()
+                                            .workflowName(
+                                                requestModel.getWorkflowName())
+                                            .description(
+                                                requestModel.getDescription())
+                                            .inputSourceConfig(
+                                                Translator.translateToVeniceInputSourceConfig(
+                                                    requestModel.getInputSourceConfig()))
+                                            .outputSourceConfig(
+                                                Translator.translateToVeniceOutputSourceConfig(
+                                                    requestModel.getOutputSourceConfig()))
+                                            .resolutionTechniques(
+                                                Translator.translateToVeniceResolutionTechniques(
+                                                    requestModel.getResolutionTechniques()))
+                                            .roleArn(
+                                                requestModel.getRoleArn())
+                                            .build();
+    }
 
-        return ProgressEvent.defaultSuccessHandler(responseModel);
+    private static ResourceModel translateFromUpdateResponse(
+        final UpdateMatchingWorkflowResponse updateMatchingWorkflowResponse,
+        final String workflowArn) {
+        return ResourceModel.builder()
+                            .description(updateMatchingWorkflowResponse.description())
+                            .inputSourceConfig(
+                                Translator.translateToCfnInputSourceConfig(
+                                    updateMatchingWorkflowResponse.inputSourceConfig(),
+                                    workflowArn))
+                            .outputSourceConfig(
+                                Translator.translateToCfnOutputSourceConfig(
+                                    updateMatchingWorkflowResponse.outputSourceConfig()))
+                            .resolutionTechniques(
+                                Translator.translateToCfnResolutionTechniques(
+                                    updateMatchingWorkflowResponse.resolutionTechniques()))
+                            .roleArn(updateMatchingWorkflowResponse.roleArn())
+                            .workflowName(updateMatchingWorkflowResponse.workflowName())
+                            .build();
     }
 }
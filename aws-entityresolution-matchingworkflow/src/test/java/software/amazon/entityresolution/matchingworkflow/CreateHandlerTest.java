@@ -2,18 +2,20 @@
 package software.amazon.entityresolution.matchingworkflow;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 
 import static software.amazon.entityresolution.matchingworkflow.CreateHandler.WORKFLOW_ALREADY_EXISTS_ERROR_MESSAGE;
 import static software.amazon.entityresolution.matchingworkflow.Translator.getNameFromArn;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -22,12 +24,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.document.Document;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
 import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.ConflictException;
 import software.amazon.awssdk.services.entityresolution.model.CreateMatchingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.CreateMatchingWorkflowResponse;
+import software.amazon.awssdk.services.entityresolution.model.EntityResolutionException;
 import software.amazon.awssdk.services.entityresolution.model.ExceedsLimitException;
 import software.amazon.awssdk.services.entityresolution.model.InputSource;
 import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
@@ -40,17 +44,16 @@ import software.amazon.awssdk.services.entityresolution.model.ProviderProperties
 import software.amazon.awssdk.services.entityresolution.model.IntermediateSourceConfiguration;
 import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
 import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
-import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
 
 import javax.print.Doc;
 
@@ -76,6 +79,8 @@ public class CreateHandlerTest {
     private static final List<String> MATCHING_KEYS = Arrays.asList("name", "address");
     private static final String RULE_NAME = "rule1";
     private static final String ROLE_ARN = "arn:aws:iam::123456789012:role/contracttest-StackRole-2EC2FS8R41SL";
+    private static final int FIRST_PROPAGATION_DELAY_SECONDS = 5;
+    private static final int MAX_PROPAGATION_DELAY_SECONDS = 60;
     private static final Map<String, String> DESIRED_TAGS = ImmutableMap.of("key1", "value1", "key2", "value2");
 
     @Mock
@@ -91,7 +96,9 @@ public class CreateHandlerTest {
 
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(), new Credentials("accessKeyId",
+            "secretAccessKey", "sessionToken"), DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY,
+            WaitStrategy.scheduleForCallbackStrategy()));
         client = mock(EntityResolutionClient.class);
         logger = mock(Logger.class);
 
@@ -118,6 +125,8 @@ public class CreateHandlerTest {
         final ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, null, logger);
 
+        ServiceCallBudget.CREATE.assertWithin(proxy);
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackContext()).isNull();
@@ -146,6 +155,39 @@ public class CreateHandlerTest {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+
+        // The create is issued directly, with no lookup beforehand.
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(), any());
+    }
+
+    @Test
+    public void handleRequest_retryWithSameToken_replaysCompletedCreate() {
+        final CreateHandler handler = new CreateHandler(client);
+
+        final CreateMatchingWorkflowResponse createMatchingWorkflowResponse = buildCreateMatchingWorkflowResponse();
+
+        Mockito.doReturn(createMatchingWorkflowResponse)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .clientRequestToken(UUID.randomUUID()
+                                                                                                            .toString())
+                                                                                    .desiredResourceTags(DESIRED_TAGS)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> retriedResponse =
+            new CreateHandler(client).handleRequest(proxy, request, null, logger);
+
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(), any());
+
+        assertThat(retriedResponse.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(retriedResponse.getResourceModel()).isEqualTo(response.getResourceModel());
     }
 
     @Test
@@ -312,8 +354,35 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnAlreadyExistsException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+    }
+
+    @Test
+    public void handlerRequest_serviceRejectsDuplicateName() {
+        final CreateHandler handler = new CreateHandler(client);
+        final ConflictException exception = ConflictException.builder()
+                                                             .message("MatchingWorkflow with name workflowName already exists")
+                                                             .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AlreadyExists);
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(), any());
     }
 
     @Test
@@ -331,8 +400,186 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
+
+    @Test
+    public void handleRequest_roleNotYetAssumable_returnsInProgress() {
+        final CreateHandler handler = new CreateHandler(client);
+        final AccessDeniedException exception = AccessDeniedException.builder()
+                                                                     .message("Unable to assume role " + ROLE_ARN)
+                                                                     .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_PROPAGATION_DELAY_SECONDS);
+        assertThat(response.getCallbackContext()).isNotNull();
+        assertThat(response.getResourceModel()).isEqualTo(model);
+    }
+
+    @Test
+    public void handleRequest_kmsKeyNotYetUsable_capsDelay() {
+        final CreateHandler handler = new CreateHandler(client);
+        final ValidationException exception = ValidationException.builder()
+                                                                 .message("KMS key " + KMS_ARN + " is not accessible")
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final List<Integer> delays = new ArrayList<>();
+        invokeUntilDone(handler, request, delays);
+
+        assertThat(delays).allMatch(delay -> delay <= MAX_PROPAGATION_DELAY_SECONDS)
+                          .contains(MAX_PROPAGATION_DELAY_SECONDS);
+    }
+
+    @Test
+    public void handleRequest_propagationWaitExhausted_failsNotStabilized() {
+        final CreateHandler handler = new CreateHandler(client);
+        final AccessDeniedException exception = AccessDeniedException.builder()
+                                                                     .message("Unable to assume role " + ROLE_ARN)
+                                                                     .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final List<Integer> delays = new ArrayList<>();
+        final ProgressEvent<ResourceModel, CallbackContext> response = invokeUntilDone(handler, request, delays);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        Mockito.verify(proxy, Mockito.times(delays.size() + 1))
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_kmsKeyDisabled_failsImmediately() {
+        final CreateHandler handler = new CreateHandler(client);
+        final ValidationException exception = ValidationException.builder()
+                                                                 .message("KMS key " + KMS_ARN + " is disabled")
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_roleNotAssumableByService_failsImmediately() {
+        final CreateHandler handler = new CreateHandler(client);
+        final ValidationException exception = ValidationException.builder()
+                                                                 .message("roleArn must be an IAM role the service can assume")
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_kmsPermissionMissing_failsImmediately() {
+        final CreateHandler handler = new CreateHandler(client);
+        final AccessDeniedException exception = AccessDeniedException.builder()
+                                                                     .message("User: " + ROLE_ARN + " is not authorized to perform: kms:GenerateDataKey")
+                                                                     .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
+
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_resumesAfterPropagation() {
+        final CreateHandler handler = new CreateHandler(client);
+
+        final CreateMatchingWorkflowResponse createMatchingWorkflowResponse = buildCreateMatchingWorkflowResponse();
+
+        final AccessDeniedException exception = AccessDeniedException.builder()
+                                                                     .message("Unable to assume role " + ROLE_ARN)
+                                                                     .build();
+
+        Mockito.doThrow(exception)
+               .doReturn(createMatchingWorkflowResponse)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> waiting =
+            handler.handleRequest(proxy, request, null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, waiting.getCallbackContext(), logger);
+
+        assertThat(waiting.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()
+                           .getWorkflowArn()).isEqualTo(WORKFLOW_ARN);
     }
 
     @Test
@@ -349,8 +596,11 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnAccessDeniedException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
 
     @Test
@@ -367,8 +617,11 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnServiceLimitExceededException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceLimitExceeded);
     }
 
     @Test
@@ -385,8 +638,11 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnServiceInternalErrorException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
     }
 
     @Test
@@ -403,12 +659,15 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_throwsOtherException() {
+    public void handleRequest_throwsThrottlingException() {
         final CreateHandler handler = new CreateHandler(client);
         ThrottlingException exception = ThrottlingException.builder()
                                                            .build();
@@ -421,8 +680,48 @@ public class CreateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnGeneralServiceException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+    }
+
+    @Test
+    public void handleRequest_throwsOtherException() {
+        final CreateHandler handler = new CreateHandler(client);
+        AwsServiceException exception = EntityResolutionException.builder()
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(CreateMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+    }
+
+    /**
+     * Invokes the handler the way CloudFormation does, handing each in-progress callback context back to it, until the
+     * operation completes. The callback delays asked for along the way are added to {@code delays}.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> invokeUntilDone(
+        final CreateHandler handler,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final List<Integer> delays) {
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null, logger);
+        while (response.getStatus() == OperationStatus.IN_PROGRESS) {
+            delays.add(response.getCallbackDelaySeconds());
+            response = handler.handleRequest(proxy, request, response.getCallbackContext(), logger);
+        }
+        return response;
     }
 
     private CreateMatchingWorkflowResponse buildCreateMatchingWorkflowResponse() {
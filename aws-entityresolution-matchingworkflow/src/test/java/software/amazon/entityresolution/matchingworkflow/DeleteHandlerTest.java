@@ -1,9 +1,9 @@
 package software.amazon.entityresolution.matchingworkflow;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,25 +11,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
 import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.DeleteMatchingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.DeleteMatchingWorkflowResponse;
+import software.amazon.awssdk.services.entityresolution.model.EntityResolutionException;
 import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
 import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
 
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest {
@@ -49,7 +51,9 @@ public class DeleteHandlerTest {
 
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(), new Credentials("accessKeyId",
+            "secretAccessKey", "sessionToken"), DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY,
+            WaitStrategy.scheduleForCallbackStrategy()));
         client = mock(EntityResolutionClient.class);
         logger = mock(Logger.class);
 
@@ -79,6 +83,8 @@ public class DeleteHandlerTest {
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request,
             new CallbackContext(), logger);
 
+        ServiceCallBudget.DELETE.assertWithin(proxy);
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
@@ -86,6 +92,31 @@ public class DeleteHandlerTest {
         assertThat(response.getResourceModels()).isNull();
     }
 
+    @Test
+    public void handleRequest_missingResource_skipsDelete() {
+        final DeleteHandler handler = new DeleteHandler(client);
+        final ResourceNotFoundException exception = ResourceNotFoundException.builder()
+                                                                             .message("MatchingWorkflow workflowName not found")
+                                                                             .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(response.getMessage()).contains("MatchingWorkflow workflowName not found");
+        Mockito.verify(proxy, Mockito.never())
+               .injectCredentialsAndInvokeV2(any(DeleteMatchingWorkflowRequest.class), any());
+    }
+
     @Test
     public void handleRequest_throwsAccessDeniedException() {
         final DeleteHandler handler = new DeleteHandler(client);
@@ -104,8 +135,11 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnAccessDeniedException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
 
     @Test
@@ -126,8 +160,11 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnNotFoundException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -148,8 +185,11 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnServiceInternalErrorException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
     }
 
     @Test
@@ -170,12 +210,15 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_throwsOtherException() {
+    public void handleRequest_throwsThrottlingException() {
         final DeleteHandler handler = new DeleteHandler(client);
         ThrottlingException exception = ThrottlingException.builder()
                                                            .build();
@@ -184,11 +227,39 @@ public class DeleteHandlerTest {
                .when(proxy)
                .injectCredentialsAndInvokeV2(any(DeleteMatchingWorkflowRequest.class), any());
 
+        Mockito.doReturn(null)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+    }
+
+    @Test
+    public void handleRequest_throwsOtherException() {
+        final DeleteHandler handler = new DeleteHandler(client);
+        AwsServiceException exception = EntityResolutionException.builder()
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(DeleteMatchingWorkflowRequest.class), any());
+
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnGeneralServiceException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
     }
 }
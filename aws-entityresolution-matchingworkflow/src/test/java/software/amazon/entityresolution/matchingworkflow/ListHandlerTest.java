@@ -1,20 +1,25 @@
 package software.amazon.entityresolution.matchingworkflow;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 
 import com.google.common.collect.Lists;
 import java.time.Instant;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
 import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.EntityResolutionException;
 import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListMatchingWorkflowsRequest;
 import software.amazon.awssdk.services.entityresolution.model.ListMatchingWorkflowsResponse;
@@ -22,16 +27,17 @@ import software.amazon.awssdk.services.entityresolution.model.MatchingWorkflowSu
 import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
 import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
+import software.amazon.entityresolution.common.ClientBuilder;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest {
@@ -53,11 +59,16 @@ public class ListHandlerTest {
     @Mock
     private Logger logger;
 
+    @Captor
+    private ArgumentCaptor<Supplier<EntityResolutionClient>> clients;
+
     private static ResourceModel model;
 
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(), new Credentials("accessKeyId",
+            "secretAccessKey", "sessionToken"), DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY,
+            WaitStrategy.scheduleForCallbackStrategy()));
         client = mock(EntityResolutionClient.class);
         logger = mock(Logger.class);
 
@@ -100,6 +111,8 @@ public class ListHandlerTest {
         final ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, null, logger);
 
+        ServiceCallBudget.LIST_PAGE.assertWithin(proxy);
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackContext()).isNull();
@@ -122,6 +135,49 @@ public class ListHandlerTest {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_reusesContainerClientAcrossInvocations() {
+        final ListHandler handler = new ListHandler();
+
+        Mockito.doReturn(ListMatchingWorkflowsResponse.builder()
+                                                      .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(ListMatchingWorkflowsRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .region("us-east-1")
+                                                                                    .build();
+
+        handler.handleRequest(proxy, request, null, logger);
+        handler.handleRequest(proxy, request, null, logger);
+        new ListHandler().handleRequest(proxy, request, null, logger);
+
+        Mockito.verify(proxy, Mockito.times(3))
+               .newProxy(clients.capture());
+        assertThat(clients.getAllValues()).allSatisfy(supplier -> assertThat(supplier.get()).isSameAs(
+            ClientBuilder.getClient("us-east-1")));
+    }
+
+    @Test
+    public void handleRequest_withoutDesiredResourceState() {
+        final ListHandler handler = new ListHandler(client);
+
+        Mockito.doReturn(ListMatchingWorkflowsResponse.builder()
+                                                      .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(ListMatchingWorkflowsRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).isEmpty();
+    }
+
     @Test
     public void handleRequest_throwsAccessDeniedException() {
         final ListHandler handler = new ListHandler(client);
@@ -136,8 +192,11 @@ public class ListHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnAccessDeniedException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
 
     @Test
@@ -154,8 +213,11 @@ public class ListHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnNotFoundException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -172,8 +234,11 @@ public class ListHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnServiceInternalErrorException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
     }
 
     @Test
@@ -190,12 +255,15 @@ public class ListHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_throwsOtherException() {
+    public void handleRequest_throwsThrottlingException() {
         final ListHandler handler = new ListHandler(client);
         ThrottlingException exception = ThrottlingException.builder()
                                                            .build();
@@ -208,7 +276,31 @@ public class ListHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnGeneralServiceException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+    }
+
+    @Test
+    public void handleRequest_throwsOtherException() {
+        final ListHandler handler = new ListHandler(client);
+        AwsServiceException exception = EntityResolutionException.builder()
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(ListMatchingWorkflowsRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
     }
 }
@@ -1,9 +1,9 @@
 package software.amazon.entityresolution.matchingworkflow;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static software.amazon.entityresolution.matchingworkflow.Translator.getNameFromArn;
 
 import com.google.common.collect.ImmutableMap;
@@ -11,14 +11,19 @@ import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
 import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.EntityResolutionException;
 import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
 import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowResponse;
 import software.amazon.awssdk.services.entityresolution.model.InputSource;
@@ -33,16 +38,16 @@ import software.amazon.awssdk.services.entityresolution.model.Rule;
 import software.amazon.awssdk.services.entityresolution.model.RuleBasedProperties;
 import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
 import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
 
 @ExtendWith(MockitoExtension.class)
 public class ReadHandlerTest {
@@ -79,7 +84,9 @@ public class ReadHandlerTest {
 
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(), new Credentials("accessKeyId",
+            "secretAccessKey", "sessionToken"), DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY,
+            WaitStrategy.scheduleForCallbackStrategy()));
         client = mock(EntityResolutionClient.class);
         logger = mock(Logger.class);
 
@@ -159,6 +166,8 @@ public class ReadHandlerTest {
         final ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, null, logger);
 
+        ServiceCallBudget.READ.assertWithin(proxy);
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackContext()).isNull();
@@ -205,8 +214,11 @@ public class ReadHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnAccessDeniedException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
 
     @Test
@@ -223,8 +235,11 @@ public class ReadHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnNotFoundException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -241,8 +256,11 @@ public class ReadHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnServiceInternalErrorException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
     }
 
     @Test
@@ -259,12 +277,15 @@ public class ReadHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_throwsOtherException() {
+    public void handleRequest_throwsThrottlingException() {
         final ReadHandler handler = new ReadHandler(client);
         ThrottlingException exception = ThrottlingException.builder()
                                                            .build();
@@ -277,7 +298,134 @@ public class ReadHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnGeneralServiceException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+    }
+
+    @Test
+    public void handleRequest_throwsOtherException() {
+        final ReadHandler handler = new ReadHandler(client);
+        AwsServiceException exception = EntityResolutionException.builder()
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetMatchingWorkflowRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+    }
+
+    @Test
+    public void handleRequest_issuesGetAndListTagsConcurrently() {
+        final ReadHandler handler = new ReadHandler(client);
+        final CountDownLatch bothCallsInFlight = new CountDownLatch(2);
+
+        final GetMatchingWorkflowResponse getMatchingWorkflowResponse = GetMatchingWorkflowResponse.builder()
+                                                                                                   .createdAt(TIME)
+                                                                                                   .workflowArn(WORKFLOW_ARN)
+                                                                                                   .workflowName(WORKFLOW_NAME)
+                                                                                                   .updatedAt(TIME)
+                                                                                                   .build();
+        final ListTagsForResourceResponse listTagsForResourceResponse = ListTagsForResourceResponse.builder()
+                                                                                                   .tags(DESIRED_TAGS)
+                                                                                                   .build();
+
+        Mockito.doAnswer(invocation -> awaitOtherCall(bothCallsInFlight, getMatchingWorkflowResponse))
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetMatchingWorkflowRequest.class), any());
+        Mockito.doAnswer(invocation -> awaitOtherCall(bothCallsInFlight, listTagsForResourceResponse))
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()
+                           .getTags()).isEqualTo(Translator.mapTagsToSet(DESIRED_TAGS));
+    }
+
+    @Test
+    public void handleRequest_listTagsThrowsResourceNotFoundException() {
+        final ReadHandler handler = new ReadHandler(client);
+        final GetMatchingWorkflowResponse getMatchingWorkflowResponse = GetMatchingWorkflowResponse.builder()
+                                                                                                   .build();
+        ResourceNotFoundException exception = ResourceNotFoundException.builder()
+                                                                       .build();
+
+        Mockito.doReturn(getMatchingWorkflowResponse)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetMatchingWorkflowRequest.class), any());
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void handleRequest_getFails_waitsForListTagsBeforePublishingMetrics() {
+        final ReadHandler handler = new ReadHandler(client);
+        final CountDownLatch getFailed = new CountDownLatch(1);
+
+        Mockito.doAnswer(invocation -> {
+                   getFailed.countDown();
+                   throw ResourceNotFoundException.builder()
+                                                  .build();
+               })
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetMatchingWorkflowRequest.class), any());
+        Mockito.doAnswer(invocation -> awaitOtherCall(getFailed, ListTagsForResourceResponse.builder()
+                                                                                          .build()))
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+
+        // ListTagsForResource was still in flight when the Get failed, and is published with the invocation's metrics.
+        final ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(logger, Mockito.atLeastOnce())
+               .log(published.capture());
+        assertThat(published.getAllValues()).anyMatch(
+            document -> document.contains("\"Operation\":\"ListTagsForResource\""));
+    }
+
+    private static <T> T awaitOtherCall(final CountDownLatch latch, final T result) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            throw new AssertionError("Get and ListTagsForResource were not in flight at the same time");
+        }
+        return result;
     }
 }
@@ -0,0 +1,98 @@
+package software.amazon.entityresolution.matchingworkflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import software.amazon.entityresolution.common.ResourceModelComparator;
+
+public class ResourceModelComparatorTest {
+
+    private static final String OTHER_INPUT_SOURCE_ARN = "arn:aws:glue:us-east-1:123456789012:table/db/other";
+    private static final ResourceModelComparator<ResourceModel> COMPARATOR =
+        new ResourceModelComparator<>(new Configuration().resourceSchemaJSONObject());
+
+    @Test
+    public void testIdenticalModelsAreEquivalent() {
+        assertThat(COMPARATOR.hasSameProperties(SnapStartPriming.sampleModel(),
+            SnapStartPriming.sampleModel())).isTrue();
+    }
+
+    @Test
+    public void testTagsAndReadOnlyPropertiesAreIgnored() {
+        final ResourceModel previousModel = SnapStartPriming.sampleModel();
+        previousModel.setTags(Collections.singleton(Tag.builder()
+                                                       .key("key")
+                                                       .value("value")
+                                                       .build()));
+        previousModel.setWorkflowArn("arn:aws:entityresolution:us-east-1:123456789012:matchingworkflow/name");
+        previousModel.setUpdatedAt("2023-11-06T00:00:00Z");
+
+        assertThat(COMPARATOR.hasSameProperties(previousModel, SnapStartPriming.sampleModel())).isTrue();
+    }
+
+    @Test
+    public void testReorderedUnorderedArraysAreEquivalent() {
+        final ResourceModel previousModel = withSecondInputSource(SnapStartPriming.sampleModel());
+        final ResourceModel desiredModel = withSecondInputSource(SnapStartPriming.sampleModel());
+        Collections.reverse(desiredModel.getInputSourceConfig());
+        final Rule rule = desiredModel.getResolutionTechniques()
+                                      .getRuleBasedProperties()
+                                      .getRules()
+                                      .get(0);
+        final List<String> matchingKeys = new ArrayList<>(rule.getMatchingKeys());
+        Collections.reverse(matchingKeys);
+        rule.setMatchingKeys(matchingKeys);
+
+        assertThat(COMPARATOR.hasSameProperties(previousModel, desiredModel)).isTrue();
+    }
+
+    @Test
+    public void testChangedPropertiesAreDetected() {
+        final ResourceModel changedDescription = SnapStartPriming.sampleModel();
+        changedDescription.setDescription("changed");
+        final ResourceModel changedMatchingKey = SnapStartPriming.sampleModel();
+        changedMatchingKey.getResolutionTechniques()
+                          .getRuleBasedProperties()
+                          .getRules()
+                          .get(0)
+                          .setMatchingKeys(Arrays.asList("email", "address"));
+
+        assertThat(COMPARATOR.hasSameProperties(SnapStartPriming.sampleModel(),
+            changedDescription)).isFalse();
+        assertThat(COMPARATOR.hasSameProperties(SnapStartPriming.sampleModel(),
+            changedMatchingKey)).isFalse();
+    }
+
+    @Test
+    public void testMissingModelIsNeverEquivalent() {
+        assertThat(COMPARATOR.hasSameProperties(null, SnapStartPriming.sampleModel())).isFalse();
+        assertThat(COMPARATOR.hasSameProperties(SnapStartPriming.sampleModel(), null)).isFalse();
+    }
+
+    @Test
+    public void testArraysAreOrderedUnlessTheSchemaSaysOtherwise() {
+        final JSONObject schema = new JSONObject().put("properties", new JSONObject().put("InputSourceConfig",
+            new JSONObject().put("type", "array")));
+        final ResourceModel previousModel = withSecondInputSource(SnapStartPriming.sampleModel());
+        final ResourceModel desiredModel = withSecondInputSource(SnapStartPriming.sampleModel());
+        Collections.reverse(desiredModel.getInputSourceConfig());
+
+        assertThat(new ResourceModelComparator<ResourceModel>(schema).hasSameProperties(previousModel, desiredModel)).isFalse();
+    }
+
+    private static ResourceModel withSecondInputSource(final ResourceModel model) {
+        final List<InputSource> inputSources = new ArrayList<>(model.getInputSourceConfig());
+        inputSources.add(InputSource.builder()
+                                    .inputSourceARN(OTHER_INPUT_SOURCE_ARN)
+                                    .schemaArn(inputSources.get(0)
+                                                           .getSchemaArn())
+                                    .build());
+        model.setInputSourceConfig(inputSources);
+        return model;
+    }
+}
@@ -0,0 +1,36 @@
+package software.amazon.entityresolution.matchingworkflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.entityresolution.common.ClientBuilder;
+
+public class SnapStartPrimingTest {
+
+    @Test
+    public void testPrimeWithoutNetwork() {
+        // Nothing listens on this endpoint, so priming only succeeds if it never calls the service.
+        System.setProperty(ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY, "http://localhost:1");
+        try {
+            assertThatCode(() -> SnapStartPriming.prime("ca-central-1")).doesNotThrowAnyException();
+        } finally {
+            System.clearProperty(ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY);
+        }
+
+        assertThat(ClientBuilder.getClient("ca-central-1")
+                                .serviceClientConfiguration()
+                                .endpointOverride()).isPresent();
+    }
+
+    @Test
+    public void testSampleModelCoversEveryTranslatorPath() {
+        final ResourceModel model = SnapStartPriming.sampleModel();
+
+        assertThat(model.getInputSourceConfig()).isNotEmpty();
+        assertThat(model.getOutputSourceConfig()).allSatisfy(output -> assertThat(output.getOutput()).isNotEmpty());
+        assertThat(model.getResolutionTechniques()
+                        .getRuleBasedProperties()
+                        .getRules()).isNotEmpty();
+    }
+}
@@ -0,0 +1,178 @@
+package software.amazon.entityresolution.matchingworkflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.document.Document;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+
+public class TranslatorTest {
+
+    private static final String WORKFLOW_ARN = "arn:aws:entityresolution:us-east-1:123456789012:matchingworkflow/name";
+    private static final String SCHEMA_ARN = "arn:aws:entityresolution:us-east-1:123456789012:schemamapping/schema";
+    private static final String INPUT_SOURCE_ARN = "arn:aws:glue:us-east-1:123456789012:table/database/table";
+    private static final String OUTPUT_S3_PATH = "s3://bucket/output/";
+    private static final String KMS_ARN = "arn:aws:kms:us-east-1:123456789012:key/key";
+    private static final String PROVIDER_SERVICE_ARN = "arn:aws:entityresolution:us-east-1::providerservice/p/s";
+    private static final Map<String, String> PROVIDER_CONFIGURATION = ImmutableMap.of("key1", "value1", "key2",
+        "value2");
+
+    @Test
+    public void testTranslateNullSources() {
+        assertThat(Translator.translateToVeniceInputSourceConfig(null)).isNull();
+        assertThat(Translator.translateToCfnInputSourceConfig(null, WORKFLOW_ARN)).isNull();
+        assertThat(Translator.translateToVeniceOutputSourceConfig(null)).isNull();
+        assertThat(Translator.translateToCfnOutputSourceConfig(null)).isNull();
+        assertThat(Translator.translateToVeniceResolutionTechniques(null)).isNull();
+        assertThat(Translator.translateToCfnResolutionTechniques(null)).isNull();
+    }
+
+    @Test
+    public void testInputSourceRoundTrip() {
+        final List<InputSource> source = Arrays.asList(InputSource.builder()
+                                                                  .inputSourceARN(INPUT_SOURCE_ARN)
+                                                                  .schemaArn(SCHEMA_ARN)
+                                                                  .applyNormalization(true)
+                                                                  .build(),
+            InputSource.builder()
+                       .inputSourceARN(INPUT_SOURCE_ARN + "2")
+                       .schemaArn(SCHEMA_ARN)
+                       .build());
+
+        final List<software.amazon.awssdk.services.entityresolution.model.InputSource> venice =
+            Translator.translateToVeniceInputSourceConfig(source);
+
+        assertThat(venice).extracting(software.amazon.awssdk.services.entityresolution.model.InputSource::schemaName)
+                          .containsExactly("schema", "schema");
+        assertThat(Translator.translateToCfnInputSourceConfig(venice, WORKFLOW_ARN)).isEqualTo(source);
+    }
+
+    @Test
+    public void testInputSourceRejectsArnOfAnotherResourceType() {
+        final List<InputSource> source = Collections.singletonList(InputSource.builder()
+                                                                              .inputSourceARN(INPUT_SOURCE_ARN)
+                                                                              .schemaArn(WORKFLOW_ARN)
+                                                                              .build());
+
+        assertThrows(CfnInvalidRequestException.class, () -> Translator.translateToVeniceInputSourceConfig(source));
+    }
+
+    @Test
+    public void testOutputSourceRoundTrip() {
+        final List<OutputSource> source = Collections.singletonList(OutputSource.builder()
+                                                                                .outputS3Path(OUTPUT_S3_PATH)
+                                                                                .kMSArn(KMS_ARN)
+                                                                                .applyNormalization(false)
+                                                                                .output(Arrays.asList(
+                                                                                    OutputAttribute.builder()
+                                                                                                   .name("name")
+                                                                                                   .hashed(false)
+                                                                                                   .build(),
+                                                                                    OutputAttribute.builder()
+                                                                                                   .name("email")
+                                                                                                   .hashed(true)
+                                                                                                   .build()))
+                                                                                .build());
+
+        final List<software.amazon.awssdk.services.entityresolution.model.OutputSource> venice =
+            Translator.translateToVeniceOutputSourceConfig(source);
+
+        assertThat(venice.get(0)
+                         .output()).hasSize(2);
+        assertThat(Translator.translateToCfnOutputSourceConfig(venice)).isEqualTo(source);
+    }
+
+    @Test
+    public void testOutputSourceWithoutOutputAttributes() {
+        final List<OutputSource> source = Collections.singletonList(OutputSource.builder()
+                                                                                .outputS3Path(OUTPUT_S3_PATH)
+                                                                                .build());
+
+        final List<software.amazon.awssdk.services.entityresolution.model.OutputSource> venice =
+            Translator.translateToVeniceOutputSourceConfig(source);
+
+        assertThat(venice.get(0)
+                         .hasOutput()).isFalse();
+        assertThat(Translator.translateToCfnOutputSourceConfig(venice)
+                             .get(0)
+                             .getOutput()).isEmpty();
+    }
+
+    @Test
+    public void testRuleBasedResolutionTechniquesRoundTrip() {
+        final ResolutionTechniques source = ResolutionTechniques.builder()
+                                                                .resolutionType("RULE_MATCHING")
+                                                                .ruleBasedProperties(RuleBasedProperties.builder()
+                                                                                                        .attributeMatchingModel(
+                                                                                                            "ONE_TO_ONE")
+                                                                                                        .rules(
+                                                                                                            Arrays.asList(
+                                                                                                                Rule.builder()
+                                                                                                                    .ruleName(
+                                                                                                                        "rule1")
+                                                                                                                    .matchingKeys(
+                                                                                                                        Arrays.asList(
+                                                                                                                            "key1",
+                                                                                                                            "key2"))
+                                                                                                                    .build(),
+                                                                                                                Rule.builder()
+                                                                                                                    .ruleName(
+                                                                                                                        "rule2")
+                                                                                                                    .matchingKeys(
+                                                                                                                        Collections.singletonList(
+                                                                                                                            "key3"))
+                                                                                                                    .build()))
+                                                                                                        .build())
+                                                                .build();
+
+        final software.amazon.awssdk.services.entityresolution.model.ResolutionTechniques venice =
+            Translator.translateToVeniceResolutionTechniques(source);
+
+        assertThat(venice.ruleBasedProperties()
+                         .rules()).hasSize(2);
+        assertThat(Translator.translateToCfnResolutionTechniques(venice)).isEqualTo(source);
+    }
+
+    @Test
+    public void testProviderResolutionTechniquesRoundTrip() {
+        final ResolutionTechniques source = ResolutionTechniques.builder()
+                                                                .resolutionType("PROVIDER")
+                                                                .providerProperties(ProviderProperties.builder()
+                                                                                                      .providerServiceArn(
+                                                                                                          PROVIDER_SERVICE_ARN)
+                                                                                                      .providerConfiguration(
+                                                                                                          PROVIDER_CONFIGURATION)
+                                                                                                      .intermediateSourceConfiguration(
+                                                                                                          IntermediateSourceConfiguration.builder()
+                                                                                                                                         .intermediateS3Path(
+                                                                                                                                             OUTPUT_S3_PATH)
+                                                                                                                                         .build())
+                                                                                                      .build())
+                                                                .build();
+
+        final software.amazon.awssdk.services.entityresolution.model.ResolutionTechniques venice =
+            Translator.translateToVeniceResolutionTechniques(source);
+
+        assertThat(venice.providerProperties()
+                         .providerConfiguration()).isEqualTo(Document.fromMap(ImmutableMap.of(
+            "key1", Document.fromString("value1"),
+            "key2", Document.fromString("value2"))));
+        assertThat(Translator.translateToCfnResolutionTechniques(venice)).isEqualTo(source);
+    }
+
+    @Test
+    public void testMlMatchingResolutionTechniquesRoundTrip() {
+        final ResolutionTechniques source = ResolutionTechniques.builder()
+                                                                .resolutionType("ML_MATCHING")
+                                                                .build();
+
+        assertThat(Translator.translateToCfnResolutionTechniques(
+            Translator.translateToVeniceResolutionTechniques(source))).isEqualTo(source);
+    }
+}
@@ -1,34 +1,41 @@
 package software.amazon.entityresolution.schemamapping;
 
+import java.util.Locale;
 import java.util.Map;
 import lombok.NoArgsConstructor;
+import software.amazon.awssdk.awscore.AwsRequest;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.ConflictException;
 import software.amazon.awssdk.services.entityresolution.model.CreateSchemaMappingRequest;
 import software.amazon.awssdk.services.entityresolution.model.CreateSchemaMappingResponse;
-import software.amazon.awssdk.services.entityresolution.model.ExceedsLimitException;
-import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingRequest;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
+import software.amazon.cloudformation.Action;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
-import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ReplayCache;
+import software.amazon.entityresolution.common.ServiceInvoker;
 
 @NoArgsConstructor
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     public static final String SCHEMA_ALREADY_EXISTS_ERROR_MESSAGE = "SchemaMapping already exists";
 
+    private static final String ALREADY_EXISTS = "already exists";
+
+    private static final String CALL_GRAPH = "AWS-EntityResolution-SchemaMapping::Create";
+
+    /**
+     * Creates this container completed, so that a retried create is answered without calling the service again.
+     */
+    private static final ReplayCache<ResourceModel, CallbackContext> COMPLETED = new ReplayCache<>();
+
     private EntityResolutionClient client;
 
     public CreateHandler(EntityResolutionClient client) {
@@ -42,11 +49,34 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
+        final ProgressEvent<ResourceModel, CallbackContext> replayed =
+            COMPLETED.replay(Action.CREATE, request, logger);
+        if (replayed != null) {
+            return replayed;
+        }
+
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return COMPLETED.record(Action.CREATE, request,
+                handleRequest(proxy, invoker, request, callbackContext, logger));
+        } finally {
+            invoker.publishMetrics(logger);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ServiceInvoker invoker,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+
         if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+            this.client = ClientBuilder.getClient(request.getRegion());
         }
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
 
         final Map<String, String> resourceTags;
         if (request.getDesiredResourceTags() == null || request.getDesiredResourceTags()
@@ -56,79 +86,58 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             resourceTags = request.getDesiredResourceTags();
         }
 
-        final CreateSchemaMappingRequest createSchemaMappingRequest = CreateSchemaMappingRequest.builder()
-                                                                                                .description(
-                                                                                                    requestModel.getDescription())
-                                                                                                .mappedInputFields(
-                                                                                                    Translator.translateFromInternalSchemaInputAttributes(
-                                                                                                        requestModel.getMappedInputFields()))
-                                                                                                .schemaName(
-                                                                                                    requestModel.getSchemaName())
-                                                                                                .tags(resourceTags)
-                                                                                                .build();
+        return proxy.initiate(CALL_GRAPH, proxyClient, request.getDesiredResourceState(), context)
+                    .translateToServiceRequest(model -> CreateSchemaMappingRequest.builder()
+                                                                                  .description(
+                                                                                      model.getDescription())
+                                                                                  .mappedInputFields(
+                                                                                      Translator.translateFromInternalSchemaInputAttributes(
+                                                                                          model.getMappedInputFields()))
+                                                                                  .schemaName(
+                                                                                      model.getSchemaName())
+                                                                                  .tags(resourceTags)
+                                                                                  .build())
+                    .makeServiceCall((createRequest, proxyInvocation) -> invoker.invoke(createRequest,
+                        proxyInvocation.client()::createSchemaMapping))
+                    .handleError((createRequest, e, proxyInvocation, model, handlerContext) ->
+                        handleCreateError(createRequest, e))
+                    .done(createSchemaMappingResponse -> {
+                        HandlerLogger.info(logger, () -> String.format("Created SchemaMapping with schemaName = %s",
+                            createSchemaMappingResponse.schemaName()));
+                        return ProgressEvent.defaultSuccessHandler(translateFromCreateResponse(
+                            createSchemaMappingResponse));
+                    });
+    }
 
-        final CreateSchemaMappingResponse createSchemaMappingResponse;
+    private static ResourceModel translateFromCreateResponse(
+        final CreateSchemaMappingResponse createSchemaMappingResponse) {
+        return ResourceModel.builder()
+                            .description(createSchemaMappingResponse.description())
+                            .mappedInputFields(
+                                Translator.translateToInternalSchemaInputAttributes(
+                                    createSchemaMappingResponse.mappedInputFields()))
+                            .schemaArn(createSchemaMappingResponse.schemaArn())
+                            .schemaName(createSchemaMappingResponse.schemaName())
+                            .build();
+    }
 
-        try {
-            checkIfSchemaExists(proxy, requestModel);
-
-            createSchemaMappingResponse = proxy.injectCredentialsAndInvokeV2(createSchemaMappingRequest,
-                client::createSchemaMapping);
-
-            logger.log(String.format("Created SchemaMapping with schemaName = %s", requestModel.getSchemaName()));
-        } catch (final ConflictException e) {
-            if (e.getMessage() != null && e.getMessage()
-                                           .contains(SCHEMA_ALREADY_EXISTS_ERROR_MESSAGE)) {
-                throw new CfnAlreadyExistsException(e);
-            }
-            throw new CfnInvalidRequestException(e);
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ExceedsLimitException e) {
-            throw new CfnServiceLimitExceededException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
+    private static ProgressEvent<ResourceModel, CallbackContext> handleCreateError(
+        final AwsRequest createRequest,
+        final Exception e) {
+        if (e instanceof ConflictException) {
+            return ExceptionTranslator.failure(isAlreadyExists((ConflictException) e)
+                ? new CfnAlreadyExistsException(e) : new CfnInvalidRequestException(e));
         }
-
-        final ResourceModel responseModel = ResourceModel.builder()
-                                                         .description(createSchemaMappingResponse.description())
-                                                         .mappedInputFields(
-                                                             Translator.translateToInternalSchemaInputAttributes(
-                                                                 createSchemaMappingResponse.mappedInputFields()))
-                                                         .schemaArn(createSchemaMappingResponse.schemaArn())
-                                                         .schemaName(createSchemaMappingResponse.schemaName())
-                                                         .build();
-
-        return ProgressEvent.defaultSuccessHandler(responseModel);
+        return ExceptionTranslator.retryOrFail(createRequest, e);
     }
 
     /**
-     * This helper function is used in order to pass Contract Test - test_create_create.
-     *
-     * To honor handler contract, if a resource is successfully created, a subsequent CREATE request with same
-     * parameters must throw "AlreadyExists" exception.
+     * Lets the service report a duplicate schema name, instead of looking the name up before every create. This keeps
+     * contract test test_create_create passing: a second create with the same name must fail with AlreadyExists.
      */
-    private void checkIfSchemaExists(
-        final AmazonWebServicesClientProxy proxy,
-        final ResourceModel requestModel) {
-
-        final GetSchemaMappingRequest getSchemaMappingRequest = GetSchemaMappingRequest.builder()
-                                                                                       .schemaName(
-                                                                                           requestModel
-                                                                                               .getSchemaName())
-                                                                                       .build();
-
-        try {
-            proxy.injectCredentialsAndInvokeV2(getSchemaMappingRequest, client::getSchemaMapping);
-        } catch (final Exception e) {
-            return;
-        }
-        throw ConflictException.builder()
-                               .message(SCHEMA_ALREADY_EXISTS_ERROR_MESSAGE)
-                               .build();
+    private static boolean isAlreadyExists(final ConflictException e) {
+        return e.getMessage() != null && e.getMessage()
+                                          .toLowerCase(Locale.ROOT)
+                                          .contains(ALREADY_EXISTS);
     }
 }
@@ -1,29 +1,51 @@
 package software.amazon.entityresolution.schemamapping;
 
+import java.time.Duration;
 import lombok.NoArgsConstructor;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.core.exception.RetryableException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.ConflictException;
 import software.amazon.awssdk.services.entityresolution.model.DeleteSchemaMappingRequest;
 import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingRequest;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.Action;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Delay;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.delay.CappedExponential;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ReplayCache;
+import software.amazon.entityresolution.common.ServiceInvoker;
 
 @NoArgsConstructor
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-SchemaMapping::Delete";
+
+    public static final String WORKFLOWS_ASSOCIATED_ERROR_MESSAGE =
+        "Schema currently has Workflow(s) associated with it";
+
+    /**
+     * Waits between deletes refused because workflows still use the schema mapping: from 5 seconds, doubling up to a
+     * minute, for about seven minutes in all.
+     */
+    static final Delay WORKFLOW_WAIT_DELAY = CappedExponential.of()
+                                                              .minDelay(Duration.ofSeconds(5))
+                                                              .maxDelay(Duration.ofSeconds(60))
+                                                              .powerBy(2.0)
+                                                              .timeout(Duration.ofMinutes(8))
+                                                              .build();
+
+    /**
+     * Deletes this container completed, so that a retried delete is answered without calling the service again.
+     */
+    private static final ReplayCache<ResourceModel, CallbackContext> COMPLETED = new ReplayCache<>();
+
     private EntityResolutionClient client;
 
     public DeleteHandler(EntityResolutionClient client) {
@@ -37,63 +59,109 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ProgressEvent<ResourceModel, CallbackContext> replayed =
+            COMPLETED.replay(Action.DELETE, request, logger);
+        if (replayed != null) {
+            return replayed;
         }
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return COMPLETED.record(Action.DELETE, request,
+                handleRequest(proxy, invoker, request, callbackContext, logger));
+        } finally {
+            invoker.publishMetrics(logger);
+        }
+    }
 
-        final DeleteSchemaMappingRequest deleteSchemaMappingRequest = DeleteSchemaMappingRequest.builder()
-                                                                                                .schemaName(
-                                                                                                    requestModel.getSchemaName())
-                                                                                                .build();
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ServiceInvoker invoker,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
-        try {
-            checkIfSchemaExists(proxy, requestModel);
-
-            proxy.injectCredentialsAndInvokeV2(deleteSchemaMappingRequest,
-                client::deleteSchemaMapping);
-            logger.log(String.format("Deleted Schema Mapping with schemaName = %s", requestModel.getSchemaName()));
-        } catch (final ConflictException e) {
-            logger.log(String.format("Schema currently has Workflow(s) associated with it"));
-            throw new CfnInternalFailureException(e);
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
         }
 
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                            .resourceModel(null)
-                            .status(OperationStatus.SUCCESS)
-                            .build();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
+
+        return ProgressEvent.progress(request.getDesiredResourceState(), context)
+                            .then(progress -> checkIfSchemaMappingExists(proxy, proxyClient, invoker, progress))
+                            .then(progress -> deleteSchemaMapping(proxy, proxyClient, invoker, progress, logger));
     }
 
     /**
-     * This helper function is used in order to pass Contract Test - test_delete_delete.
-     *
-     * To honor handler contract, if a resource is successfully delete, a subsequent DELETE request with same parameter
-     * must throw "ResourceNotFound" exception.
+     * DeleteSchemaMapping succeeds even for a schema name that does not exist, with a response that cannot be told
+     * apart from a real delete. The handler contract (contract test test_delete_delete) needs NotFound in that case, so
+     * the schema mapping is looked up before it is deleted.
      */
-    private void checkIfSchemaExists(
+    private static ProgressEvent<ResourceModel, CallbackContext> checkIfSchemaMappingExists(
         final AmazonWebServicesClientProxy proxy,
-        final ResourceModel requestModel) {
-        final GetSchemaMappingRequest getSchemaMappingRequest = GetSchemaMappingRequest.builder()
-                                                                                       .schemaName(
-                                                                                           requestModel.getSchemaName())
-                                                                                       .build();
+        final ProxyClient<EntityResolutionClient> proxyClient,
+        final ServiceInvoker invoker,
+        final ProgressEvent<ResourceModel, CallbackContext> progress) {
+        return proxy.initiate(CALL_GRAPH + "::GetSchemaMapping", proxyClient, progress.getResourceModel(),
+                        progress.getCallbackContext())
+                    .translateToServiceRequest(model -> GetSchemaMappingRequest.builder()
+                                                                               .schemaName(
+                                                                                   model.getSchemaName())
+                                                                               .build())
+                    .makeServiceCall((getRequest, proxyInvocation) -> invoker.invoke(getRequest,
+                        proxyInvocation.client()::getSchemaMapping))
+                    .handleError(ExceptionTranslator::handleError)
+                    .progress();
+    }
 
-        try {
-            proxy.injectCredentialsAndInvokeV2(getSchemaMappingRequest, client::getSchemaMapping);
-        } catch (final ResourceNotFoundException e) {
-            throw ResourceNotFoundException.builder()
-                                           .build();
+    private static ProgressEvent<ResourceModel, CallbackContext> deleteSchemaMapping(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<EntityResolutionClient> proxyClient,
+        final ServiceInvoker invoker,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger) {
+        return proxy.initiate(CALL_GRAPH, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+                    .translateToServiceRequest(model -> DeleteSchemaMappingRequest.builder()
+                                                                                  .schemaName(
+                                                                                      model.getSchemaName())
+                                                                                  .build())
+                    .backoffDelay(WORKFLOW_WAIT_DELAY)
+                    .makeServiceCall((deleteRequest, proxyInvocation) -> invoker.invoke(deleteRequest,
+                        proxyInvocation.client()::deleteSchemaMapping))
+                    .handleError((deleteRequest, e, proxyInvocation, model, context) ->
+                        handleDeleteError(deleteRequest, e, model, logger))
+                    .done((deleteRequest, deleteResponse, proxyInvocation, model, context) -> {
+                        HandlerLogger.info(logger, () -> String.format(
+                            "Deleted Schema Mapping with schemaName = %s", model.getSchemaName()));
+                        return ProgressEvent.defaultSuccessHandler(null);
+                    });
+    }
+
+    /**
+     * A stack teardown deletes a schema mapping and the workflows using it in parallel, and the service refuses to
+     * delete the schema mapping with a {@link ConflictException} until those workflows are gone. Rather than failing,
+     * the delete is handed back to the call chain, which retries it on a later invocation after a
+     * {@link #WORKFLOW_WAIT_DELAY} wait, and fails it as NotStabilized once the waits run out. Any other conflict fails
+     * the delete right away.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> handleDeleteError(
+        final AwsRequest deleteRequest,
+        final Exception e,
+        final ResourceModel model,
+        final Logger logger) {
+        if (e instanceof ConflictException && hasWorkflowsAssociated((ConflictException) e)) {
+            HandlerLogger.info(logger, () -> String.format(
+                "Waiting for the workflows using schemaName = %s to be deleted", model.getSchemaName()));
+            throw RetryableException.builder()
+                                    .cause(e)
+                                    .build();
         }
+        return ExceptionTranslator.retryOrFail(deleteRequest, e);
+    }
+
+    private static boolean hasWorkflowsAssociated(final ConflictException e) {
+        return e.getMessage() != null && e.getMessage()
+                                          .contains(WORKFLOWS_ASSOCIATED_ERROR_MESSAGE);
     }
 }
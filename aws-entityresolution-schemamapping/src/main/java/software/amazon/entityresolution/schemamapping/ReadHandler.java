@@ -1,28 +1,28 @@
 package software.amazon.entityresolution.schemamapping;
 
+import java.util.concurrent.CompletableFuture;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingRequest;
 import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingResponse;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ServiceCallExecutor;
+import software.amazon.entityresolution.common.ServiceInvoker;
 
 @NoArgsConstructor
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-SchemaMapping::Read";
+
     private EntityResolutionClient client;
 
     public ReadHandler(EntityResolutionClient client) {
@@ -36,62 +36,102 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return handleRequest(proxy, invoker, request, callbackContext, logger);
+        } finally {
+            invoker.publishMetrics(logger);
         }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ServiceInvoker invoker,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
+        }
 
-        final GetSchemaMappingRequest getSchemaMappingRequest = GetSchemaMappingRequest.builder()
-                                                                                       .schemaName(
-                                                                                           requestModel.getSchemaName())
-                                                                                       .build();
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
 
         final ListTagsForResourceRequest listTagsForResourceRequest = ListTagsForResourceRequest.builder()
                                                                                                 .resourceArn(
                                                                                                     Translator.toSchemaArn(
                                                                                                         request))
                                                                                                 .build();
-        final GetSchemaMappingResponse getSchemaMappingResponse;
 
-        final ListTagsForResourceResponse listTagsForResourceResponse;
+        return proxy.initiate(CALL_GRAPH, proxyClient, request.getDesiredResourceState(), context)
+                    .translateToServiceRequest(model -> GetSchemaMappingRequest.builder()
+                                                                               .schemaName(
+                                                                                   model.getSchemaName())
+                                                                               .build())
+                    .makeServiceCall((getSchemaMappingRequest, proxyInvocation) -> readSchemaMapping(invoker,
+                        proxyInvocation.client(), getSchemaMappingRequest, listTagsForResourceRequest))
+                    .handleError(ExceptionTranslator::handleError)
+                    .done(schemaMappingRead -> {
+                        HandlerLogger.debug(logger, () -> String.format(
+                            "Retrieved Schema Mapping and tags with schemaName = %s",
+                            schemaMappingRead.schemaMapping.schemaName()));
+                        return ProgressEvent.defaultSuccessHandler(translateFromReadResponse(schemaMappingRead));
+                    });
+    }
+
+    private static ResourceModel translateFromReadResponse(final SchemaMappingRead schemaMappingRead) {
+        final GetSchemaMappingResponse getSchemaMappingResponse = schemaMappingRead.schemaMapping;
+        final ListTagsForResourceResponse listTagsForResourceResponse = schemaMappingRead.tags;
+
+        return ResourceModel.builder()
+                            .createdAt(getSchemaMappingResponse.createdAt()
+                                                               .toString())
+                            .description(getSchemaMappingResponse.description())
+                            .mappedInputFields(
+                                Translator.translateToInternalSchemaInputAttributes(
+                                    getSchemaMappingResponse.mappedInputFields()))
+                            .schemaArn(getSchemaMappingResponse.schemaArn())
+                            .schemaName(getSchemaMappingResponse.schemaName())
+                            .tags(Translator.mapTagsToSet(
+                                listTagsForResourceResponse.tags()))
+                            .updatedAt(getSchemaMappingResponse.updatedAt()
+                                                               .toString())
+                            .hasWorkflows(getSchemaMappingResponse.hasWorkflows())
+                            .build();
+    }
+
+    private static SchemaMappingRead readSchemaMapping(
+        final ServiceInvoker invoker,
+        final EntityResolutionClient client,
+        final GetSchemaMappingRequest getSchemaMappingRequest,
+        final ListTagsForResourceRequest listTagsForResourceRequest) {
+        final CompletableFuture<ListTagsForResourceResponse> listTagsForResourceFuture =
+            ServiceCallExecutor.submit(
+                () -> invoker.invoke(listTagsForResourceRequest,
+                    client::listTagsForResource));
 
+        final GetSchemaMappingResponse getSchemaMappingResponse;
         try {
-            getSchemaMappingResponse = proxy.injectCredentialsAndInvokeV2(getSchemaMappingRequest,
-                client::getSchemaMapping);
-            logger.log(String.format("Retrieved Schema Mapping with schemaName = %s", requestModel.getSchemaName()));
-
-            listTagsForResourceResponse = proxy.injectCredentialsAndInvokeV2(listTagsForResourceRequest,
-                client::listTagsForResource);
-            logger.log(String.format("Retrieve Tags for schemaName = %s", requestModel.getSchemaName()));
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
+            getSchemaMappingResponse = invoker.invoke(getSchemaMappingRequest, client::getSchemaMapping);
+        } catch (final RuntimeException e) {
+            ServiceCallExecutor.settle(listTagsForResourceFuture);
+            throw e;
         }
 
-        final ResourceModel responseModel = ResourceModel.builder()
-                                                         .createdAt(getSchemaMappingResponse.createdAt()
-                                                                                            .toString())
-                                                         .description(getSchemaMappingResponse.description())
-                                                         .mappedInputFields(
-                                                             Translator.translateToInternalSchemaInputAttributes(
-                                                                 getSchemaMappingResponse.mappedInputFields()))
-                                                         .schemaArn(getSchemaMappingResponse.schemaArn())
-                                                         .schemaName(getSchemaMappingResponse.schemaName())
-                                                         .tags(Translator.mapTagsToSet(
-                                                             listTagsForResourceResponse.tags()))
-                                                         .updatedAt(getSchemaMappingResponse.updatedAt()
-                                                                                            .toString())
-                                                         .hasWorkflows(getSchemaMappingResponse.hasWorkflows())
-                                                         .build();
-
-        return ProgressEvent.defaultSuccessHandler(responseModel);
+        return new SchemaMappingRead(getSchemaMappingResponse, ServiceCallExecutor.join(listTagsForResourceFuture));
+    }
+
+    private static final class SchemaMappingRead {
+
+        private final GetSchemaMappingResponse schemaMapping;
+        private final ListTagsForResourceResponse tags;
+
+        private SchemaMappingRead(
+            final GetSchemaMappingResponse schemaMapping,
+            final ListTagsForResourceResponse tags) {
+            this.schemaMapping = schemaMapping;
+            this.tags = tags;
+        }
     }
 }
@@ -0,0 +1,208 @@
+package software.amazon.entityresolution.schemamapping;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
+import software.amazon.awssdk.services.entityresolution.model.CreateSchemaMappingRequest;
+import software.amazon.awssdk.services.entityresolution.model.CreateSchemaMappingResponse;
+import software.amazon.awssdk.services.entityresolution.model.DeleteSchemaMappingRequest;
+import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingRequest;
+import software.amazon.awssdk.services.entityresolution.model.ListSchemaMappingsRequest;
+import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.UntagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.UpdateSchemaMappingRequest;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.entityresolution.common.ClientBuilder;
+
+/**
+ * Warms the handler before a Lambda SnapStart snapshot is taken, so restored containers skip the class loading and
+ * static initialization that a cold start pays on its first request. Priming builds the region's cached client, runs
+ * every {@link Translator} conversion on a full schema, round-trips the model through the wrapper's JSON serializer and
+ * sends each service request the handlers make through a client whose HTTP layer echoes the request back, so SDK
+ * marshalling, signing and unmarshalling run without reaching the network.
+ *
+ * <p>Without a CRaC-capable runtime the hooks are never called and the handler behaves exactly as before.
+ */
+public class SnapStartPriming implements Resource {
+
+    static final String REGION_VARIABLE = "AWS_REGION";
+
+    private static final String PRIMING_NAME = "snapStartPriming";
+    private static final String PRIMING_ARN =
+        "arn:aws:entityresolution:us-east-1:123456789012:schemamapping/" + PRIMING_NAME;
+
+    /**
+     * CRaC only keeps weak references to registered resources.
+     */
+    private static final SnapStartPriming INSTANCE = new SnapStartPriming();
+
+    static void register() {
+        Core.getGlobalContext()
+            .register(INSTANCE);
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) {
+        prime(System.getenv(REGION_VARIABLE));
+    }
+
+    /**
+     * Nothing primed before the snapshot depends on the host or time it is restored at.
+     */
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+    }
+
+    public static void prime(final String region) {
+        ClientBuilder.getClient(region);
+
+        final ResourceModel model = sampleModel();
+        primeSerializer(model);
+
+        try (EntityResolutionClient client = EntityResolutionClient.builder()
+                                                                   .region(region == null ? Region.US_EAST_1
+                                                                       : Region.of(region))
+                                                                   .httpClient(new EchoHttpClient())
+                                                                   .credentialsProvider(
+                                                                       StaticCredentialsProvider.create(
+                                                                           AwsBasicCredentials.create(PRIMING_NAME,
+                                                                               PRIMING_NAME)))
+                                                                   .build()) {
+            primeServiceCalls(client, model);
+        }
+    }
+
+    private static void primeServiceCalls(final EntityResolutionClient client, final ResourceModel model) {
+        final CreateSchemaMappingResponse createResponse = client.createSchemaMapping(
+            CreateSchemaMappingRequest.builder()
+                                      .schemaName(model.getSchemaName())
+                                      .description(model.getDescription())
+                                      .mappedInputFields(Translator.translateFromInternalSchemaInputAttributes(
+                                          model.getMappedInputFields()))
+                                      .tags(Collections.singletonMap(PRIMING_NAME, PRIMING_NAME))
+                                      .build());
+
+        // The echoed create carries the whole schema, so translating it back covers the response path.
+        Translator.translateToInternalSchemaInputAttributes(createResponse.mappedInputFields());
+        Translator.mapTagsToSet(Collections.singletonMap(PRIMING_NAME, PRIMING_NAME));
+
+        client.getSchemaMapping(GetSchemaMappingRequest.builder()
+                                                       .schemaName(PRIMING_NAME)
+                                                       .build());
+        client.updateSchemaMapping(UpdateSchemaMappingRequest.builder()
+                                                             .schemaName(PRIMING_NAME)
+                                                             .mappedInputFields(createResponse.mappedInputFields())
+                                                             .build());
+        client.listSchemaMappings(ListSchemaMappingsRequest.builder()
+                                                           .build());
+        client.deleteSchemaMapping(DeleteSchemaMappingRequest.builder()
+                                                             .schemaName(PRIMING_NAME)
+                                                             .build());
+        client.listTagsForResource(ListTagsForResourceRequest.builder()
+                                                             .resourceArn(PRIMING_ARN)
+                                                             .build());
+        client.tagResource(TagResourceRequest.builder()
+                                             .resourceArn(PRIMING_ARN)
+                                             .tags(Collections.singletonMap(PRIMING_NAME, PRIMING_NAME))
+                                             .build());
+        client.untagResource(UntagResourceRequest.builder()
+                                                 .resourceArn(PRIMING_ARN)
+                                                 .tagKeys(PRIMING_NAME)
+                                                 .build());
+    }
+
+    private static void primeSerializer(final ResourceModel model) {
+        final Serializer serializer = new Serializer();
+        try {
+            serializer.deserialize(serializer.serialize(model), new TypeReference<ResourceModel>() {
+            });
+            serializer.deserialize(serializer.serialize(new CallbackContext()), new TypeReference<CallbackContext>() {
+            });
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ResourceModel sampleModel() {
+        return ResourceModel.builder()
+                            .schemaName(PRIMING_NAME)
+                            .description(PRIMING_NAME)
+                            .mappedInputFields(Arrays.asList(attribute("id", "UNIQUE_ID", null),
+                                attribute("email", "EMAIL_ADDRESS", "EMAIL"),
+                                attribute("firstName", "NAME_FIRST", "NAME")))
+                            .build();
+    }
+
+    private static SchemaInputAttribute attribute(final String fieldName, final String type, final String matchKey) {
+        return SchemaInputAttribute.builder()
+                                   .fieldName(fieldName)
+                                   .type(type)
+                                   .groupName(matchKey)
+                                   .matchKey(matchKey)
+                                   .build();
+    }
+
+    /**
+     * Answers every request with its own body, or an empty object when it has none. Create and update responses share
+     * most of their shape with the requests, so echoing them exercises the response unmarshallers too.
+     */
+    private static class EchoHttpClient implements SdkHttpClient {
+
+        private static final byte[] EMPTY_OBJECT = {'{', '}'};
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(final HttpExecuteRequest request) {
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() throws IOException {
+                    final Optional<ContentStreamProvider> content = request.contentStreamProvider();
+                    byte[] body = EMPTY_OBJECT;
+                    if (content.isPresent()) {
+                        try (InputStream stream = content.get()
+                                                         .newStream()) {
+                            body = IoUtils.toByteArray(stream);
+                        }
+                    }
+
+                    return HttpExecuteResponse.builder()
+                                              .response(SdkHttpResponse.builder()
+                                                                       .statusCode(200)
+                                                                       .putHeader("Content-Type", "application/json")
+                                                                       .build())
+                                              .responseBody(AbortableInputStream.create(
+                                                  new ByteArrayInputStream(body.length == 0 ? EMPTY_OBJECT : body)))
+                                              .build();
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
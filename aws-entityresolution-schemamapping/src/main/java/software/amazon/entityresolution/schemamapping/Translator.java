@@ -6,6 +6,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.awssdk.services.entityresolution.model.SchemaInputAttribute;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.EntityResolutionArn;
+import software.amazon.entityresolution.common.TagHelper;
 
 /**
  * This class is a centralized placeholder for - api request construction - object translation to/from aws sdk -
@@ -13,8 +15,6 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
  */
 public class Translator {
 
-    public static String ARN_FORMAT = "arn:%s:entityresolution:%s:%s:schemamapping/%s";
-
     public static List<SchemaInputAttribute> translateFromInternalSchemaInputAttributes(
         List<software.amazon.entityresolution.schemamapping.SchemaInputAttribute> source) {
 
@@ -64,21 +64,14 @@ public class Translator {
     }
 
     public static Set<Tag> mapTagsToSet(Map<String, String> tags) {
-        if (tags == null || tags.isEmpty()) {
-            return null;
-        }
-
-        return tags.entrySet()
-                   .stream()
-                   .map(t -> Tag.builder()
-                                .key(t.getKey())
-                                .value(t.getValue())
-                                .build())
-                   .collect(Collectors.toSet());
+        return TagHelper.toTagSet(tags, (key, value) -> Tag.builder()
+                                                           .key(key)
+                                                           .value(value)
+                                                           .build());
     }
 
     public static String toSchemaArn(final ResourceHandlerRequest<ResourceModel> request) {
-        return String.format(ARN_FORMAT, request.getAwsPartition(), request.getRegion(), request.getAwsAccountId(),
+        return EntityResolutionArn.of(request, EntityResolutionArn.SCHEMA_MAPPING,
             request.getDesiredResourceState()
                    .getSchemaName());
     }
@@ -1,39 +1,38 @@
 package software.amazon.entityresolution.schemamapping;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Objects;
 import lombok.NoArgsConstructor;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
-import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.ConflictException;
 import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingRequest;
 import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingResponse;
-import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
-import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
-import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
-import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
-import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
-import software.amazon.awssdk.services.entityresolution.model.UntagResourceRequest;
 import software.amazon.awssdk.services.entityresolution.model.UpdateSchemaMappingRequest;
 import software.amazon.awssdk.services.entityresolution.model.UpdateSchemaMappingResponse;
-import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
+import software.amazon.cloudformation.Action;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.CallChain;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+import software.amazon.entityresolution.common.ExceptionTranslator;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.common.ReplayCache;
+import software.amazon.entityresolution.common.ServiceInvoker;
+import software.amazon.entityresolution.common.TagHelper;
 
 @NoArgsConstructor
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
+    private static final String CALL_GRAPH = "AWS-EntityResolution-SchemaMapping::Update";
+
+    /**
+     * Updates this container completed, so that a retried update is answered without calling the service again.
+     */
+    private static final ReplayCache<ResourceModel, CallbackContext> COMPLETED = new ReplayCache<>();
+
     private EntityResolutionClient client;
 
     public UpdateHandler(EntityResolutionClient client) {
@@ -47,157 +46,150 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
+        final ProgressEvent<ResourceModel, CallbackContext> replayed =
+            COMPLETED.replay(Action.UPDATE, request, logger);
+        if (replayed != null) {
+            return replayed;
         }
 
-        final ResourceModel requestModel = request.getDesiredResourceState();
-
-        final GetSchemaMappingRequest getSchemaMappingRequest = GetSchemaMappingRequest.builder()
-                                                                                       .schemaName(
-                                                                                           requestModel.getSchemaName())
-                                                                                       .build();
-
-        final GetSchemaMappingResponse getSchemaMappingResponse = getSchemaMapping(proxy, logger, requestModel,
-            getSchemaMappingRequest);
-
-        updateTagsForSchemaMapping(proxy, request);
-
-        if (getSchemaMappingResponse.hasWorkflows()
-                                    .equals(false)) {
-            updateSchemaMapping(proxy, request, logger);
+        final ServiceInvoker invoker = new ServiceInvoker(proxy, ResourceModel.TYPE_NAME);
+        try {
+            return COMPLETED.record(Action.UPDATE, request,
+                handleRequest(proxy, invoker, request, callbackContext, logger));
+        } finally {
+            invoker.publishMetrics(logger);
         }
-
-        return new ReadHandler().handleRequest(proxy, request, callbackContext, logger);
     }
 
-    private GetSchemaMappingResponse getSchemaMapping(
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
-        final Logger logger,
-        final ResourceModel requestModel,
-        final GetSchemaMappingRequest getSchemaMappingRequest) {
-
-        final GetSchemaMappingResponse getSchemaMappingResponse;
+        final ServiceInvoker invoker,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
 
-        try {
-            getSchemaMappingResponse = proxy.injectCredentialsAndInvokeV2(getSchemaMappingRequest,
-                client::getSchemaMapping);
-            logger.log(String.format("Retrieved Schema Mapping with schemaName = %s", requestModel.getSchemaName()));
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
+        if (this.client == null) {
+            this.client = ClientBuilder.getClient(request.getRegion());
         }
 
-        return getSchemaMappingResponse;
-    }
-
-    private void updateTagsForSchemaMapping(
-        final AmazonWebServicesClientProxy proxy,
-        final ResourceHandlerRequest<ResourceModel> request) {
-        final Set<Tag> previousTags = request.getPreviousResourceTags() == null ? new HashSet<>()
-            : Translator.mapTagsToSet(request.getPreviousResourceTags());
-
-        if (previousTags != null) {
-            final List<String> tagsToRemove = previousTags.stream()
-                                                          .map(Tag::getKey)
-                                                          .collect(Collectors.toList());
-
-            if (tagsToRemove.size() > 0) {
-                final UntagResourceRequest untagResourceRequest = UntagResourceRequest.builder()
-                                                                                      .resourceArn(
-                                                                                          Translator.toSchemaArn(
-                                                                                              request))
-                                                                                      .tagKeys(tagsToRemove)
-                                                                                      .build();
-
-                proxy.injectCredentialsAndInvokeV2(untagResourceRequest, client::untagResource);
-            }
-        }
+        final ProxyClient<EntityResolutionClient> proxyClient = proxy.newProxy(() -> client);
+        final CallbackContext context = callbackContext == null ? new CallbackContext() : callbackContext;
 
-        if (request.getDesiredResourceTags() != null && !request.getDesiredResourceTags()
-                                                                .isEmpty()) {
-            final Map<String, String> resourceTags = request.getDesiredResourceTags();
+        final ResourceModel requestModel = request.getDesiredResourceState();
 
-            final TagResourceRequest tagResourceRequest = TagResourceRequest.builder()
-                                                                            .resourceArn(
-                                                                                Translator.toSchemaArn(request))
-                                                                            .tags(resourceTags)
-                                                                            .build();
+        final boolean tagsChanged = TagHelper.hasTagChanges(request);
+
+        // The schema mapping is read before anything changes, so that a missing one fails as NotFound without its
+        // tags having been touched.
+        return getSchemaMapping(proxy, proxyClient, invoker, CALL_GRAPH + "::GetSchemaMapping",
+            ProgressEvent.progress(requestModel, context), logger)
+                   .done((getSchemaMappingRequest, getSchemaMappingResponse, proxyInvocation, model, ctx) -> {
+                       // Schema mappings referenced by a workflow are not updated, and neither are ones whose
+                       // description and fields already match the template.
+                       final boolean updateNeeded = !Boolean.TRUE.equals(getSchemaMappingResponse.hasWorkflows())
+                           && !isUpToDate(model, getSchemaMappingResponse);
+                       if (!updateNeeded && !tagsChanged) {
+                           return ProgressEvent.defaultSuccessHandler(buildResponseModel(getSchemaMappingResponse));
+                       }
+
+                       return TagHelper.updateTags(proxy, proxyClient, invoker, CALL_GRAPH,
+                                           Translator.toSchemaArn(request), request, ProgressEvent.progress(model, ctx))
+                                       .then(progress -> updateNeeded
+                                           ? updateSchemaMapping(proxy, proxyClient, invoker, progress, logger)
+                                           : progress)
+                                       // The tags, and updatedAt after UpdateSchemaMapping, have changed since the
+                                       // first read, so the schema mapping is read again.
+                                       .then(progress -> getSchemaMapping(proxy, proxyClient, invoker,
+                                           CALL_GRAPH + "::GetUpdatedSchemaMapping", progress, logger)
+                                           .done(getUpdatedSchemaMappingResponse ->
+                                               ProgressEvent.defaultSuccessHandler(
+                                                   buildResponseModel(getUpdatedSchemaMappingResponse))));
+                   });
+    }
 
-            proxy.injectCredentialsAndInvokeV2(tagResourceRequest, client::tagResource);
-        }
+    private static boolean isUpToDate(
+        final ResourceModel requestModel,
+        final GetSchemaMappingResponse getSchemaMappingResponse) {
+        return Objects.equals(requestModel.getDescription(), getSchemaMappingResponse.description())
+            && Objects.equals(Translator.translateFromInternalSchemaInputAttributes(requestModel.getMappedInputFields()),
+            getSchemaMappingResponse.mappedInputFields());
     }
 
-    public ProgressEvent<ResourceModel, CallbackContext> updateSchemaMapping(
+    /**
+     * Both reads of one update go through here, each under its own call graph so that the second is not answered
+     * with the first one's response.
+     */
+    private static CallChain.Completed<GetSchemaMappingRequest, GetSchemaMappingResponse, EntityResolutionClient,
+        ResourceModel, CallbackContext> getSchemaMapping(
         final AmazonWebServicesClientProxy proxy,
-        final ResourceHandlerRequest<ResourceModel> request,
+        final ProxyClient<EntityResolutionClient> proxyClient,
+        final ServiceInvoker invoker,
+        final String callGraph,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
         final Logger logger) {
+        return proxy.initiate(callGraph, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+                    .translateToServiceRequest(model -> GetSchemaMappingRequest.builder()
+                                                                               .schemaName(
+                                                                                   model.getSchemaName())
+                                                                               .build())
+                    .makeServiceCall((getSchemaMappingRequest, proxyInvocation) -> {
+                        final GetSchemaMappingResponse getSchemaMappingResponse = invoker.invoke(
+                            getSchemaMappingRequest, proxyInvocation.client()::getSchemaMapping);
+                        HandlerLogger.debug(logger, () -> String.format(
+                            "Retrieved Schema Mapping with schemaName = %s", getSchemaMappingRequest.schemaName()));
+                        return getSchemaMappingResponse;
+                    })
+                    .handleError(ExceptionTranslator::handleError);
+    }
 
-        if (this.client == null) {
-            this.client = ClientBuilder.getClient();
-        }
-
-        final ResourceModel requestModel = request.getDesiredResourceState();
-
-        final UpdateSchemaMappingRequest updateSchemaMappingRequest = UpdateSchemaMappingRequest.builder()
-                                                                                                .schemaName(
-                                                                                                    requestModel.getSchemaName())
-                                                                                                .description(
-                                                                                                    requestModel.getDescription())
-                                                                                                .mappedInputFields(
-                                                                                                    Translator.translateFromInternalSchemaInputAttributes(
-                                                                                                        requestModel.getMappedInputFields()))
-                                                                                                .build();
-
-        final ListTagsForResourceRequest listTagsForResourceRequest = ListTagsForResourceRequest.builder()
-                                                                                                .resourceArn(
-                                                                                                    Translator.toSchemaArn(
-                                                                                                        request))
-                                                                                                .build();
-        final UpdateSchemaMappingResponse updateSchemaMappingResponse;
-
-        final ListTagsForResourceResponse listTagsForResourceResponse;
+    private static ProgressEvent<ResourceModel, CallbackContext> updateSchemaMapping(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<EntityResolutionClient> proxyClient,
+        final ServiceInvoker invoker,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final Logger logger) {
+        return proxy.initiate(CALL_GRAPH, proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+                    .translateToServiceRequest(UpdateHandler::translateToUpdateRequest)
+                    .makeServiceCall((updateSchemaMappingRequest, proxyInvocation) -> {
+                        final UpdateSchemaMappingResponse updateSchemaMappingResponse = invoker.invoke(
+                            updateSchemaMappingRequest, proxyInvocation.client()::updateSchemaMapping);
+                        HandlerLogger.info(logger, () -> String.format("Updated SchemaMapping with schemaName = %s",
+                            updateSchemaMappingRequest.schemaName()));
+                        return updateSchemaMappingResponse;
+                    })
+                    .handleError((updateSchemaMappingRequest, e, proxyInvocation, model, context) ->
+                        e instanceof ConflictException
+                            ? ExceptionTranslator.failure(new CfnInternalFailureException(e))
+                            : ExceptionTranslator.retryOrFail(updateSchemaMappingRequest, e))
+                    .progress();
+    }
 
-        try {
-            updateSchemaMappingResponse = proxy.injectCredentialsAndInvokeV2(updateSchemaMappingRequest,
-                client::updateSchemaMapping);
-            logger.log(
-                String.format("Updated SchemaMapping with schemaName = %s", requestModel.getSchemaName()));
-
-            listTagsForResourceResponse = proxy.injectCredentialsAndInvokeV2(listTagsForResourceRequest,
-                client::listTagsForResource);
-            logger.log(String.format("Retrieve Tags for schemaName = %s", requestModel.getSchemaName()));
-        } catch (final ConflictException e) {
-            throw new CfnInternalFailureException(e);
-        } catch (final AccessDeniedException e) {
-            throw new CfnAccessDeniedException(e);
-        } catch (final ResourceNotFoundException e) {
-            throw new CfnNotFoundException(e);
-        } catch (final InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        } catch (final ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (final Exception e) {
-            throw new CfnGeneralServiceException(e);
-        }
+    private static UpdateSchemaMappingRequest translateToUpdateRequest(final ResourceModel requestModel) {
+        return UpdateSchemaMappingRequest.builder()
+                                         .schemaName(
+                                             requestModel.getSchemaName())
+                                         .description(
+                                             requestModel.getDescription())
+                                         .mappedInputFields(
+                                             Translator.translateFromInternalSchemaInputAttributes(
+                                                 requestModel.getMappedInputFields()))
+                                         .build();
+    }
 
-        final ResourceModel responseModel = ResourceModel.builder()
-                                                         .description(updateSchemaMappingResponse.description())
-                                                         .mappedInputFields(
-                                                             Translator.translateToInternalSchemaInputAttributes(
-                                                                 updateSchemaMappingResponse.mappedInputFields()))
-                                                         .schemaName(updateSchemaMappingResponse.schemaName())
-                                                         .tags(Translator.mapTagsToSet(
-                                                             listTagsForResourceResponse.tags()))
-                                                         .build();
-
-        return ProgressEvent.defaultSuccessHandler(responseModel);
+    private static ResourceModel buildResponseModel(final GetSchemaMappingResponse getSchemaMappingResponse) {
+        return ResourceModel.builder()
+                            .createdAt(getSchemaMappingResponse.createdAt()
+                                                               .toString())
+                            .description(getSchemaMappingResponse.description())
+                            .mappedInputFields(
+                                Translator.translateToInternalSchemaInputAttributes(
+                                    getSchemaMappingResponse.mappedInputFields()))
+                            .schemaArn(getSchemaMappingResponse.schemaArn())
+                            .schemaName(getSchemaMappingResponse.schemaName())
+                            .tags(Translator.mapTagsToSet(getSchemaMappingResponse.tags()))
+                            .updatedAt(getSchemaMappingResponse.updatedAt()
+                                                               .toString())
+                            .hasWorkflows(getSchemaMappingResponse.hasWorkflows())
+                            .build();
     }
 }
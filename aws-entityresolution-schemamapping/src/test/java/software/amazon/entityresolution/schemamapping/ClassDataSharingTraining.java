@@ -0,0 +1,108 @@
+package software.amazon.entityresolution.schemamapping;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.ClientBuilder;
+
+/**
+ * Training run for the class-data-sharing archive that the {@code appcds} build profile writes next to the handler jar.
+ * Takes one schema mapping through every handler against the local Entity Resolution service, whose shaded jar is the only
+ * argument. The service runs in its own process, so none of its classes end up in the archive.
+ *
+ * <p>A handler that does not succeed fails the build, since an archive trained on an error path would leave most of a
+ * real request's classes out.
+ */
+public class ClassDataSharingTraining {
+
+    private static final String REGION = "us-east-1";
+    private static final String LISTENING = "listening on ";
+
+    private static final Credentials CREDENTIALS = new Credentials("accessKeyId", "secretAccessKey", "sessionToken");
+    private static final Logger LOGGER = message -> {
+    };
+
+    public static void main(final String[] args) throws Exception {
+        final Process service = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java")
+                                                        .toString(), "-jar", args[0], "0").redirectErrorStream(true)
+                                                                                          .start();
+        try {
+            final long waitStart = System.nanoTime();
+            System.setProperty(ClientBuilder.ENDPOINT_OVERRIDE_PROPERTY, awaitEndpoint(service));
+            train(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waitStart));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    /**
+     * Reports when the first request completed, less the time spent waiting for the service process, which a
+     * container serving real requests does not pay.
+     */
+    private static void train(final long serviceStartMillis) {
+        final ResourceModel model = SnapStartPriming.sampleModel();
+        final ResourceModel identifier = ResourceModel.builder()
+                                                      .schemaName(model.getSchemaName())
+                                                      .build();
+        final Map<String, String> tags = Collections.singletonMap("stage", "training");
+        final Map<String, String> updatedTags = Collections.singletonMap("stage", "trained");
+
+        check(new CreateHandler().handleRequest(proxy(), request(model).desiredResourceTags(tags)
+                                                                       .build(), null, LOGGER));
+        final long firstRequestMillis = ManagementFactory.getRuntimeMXBean()
+                                                         .getUptime() - serviceStartMillis;
+        System.out.printf("First request served %d ms after JVM start%n", firstRequestMillis);
+
+        check(new ReadHandler().handleRequest(proxy(), request(identifier).build(), null, LOGGER));
+        check(new UpdateHandler().handleRequest(proxy(), request(model).previousResourceState(model)
+                                                                       .previousResourceTags(tags)
+                                                                       .desiredResourceTags(updatedTags)
+                                                                       .build(), null, LOGGER));
+        check(new ListHandler().handleRequest(proxy(), request(null).build(), null, LOGGER));
+        check(new DeleteHandler().handleRequest(proxy(), request(identifier).build(), null, LOGGER));
+    }
+
+    private static ResourceHandlerRequest.ResourceHandlerRequestBuilder<ResourceModel> request(
+        final ResourceModel model) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                                     .awsPartition("aws")
+                                     .region(REGION)
+                                     .awsAccountId("123456789012")
+                                     .desiredResourceState(model);
+    }
+
+    private static AmazonWebServicesClientProxy proxy() {
+        return new AmazonWebServicesClientProxy(new LoggerProxy(), CREDENTIALS, () -> TimeUnit.MINUTES.toMillis(15));
+    }
+
+    private static void check(final ProgressEvent<ResourceModel, CallbackContext> event) {
+        if (event.getStatus() != OperationStatus.SUCCESS) {
+            throw new IllegalStateException("Training request did not succeed: " + event.getMessage());
+        }
+    }
+
+    private static String awaitEndpoint(final Process service) throws Exception {
+        final BufferedReader output = new BufferedReader(new InputStreamReader(service.getInputStream(),
+            StandardCharsets.UTF_8));
+        String line;
+        while ((line = output.readLine()) != null) {
+            final int index = line.indexOf(LISTENING);
+            if (index >= 0) {
+                return line.substring(index + LISTENING.length());
+            }
+        }
+        throw new IllegalStateException("Local Entity Resolution service exited with status " + service.waitFor());
+    }
+}
@@ -1,42 +1,48 @@
 package software.amazon.entityresolution.schemamapping;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
 import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
 import software.amazon.awssdk.services.entityresolution.model.ConflictException;
 import software.amazon.awssdk.services.entityresolution.model.DeleteSchemaMappingRequest;
 import software.amazon.awssdk.services.entityresolution.model.DeleteSchemaMappingResponse;
+import software.amazon.awssdk.services.entityresolution.model.EntityResolutionException;
 import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingRequest;
+import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingResponse;
 import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
 import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
 
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest {
 
     private static final String SCHEMA_NAME = "schemaName";
+    private static final int FIRST_WORKFLOW_WAIT_DELAY_SECONDS = 5;
+    private static final int MAX_WORKFLOW_WAIT_DELAY_SECONDS = 60;
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -51,7 +57,9 @@ public class DeleteHandlerTest {
 
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(), new Credentials("accessKeyId",
+            "secretAccessKey", "sessionToken"), DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY,
+            WaitStrategy.scheduleForCallbackStrategy()));
         client = mock(EntityResolutionClient.class);
         logger = mock(Logger.class);
 
@@ -81,6 +89,8 @@ public class DeleteHandlerTest {
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request,
             new CallbackContext(), logger);
 
+        ServiceCallBudget.DELETE.assertWithin(proxy);
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
@@ -92,6 +102,7 @@ public class DeleteHandlerTest {
     public void handleRequest_throwsConflictException() {
         final DeleteHandler handler = new DeleteHandler(client);
         ConflictException exception = ConflictException.builder()
+                                                       .message(DeleteHandler.WORKFLOWS_ASSOCIATED_ERROR_MESSAGE)
                                                        .build();
 
         Mockito.doThrow(exception)
@@ -106,8 +117,157 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnInternalFailureException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        // Once the wait for dependent workflows has run out, the conflict fails the delete.
+        final List<Integer> delays = new ArrayList<>();
+        final ProgressEvent<ResourceModel, CallbackContext> response = invokeUntilDone(handler, request, delays);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotStabilized);
+        Mockito.verify(proxy, Mockito.times(delays.size() + 1))
+               .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_conflictException_waitsForWorkflows() {
+        final DeleteHandler handler = new DeleteHandler(client);
+
+        Mockito.doThrow(ConflictException.builder()
+                                         .message(DeleteHandler.WORKFLOWS_ASSOCIATED_ERROR_MESSAGE)
+                                         .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
+        Mockito.doReturn(GetSchemaMappingResponse.builder()
+                                                 .schemaName(SCHEMA_NAME)
+                                                 .hasWorkflows(true)
+                                                 .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null,
+            logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(FIRST_WORKFLOW_WAIT_DELAY_SECONDS);
+        assertThat(response.getResourceModel()).isEqualTo(model);
+    }
+
+    @Test
+    public void handleRequest_conflictException_backsOffUpToMaxDelay() {
+        final DeleteHandler handler = new DeleteHandler(client);
+
+        Mockito.doThrow(ConflictException.builder()
+                                         .message(DeleteHandler.WORKFLOWS_ASSOCIATED_ERROR_MESSAGE)
+                                         .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
+        Mockito.doReturn(GetSchemaMappingResponse.builder()
+                                                 .schemaName(SCHEMA_NAME)
+                                                 .hasWorkflows(true)
+                                                 .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final List<Integer> delays = new ArrayList<>();
+        invokeUntilDone(handler, request, delays);
+
+        assertThat(delays).allMatch(delay -> delay <= MAX_WORKFLOW_WAIT_DELAY_SECONDS)
+                          .contains(MAX_WORKFLOW_WAIT_DELAY_SECONDS);
+    }
+
+    @Test
+    public void handleRequest_workflowsGone_completesDelete() {
+        final DeleteHandler handler = new DeleteHandler(client);
+
+        Mockito.doThrow(ConflictException.builder()
+                                         .message(DeleteHandler.WORKFLOWS_ASSOCIATED_ERROR_MESSAGE)
+                                         .build())
+               .doReturn(DeleteSchemaMappingResponse.builder()
+                                                    .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
+        Mockito.doReturn(GetSchemaMappingResponse.builder()
+                                                 .schemaName(SCHEMA_NAME)
+                                                 .hasWorkflows(false)
+                                                 .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> waiting =
+            handler.handleRequest(proxy, request, null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, waiting.getCallbackContext(), logger);
+
+        assertThat(waiting.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isNull();
+    }
+
+    @Test
+    public void handleRequest_otherConflictException_failsImmediately() {
+        final DeleteHandler handler = new DeleteHandler(client);
+
+        Mockito.doThrow(ConflictException.builder()
+                                         .message("A delete is already in progress for this SchemaMapping")
+                                         .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
+        Mockito.doReturn(GetSchemaMappingResponse.builder()
+                                                 .schemaName(SCHEMA_NAME)
+                                                 .hasWorkflows(false)
+                                                 .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null,
+            logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+        assertThat(response.getCallbackDelaySeconds()).isZero();
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_missingResource_skipsDelete() {
+        final DeleteHandler handler = new DeleteHandler(client);
+        final ResourceNotFoundException exception = ResourceNotFoundException.builder()
+                                                                             .message("SchemaMapping schemaName not found")
+                                                                             .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(response.getMessage()).contains("SchemaMapping schemaName not found");
+        Mockito.verify(proxy, Mockito.never())
+               .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
     }
 
     @Test
@@ -128,8 +288,11 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnAccessDeniedException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
 
     @Test
@@ -150,8 +313,11 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnNotFoundException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
     }
 
     @Test
@@ -172,8 +338,11 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnServiceInternalErrorException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.ServiceInternalError);
     }
 
     @Test
@@ -194,12 +363,15 @@ public class DeleteHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_throwsOtherException() {
+    public void handleRequest_throwsThrottlingException() {
         final DeleteHandler handler = new DeleteHandler(client);
         ThrottlingException exception = ThrottlingException.builder()
                                                            .build();
@@ -208,11 +380,51 @@ public class DeleteHandlerTest {
                .when(proxy)
                .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
 
+        Mockito.doReturn(null)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnGeneralServiceException.class,
-            () -> handler.handleRequest(proxy, request, new CallbackContext(), logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+    }
+
+    @Test
+    public void handleRequest_throwsOtherException() {
+        final DeleteHandler handler = new DeleteHandler(client);
+        AwsServiceException exception = EntityResolutionException.builder()
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(DeleteSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> invokeUntilDone(
+        final DeleteHandler handler,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final List<Integer> delays) {
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, null, logger);
+        while (response.getStatus() == OperationStatus.IN_PROGRESS) {
+            delays.add(response.getCallbackDelaySeconds());
+            response = handler.handleRequest(proxy, request, response.getCallbackContext(), logger);
+        }
+        return response;
     }
 }
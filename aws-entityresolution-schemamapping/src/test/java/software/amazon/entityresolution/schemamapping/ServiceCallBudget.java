@@ -0,0 +1,53 @@
+package software.amazon.entityresolution.schemamapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.mockito.Mockito;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+
+/**
+ * Most service calls each handler operation may make on its success path. Handler tests check the calls they made
+ * against these, so a change that adds a round trip fails the build until its budget is raised on purpose.
+ */
+enum ServiceCallBudget {
+
+    CREATE(1),
+    READ(2),
+    UPDATE(3),
+    // Get, Untag, Tag, Update and the Get for the new tags and updatedAt; a tag-only change skips the Update.
+    UPDATE_WITH_TAG_CHANGES(5),
+    DELETE(2),
+    LIST_PAGE(1);
+
+    private static final String INVOKE_METHOD = "injectCredentialsAndInvokeV2";
+
+    private final int maxCalls;
+
+    ServiceCallBudget(final int maxCalls) {
+        this.maxCalls = maxCalls;
+    }
+
+    void assertWithin(final AmazonWebServicesClientProxy proxy) {
+        final List<String> calls = serviceCalls(proxy);
+        assertThat(calls.size()).as("%s service calls %s", name(), calls)
+                                .isLessThanOrEqualTo(maxCalls);
+    }
+
+    /**
+     * Handlers reach the client only through the proxy, so the mocked client records nothing and the calls are read
+     * off the proxy instead, named after their request classes.
+     */
+    static List<String> serviceCalls(final AmazonWebServicesClientProxy proxy) {
+        return Mockito.mockingDetails(proxy)
+                      .getInvocations()
+                      .stream()
+                      .filter(invocation -> INVOKE_METHOD.equals(invocation.getMethod()
+                                                                           .getName()))
+                      .map(invocation -> invocation.getArgument(0)
+                                                   .getClass()
+                                                   .getSimpleName())
+                      .collect(Collectors.toList());
+    }
+}
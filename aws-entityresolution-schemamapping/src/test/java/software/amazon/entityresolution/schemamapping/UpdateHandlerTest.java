@@ -1,9 +1,10 @@
 package software.amazon.entityresolution.schemamapping;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 
 import com.amazonaws.SDKGlobalConfiguration;
 import com.amazonaws.regions.Regions;
@@ -18,13 +19,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
 import software.amazon.awssdk.services.entityresolution.model.AccessDeniedException;
+import software.amazon.awssdk.services.entityresolution.model.EntityResolutionException;
 import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingRequest;
 import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingResponse;
 import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
 import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
-import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.entityresolution.model.SchemaInputAttribute;
 import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
@@ -35,21 +37,22 @@ import software.amazon.awssdk.services.entityresolution.model.UntagResourceRespo
 import software.amazon.awssdk.services.entityresolution.model.UpdateSchemaMappingRequest;
 import software.amazon.awssdk.services.entityresolution.model.UpdateSchemaMappingResponse;
 import software.amazon.awssdk.services.entityresolution.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
-import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
-import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateHandlerTest {
 
     private static final Instant TIME = Instant.now();
+    private static final Instant UPDATED_TIME = TIME.plusSeconds(60);
     private static final String SCHEMA_NAME = "schemaName";
     private static final String DESCRIPTION = "description";
     private static final String FIELD_NAME = "fieldName";
@@ -61,6 +64,10 @@ public class UpdateHandlerTest {
         + "/schemaName";
     private static final Map<String, String> PREVIOUS_TAGS = ImmutableMap.of("key1", "value1");
     private static final Map<String, String> DESIRED_TAGS = ImmutableMap.of("key1", "value1");
+    private static final Map<String, String> CHANGED_PREVIOUS_TAGS = ImmutableMap.of("key1", "value1", "key2",
+        "value2");
+    private static final Map<String, String> CHANGED_DESIRED_TAGS = ImmutableMap.of("key1", "value1-updated", "key3",
+        "value3");
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -75,11 +82,15 @@ public class UpdateHandlerTest {
 
     private GetSchemaMappingResponse getSchemaMappingResponse;
 
+    private GetSchemaMappingResponse updatedSchemaMappingResponse;
+
     @BeforeEach
     public void setup() {
         System.setProperty(SDKGlobalConfiguration.AWS_REGION_SYSTEM_PROPERTY, Regions.US_EAST_1.getName());
 
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        proxy = spy(new AmazonWebServicesClientProxy(new LoggerProxy(), new Credentials("accessKeyId",
+            "secretAccessKey", "sessionToken"), DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY,
+            WaitStrategy.scheduleForCallbackStrategy()));
         client = mock(EntityResolutionClient.class);
         logger = mock(Logger.class);
 
@@ -100,9 +111,13 @@ public class UpdateHandlerTest {
                                                            .mappedInputFields(mappedInputFields)
                                                            .schemaArn(SCHEMA_ARN)
                                                            .schemaName(SCHEMA_NAME)
+                                                           .tags(DESIRED_TAGS)
                                                            .updatedAt(TIME)
                                                            .hasWorkflows(HAS_WORKFLOWS)
                                                            .build();
+        updatedSchemaMappingResponse = getSchemaMappingResponse.toBuilder()
+                                                               .updatedAt(UPDATED_TIME)
+                                                               .build();
     }
 
     @Test
@@ -121,15 +136,102 @@ public class UpdateHandlerTest {
                                                                                     .desiredResourceTags(DESIRED_TAGS)
                                                                                     .build();
 
+        Mockito.doReturn(getSchemaMappingResponse, updatedSchemaMappingResponse)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        ServiceCallBudget.UPDATE.assertWithin(proxy);
+
+        Mockito.verify(proxy, Mockito.times(2))
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+        Mockito.verify(proxy, Mockito.times(0))
+               .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        Mockito.verify(proxy, Mockito.times(0))
+               .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel()).isNotNull();
+        assertThat(response.getResourceModel()
+                           .getSchemaArn()).isEqualTo(updateSchemaMappingResponse.schemaArn());
+        assertThat(response.getResourceModel()
+                           .getDescription()).isEqualTo(updateSchemaMappingResponse.description());
+        assertThat(response.getResourceModel()
+                           .getMappedInputFields()).isEqualTo(
+            Translator.translateToInternalSchemaInputAttributes(updateSchemaMappingResponse.mappedInputFields()));
+        assertThat(response.getResourceModel()
+                           .getSchemaName()).isEqualTo(updateSchemaMappingResponse.schemaName());
+        assertThat(response.getResourceModel()
+                           .getTags()).isEqualTo(Translator.mapTagsToSet(DESIRED_TAGS));
+        assertThat(response.getResourceModel()
+                           .getUpdatedAt()).isEqualTo(UPDATED_TIME.toString());
+        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getMessage()).isNull();
+        assertThat(response.getErrorCode()).isNull();
+    }
+
+    @Test
+    public void handleRequest_retryWithInProgressContext_doesNotRepeatUpdate() {
+        Mockito.doReturn(buildUpdateSchemaMappingResponse())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(UpdateSchemaMappingRequest.class), any());
         Mockito.doReturn(getSchemaMappingResponse)
+               .doThrow(ThrottlingException.builder()
+                                           .build())
+               .doReturn(updatedSchemaMappingResponse)
                .when(proxy)
                .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
 
-        Mockito.doReturn(ListTagsForResourceResponse.builder()
-                                                    .tags(ImmutableMap.of("key1", "value1"))
-                                                    .build())
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .previousResourceTags(PREVIOUS_TAGS)
+                                                                                    .desiredResourceTags(DESIRED_TAGS)
+                                                                                    .build();
+
+        // A new handler stands in for a cold container, so only the callback context knows the update went through.
+        final ProgressEvent<ResourceModel, CallbackContext> throttled =
+            new UpdateHandler(client).handleRequest(proxy, request, null, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new UpdateHandler(client).handleRequest(proxy, request, throttled.getCallbackContext(), logger);
+
+        assertThat(throttled.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()
+                           .getUpdatedAt()).isEqualTo(UPDATED_TIME.toString());
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(UpdateSchemaMappingRequest.class), any());
+        Mockito.verify(proxy, Mockito.times(3))
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_onlyAppliesChangedTags() {
+        final UpdateHandler handler = new UpdateHandler(client);
+
+        final UpdateSchemaMappingResponse updateSchemaMappingResponse = buildUpdateSchemaMappingResponse();
+
+        Mockito.doReturn(updateSchemaMappingResponse)
                .when(proxy)
-               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+               .injectCredentialsAndInvokeV2(any(UpdateSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .previousResourceTags(CHANGED_PREVIOUS_TAGS)
+                                                                                    .desiredResourceTags(CHANGED_DESIRED_TAGS)
+                                                                                    .build();
+
+        Mockito.doReturn(getSchemaMappingResponse.toBuilder()
+                                                 .tags(CHANGED_DESIRED_TAGS)
+                                                 .build(), updatedSchemaMappingResponse.toBuilder()
+                                                                                       .tags(CHANGED_DESIRED_TAGS)
+                                                                                       .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
 
         Mockito.doReturn(UntagResourceResponse.builder()
                                               .build())
@@ -144,10 +246,18 @@ public class UpdateHandlerTest {
         final ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, null, logger);
 
+        ServiceCallBudget.UPDATE_WITH_TAG_CHANGES.assertWithin(proxy);
+
         Mockito.verify(proxy)
-               .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+               .injectCredentialsAndInvokeV2(eq(UntagResourceRequest.builder()
+                   .resourceArn(Translator.toSchemaArn(request))
+                   .tagKeys("key2")
+                   .build()), any());
         Mockito.verify(proxy)
-               .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+               .injectCredentialsAndInvokeV2(eq(TagResourceRequest.builder()
+                   .resourceArn(Translator.toSchemaArn(request))
+                   .tags(ImmutableMap.of("key1", "value1-updated", "key3", "value3"))
+                   .build()), any());
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -164,12 +274,121 @@ public class UpdateHandlerTest {
         assertThat(response.getResourceModel()
                            .getSchemaName()).isEqualTo(updateSchemaMappingResponse.schemaName());
         assertThat(response.getResourceModel()
-                           .getTags()).isEqualTo(Translator.mapTagsToSet(DESIRED_TAGS));
+                           .getTags()).isEqualTo(Translator.mapTagsToSet(CHANGED_DESIRED_TAGS));
+        assertThat(response.getResourceModel()
+                           .getUpdatedAt()).isEqualTo(UPDATED_TIME.toString());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_tagOnlyChangeMakesAtMostFourServiceCalls() {
+        final UpdateHandler handler = new UpdateHandler(client);
+
+        final GetSchemaMappingResponse getTaggedSchemaMappingResponse = getSchemaMappingResponse.toBuilder()
+                                                                                                .mappedInputFields(
+                                                                                                    SchemaInputAttribute.builder()
+                                                                                                                        .fieldName(
+                                                                                                                            FIELD_NAME)
+                                                                                                                        .type(
+                                                                                                                            "NAME")
+                                                                                                                        .build())
+                                                                                                .tags(
+                                                                                                    CHANGED_DESIRED_TAGS)
+                                                                                                .build();
+        final ResourceModel unchangedModel = ResourceModel.builder()
+                                                          .schemaName(SCHEMA_NAME)
+                                                          .description(DESCRIPTION)
+                                                          .mappedInputFields(
+                                                              Translator.translateToInternalSchemaInputAttributes(
+                                                                  getTaggedSchemaMappingResponse.mappedInputFields()))
+                                                          .build();
+
+        Mockito.doReturn(UntagResourceResponse.builder()
+                                              .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        Mockito.doReturn(TagResourceResponse.builder()
+                                            .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        Mockito.doReturn(getTaggedSchemaMappingResponse)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(
+                                                                                        unchangedModel)
+                                                                                    .previousResourceTags(
+                                                                                        CHANGED_PREVIOUS_TAGS)
+                                                                                    .desiredResourceTags(
+                                                                                        CHANGED_DESIRED_TAGS)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        Mockito.verify(proxy, Mockito.times(4))
+               .injectCredentialsAndInvokeV2(any(), any());
+        Mockito.verify(proxy, Mockito.times(0))
+               .injectCredentialsAndInvokeV2(any(UpdateSchemaMappingRequest.class), any());
+        Mockito.verify(proxy, Mockito.times(0))
+               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()
+                           .getCreatedAt()).isEqualTo(TIME.toString());
+        assertThat(response.getResourceModel()
+                           .getUpdatedAt()).isEqualTo(TIME.toString());
+        assertThat(response.getResourceModel()
+                           .getSchemaArn()).isEqualTo(SCHEMA_ARN);
+        assertThat(response.getResourceModel()
+                           .getHasWorkflows()).isEqualTo(HAS_WORKFLOWS);
+        assertThat(response.getResourceModel()
+                           .getTags()).isEqualTo(Translator.mapTagsToSet(CHANGED_DESIRED_TAGS));
+    }
+
+    @Test
+    public void handleRequest_withWorkflowsSkipsUpdate() {
+        final UpdateHandler handler = new UpdateHandler(client);
+
+        final GetSchemaMappingResponse getSchemaMappingWithWorkflowsResponse = getSchemaMappingResponse.toBuilder()
+                                                                                                       .hasWorkflows(
+                                                                                                           true)
+                                                                                                       .build();
+
+        Mockito.doReturn(getSchemaMappingWithWorkflowsResponse)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .previousResourceTags(PREVIOUS_TAGS)
+                                                                                    .desiredResourceTags(DESIRED_TAGS)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        ServiceCallBudget.UPDATE.assertWithin(proxy);
+
+        Mockito.verify(proxy, Mockito.times(1))
+               .injectCredentialsAndInvokeV2(any(), any());
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()
+                           .getDescription()).isEqualTo(DESCRIPTION);
+        assertThat(response.getResourceModel()
+                           .getUpdatedAt()).isEqualTo(TIME.toString());
+        assertThat(response.getResourceModel()
+                           .getHasWorkflows()).isTrue();
+        assertThat(response.getResourceModel()
+                           .getTags()).isEqualTo(Translator.mapTagsToSet(DESIRED_TAGS));
+    }
+
     @Test
     public void handleRequest_withNullPreviousResourceTags() {
         final UpdateHandler handler = new UpdateHandler(client);
@@ -189,12 +408,6 @@ public class UpdateHandlerTest {
                .when(proxy)
                .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
 
-        Mockito.doReturn(ListTagsForResourceResponse.builder()
-                                                    .tags(ImmutableMap.of("key1", "value1"))
-                                                    .build())
-               .when(proxy)
-               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
-
         Mockito.doReturn(TagResourceResponse.builder()
                                             .build())
                .when(proxy)
@@ -249,12 +462,6 @@ public class UpdateHandlerTest {
                .when(proxy)
                .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
 
-        Mockito.doReturn(ListTagsForResourceResponse.builder()
-                                                    .tags(ImmutableMap.of("key1", "value1"))
-                                                    .build())
-               .when(proxy)
-               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
-
         Mockito.doReturn(TagResourceResponse.builder()
                                             .build())
                .when(proxy)
@@ -327,11 +534,6 @@ public class UpdateHandlerTest {
                .when(proxy)
                .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
 
-        Mockito.doReturn(ListTagsForResourceResponse.builder()
-                                                    .build())
-               .when(proxy)
-               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
-
         Mockito.doReturn(UntagResourceResponse.builder()
                                               .build())
                .when(proxy)
@@ -406,11 +608,6 @@ public class UpdateHandlerTest {
                .when(proxy)
                .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
 
-        Mockito.doReturn(ListTagsForResourceResponse.builder()
-                                                    .build())
-               .when(proxy)
-               .injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any());
-
         Mockito.doReturn(UntagResourceResponse.builder()
                                               .build())
                .when(proxy)
@@ -458,8 +655,11 @@ public class UpdateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnAccessDeniedException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.AccessDenied);
     }
 
     @Test
@@ -476,8 +676,41 @@ public class UpdateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnNotFoundException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void handleRequest_missingSchemaMappingLeavesTagsAlone() {
+        final UpdateHandler handler = new UpdateHandler(client);
+
+        Mockito.doThrow(ResourceNotFoundException.builder()
+                                                 .build())
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .previousResourceTags(
+                                                                                        CHANGED_PREVIOUS_TAGS)
+                                                                                    .desiredResourceTags(
+                                                                                        CHANGED_DESIRED_TAGS)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        Mockito.verify(proxy, Mockito.times(0))
+               .injectCredentialsAndInvokeV2(any(UntagResourceRequest.class), any());
+        Mockito.verify(proxy, Mockito.times(0))
+               .injectCredentialsAndInvokeV2(any(TagResourceRequest.class), any());
+        Mockito.verify(proxy, Mockito.times(0))
+               .injectCredentialsAndInvokeV2(any(UpdateSchemaMappingRequest.class), any());
     }
 
     @Test
@@ -494,8 +727,11 @@ public class UpdateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnServiceInternalErrorException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
     }
 
     @Test
@@ -512,12 +748,15 @@ public class UpdateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnInvalidRequestException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
     }
 
     @Test
-    public void handleRequest_getRequestThrowsOtherException() {
+    public void handleRequest_getRequestThrowsThrottlingException() {
         final UpdateHandler handler = new UpdateHandler(client);
         ThrottlingException exception = ThrottlingException.builder()
                                                            .build();
@@ -530,8 +769,32 @@ public class UpdateHandlerTest {
                                                                                     .desiredResourceState(model)
                                                                                     .build();
 
-        assertThrows(CfnGeneralServiceException.class,
-            () -> handler.handleRequest(proxy, request, null, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+    }
+
+    @Test
+    public void handleRequest_getRequestThrowsOtherException() {
+        final UpdateHandler handler = new UpdateHandler(client);
+        AwsServiceException exception = EntityResolutionException.builder()
+                                                                 .build();
+
+        Mockito.doThrow(exception)
+               .when(proxy)
+               .injectCredentialsAndInvokeV2(any(GetSchemaMappingRequest.class), any());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                                                                                    .desiredResourceState(model)
+                                                                                    .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
     }
 
     private UpdateSchemaMappingResponse buildUpdateSchemaMappingResponse() {
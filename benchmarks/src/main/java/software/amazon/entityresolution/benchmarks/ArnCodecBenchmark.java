@@ -0,0 +1,97 @@
+package software.amazon.entityresolution.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.common.EntityResolutionArn;
+import software.amazon.entityresolution.matchingworkflow.ResourceModel;
+
+/**
+ * The three ARN operations of a matching workflow update: building the workflow ARN from the request, reading the
+ * schema name out of an input source's schema ARN, and building the schema ARN back from the workflow ARN. The
+ * {@code *Baseline} cases are the {@code String.format} and {@code substring} versions the translators used before
+ * {@link EntityResolutionArn}, and setup fails if the two disagree.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ArnCodecBenchmark {
+
+    private static final String WORKFLOW_ARN_FORMAT = "arn:%s:entityresolution:%s:%s:matchingworkflow/%s";
+
+    @State(Scope.Benchmark)
+    public static class Arns {
+
+        ResourceHandlerRequest<ResourceModel> request;
+        String schemaArn;
+        String workflowArn;
+        String schemaName;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            request = ResourceHandlerRequest.<ResourceModel>builder()
+                                            .awsPartition("aws")
+                                            .region("us-east-1")
+                                            .awsAccountId("123456789012")
+                                            .desiredResourceState(ResourceModel.builder()
+                                                                               .workflowName("benchmarkWorkflow")
+                                                                               .build())
+                                            .build();
+            schemaArn = Payloads.SCHEMA_ARN;
+            workflowArn = Payloads.MATCHING_WORKFLOW_ARN;
+            schemaName = "benchmarkSchema";
+
+            final ArnCodecBenchmark benchmark = new ArnCodecBenchmark();
+            Payloads.checkSameOutput(benchmark.buildWorkflowArn(this), benchmark.buildWorkflowArnBaseline(this));
+            Payloads.checkSameOutput(benchmark.parseSchemaName(this), benchmark.parseSchemaNameBaseline(this));
+            Payloads.checkSameOutput(benchmark.buildSchemaArn(this), benchmark.buildSchemaArnBaseline(this));
+        }
+    }
+
+    @Benchmark
+    public String buildWorkflowArn(final Arns arns) {
+        return EntityResolutionArn.of(arns.request, EntityResolutionArn.MATCHING_WORKFLOW,
+            arns.request.getDesiredResourceState()
+                        .getWorkflowName());
+    }
+
+    @Benchmark
+    public String buildWorkflowArnBaseline(final Arns arns) {
+        return String.format(WORKFLOW_ARN_FORMAT, arns.request.getAwsPartition(), arns.request.getRegion(),
+            arns.request.getAwsAccountId(),
+            arns.request.getDesiredResourceState()
+                        .getWorkflowName());
+    }
+
+    @Benchmark
+    public String parseSchemaName(final Arns arns) {
+        return EntityResolutionArn.resourceName(arns.schemaArn, EntityResolutionArn.SCHEMA_MAPPING);
+    }
+
+    @Benchmark
+    public String parseSchemaNameBaseline(final Arns arns) {
+        return StreamMatchingWorkflowTranslator.getNameFromArn(arns.schemaArn);
+    }
+
+    @Benchmark
+    public String buildSchemaArn(final Arns arns) {
+        return EntityResolutionArn.sibling(arns.workflowArn, EntityResolutionArn.SCHEMA_MAPPING, arns.schemaName);
+    }
+
+    @Benchmark
+    public String buildSchemaArnBaseline(final Arns arns) {
+        return StreamMatchingWorkflowTranslator.buildSchemaArnFromWorkflowArn(arns.schemaName, arns.workflowArn);
+    }
+}
@@ -0,0 +1,22 @@
+package software.amazon.entityresolution.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the shaded benchmarks jar. Accepts the regular JMH command line and always attaches the GC profiler,
+ * so every run reports {@code gc.alloc.rate.norm} next to throughput.
+ */
+public class BenchmarkRunner {
+
+    public static void main(final String[] args) throws Exception {
+        final Options options = new OptionsBuilder().parent(new CommandLineOptions(args))
+                                                    .addProfiler(GCProfiler.class)
+                                                    .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,204 @@
+package software.amazon.entityresolution.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.entityresolution.localservice.LocalEntityResolutionService;
+import software.amazon.entityresolution.localservice.ServiceBehavior;
+import software.amazon.entityresolution.matchingworkflow.InputSource;
+import software.amazon.entityresolution.matchingworkflow.OutputAttribute;
+import software.amazon.entityresolution.matchingworkflow.OutputSource;
+import software.amazon.entityresolution.matchingworkflow.ResolutionTechniques;
+import software.amazon.entityresolution.matchingworkflow.Rule;
+import software.amazon.entityresolution.matchingworkflow.RuleBasedProperties;
+import software.amazon.entityresolution.schemamapping.SchemaInputAttribute;
+
+/**
+ * Time a fresh JVM takes to serve its first request, with and without the SnapStart priming hooks. Every fork is one
+ * cold container: the unprimed case pays today's init cost (class loading, client construction, marshaller and
+ * translator initialization) inside the first request, while the primed case runs the hooks during setup, the way
+ * Lambda runs them before taking the snapshot, and measures only what is left for a restored container to do.
+ *
+ * <p>{@link #priming} measures the hooks themselves, which is the time SnapStart moves from the first request into
+ * publishing a version. The snapshot restore itself happens inside Lambda and is not part of either number.
+ *
+ * <p>The handlers talk to a {@link LocalEntityResolutionService} with no latency, so network time does not hide the
+ * difference.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class ColdStartBenchmark {
+
+    private static final String REGION = "us-west-2";
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String ENDPOINT_PROPERTY = "entityresolution.endpoint";
+
+    private static final Credentials CREDENTIALS = new Credentials("accessKeyId", "secretAccessKey", "sessionToken");
+    private static final Logger LOGGER = message -> {
+    };
+
+    @State(Scope.Benchmark)
+    public static class LocalService {
+
+        LocalEntityResolutionService service;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            service = new LocalEntityResolutionService(0, ServiceBehavior.defaults());
+            service.start();
+            // The handlers cache one client per region, so the endpoint has to be set before anything builds one.
+            System.setProperty(ENDPOINT_PROPERTY, service.getEndpoint()
+                                                         .toString());
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            service.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Container {
+
+        @Param({"false", "true"})
+        boolean primed;
+
+        @Setup(Level.Trial)
+        public void checkpoint(final LocalService localService) {
+            if (primed) {
+                primeAll();
+            }
+        }
+    }
+
+    @Benchmark
+    public void firstRequest(final LocalService localService, final Container container) {
+        check(new software.amazon.entityresolution.schemamapping.CreateHandler().handleRequest(proxy(),
+            schemaMappingRequest(), null, LOGGER));
+        check(new software.amazon.entityresolution.matchingworkflow.CreateHandler().handleRequest(proxy(),
+            matchingWorkflowRequest(), null, LOGGER));
+    }
+
+    @Benchmark
+    public void priming(final LocalService localService) {
+        primeAll();
+    }
+
+    private static void primeAll() {
+        software.amazon.entityresolution.schemamapping.SnapStartPriming.prime(REGION);
+        software.amazon.entityresolution.matchingworkflow.SnapStartPriming.prime(REGION);
+        software.amazon.entityresolution.idmappingworkflow.SnapStartPriming.prime(REGION);
+    }
+
+    private static AmazonWebServicesClientProxy proxy() {
+        return new AmazonWebServicesClientProxy(new LoggerProxy(), CREDENTIALS, () -> TimeUnit.MINUTES.toMillis(15));
+    }
+
+    private static ResourceHandlerRequest<software.amazon.entityresolution.schemamapping.ResourceModel> schemaMappingRequest() {
+        final software.amazon.entityresolution.schemamapping.ResourceModel model =
+            software.amazon.entityresolution.schemamapping.ResourceModel.builder()
+                                                                        .schemaName("coldStartSchema")
+                                                                        .mappedInputFields(Arrays.asList(
+                                                                            attribute("id", "UNIQUE_ID", null),
+                                                                            attribute("email", "EMAIL_ADDRESS",
+                                                                                "email")))
+                                                                        .build();
+
+        return ResourceHandlerRequest.<software.amazon.entityresolution.schemamapping.ResourceModel>builder()
+                                     .awsPartition("aws")
+                                     .region(REGION)
+                                     .awsAccountId(ACCOUNT_ID)
+                                     .desiredResourceState(model)
+                                     .build();
+    }
+
+    private static ResourceHandlerRequest<software.amazon.entityresolution.matchingworkflow.ResourceModel> matchingWorkflowRequest() {
+        final InputSource inputSource = InputSource.builder()
+                                                   .inputSourceARN(Payloads.INPUT_SOURCE_ARN_PREFIX + "coldStart")
+                                                   .schemaArn(String.format(
+                                                       "arn:aws:entityresolution:%s:%s:schemamapping/coldStartSchema",
+                                                       REGION, ACCOUNT_ID))
+                                                   .build();
+        final OutputSource outputSource = OutputSource.builder()
+                                                      .outputS3Path(Payloads.S3_PATH)
+                                                      .output(Collections.singletonList(OutputAttribute.builder()
+                                                                                                       .name("email")
+                                                                                                       .build()))
+                                                      .build();
+        final RuleBasedProperties ruleBasedProperties = RuleBasedProperties.builder()
+                                                                           .attributeMatchingModel("ONE_TO_ONE")
+                                                                           .rules(Collections.singletonList(
+                                                                               Rule.builder()
+                                                                                   .ruleName("byEmail")
+                                                                                   .matchingKeys(
+                                                                                       Collections.singletonList(
+                                                                                           "email"))
+                                                                                   .build()))
+                                                                           .build();
+
+        final software.amazon.entityresolution.matchingworkflow.ResourceModel model =
+            software.amazon.entityresolution.matchingworkflow.ResourceModel.builder()
+                                                                           .workflowName("coldStartWorkflow")
+                                                                           .inputSourceConfig(
+                                                                               Collections.singletonList(inputSource))
+                                                                           .outputSourceConfig(
+                                                                               Collections.singletonList(outputSource))
+                                                                           .resolutionTechniques(
+                                                                               ResolutionTechniques.builder()
+                                                                                                   .resolutionType(
+                                                                                                       "RULE_MATCHING")
+                                                                                                   .ruleBasedProperties(
+                                                                                                       ruleBasedProperties)
+                                                                                                   .build())
+                                                                           .roleArn(
+                                                                               "arn:aws:iam::123456789012:role/coldStart")
+                                                                           .build();
+
+        return ResourceHandlerRequest.<software.amazon.entityresolution.matchingworkflow.ResourceModel>builder()
+                                     .awsPartition("aws")
+                                     .region(REGION)
+                                     .awsAccountId(ACCOUNT_ID)
+                                     .desiredResourceState(model)
+                                     .build();
+    }
+
+    private static SchemaInputAttribute attribute(final String fieldName, final String type, final String matchKey) {
+        return SchemaInputAttribute.builder()
+                                   .fieldName(fieldName)
+                                   .type(type)
+                                   .matchKey(matchKey)
+                                   .build();
+    }
+
+    /**
+     * A create that failed against the stub would return early and report a misleadingly fast cold start.
+     */
+    private static void check(final ProgressEvent<?, ?> event) {
+        if (event.getStatus() != OperationStatus.SUCCESS) {
+            throw new IllegalStateException("Cold start request did not succeed: " + event.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package software.amazon.entityresolution.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.entityresolution.common.HandlerLogger;
+import software.amazon.entityresolution.matchingworkflow.ResourceModel;
+
+/**
+ * Logging cost of one matching workflow read plus one update, the two handlers that log the most per invocation: one
+ * {@code INFO} message and three {@code DEBUG} ones. {@link #eagerFormatting} is how the handlers used to log, with
+ * every message formatted before the call, and {@link #levelGated} goes through {@link HandlerLogger} the way they do
+ * now. The sink only counts characters, so the numbers are the handler-side cost without any appender I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class HandlerLoggingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Invocation {
+
+        @Param({"INFO", "DEBUG"})
+        String level;
+
+        ResourceModel model;
+        Logger logger;
+        long loggedChars;
+
+        /**
+         * {@link HandlerLogger} reads its level once, when the class initializes. Each parameter runs in its own fork,
+         * and nothing touches the class before the first benchmark call, so setting the property here is early enough.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            System.setProperty("log.level", level);
+            model = ResourceModel.builder()
+                                 .workflowName("loggingBenchmarkWorkflow")
+                                 .build();
+            logger = message -> loggedChars += message.length();
+        }
+    }
+
+    @Benchmark
+    public long eagerFormatting(final Invocation invocation) {
+        final Logger logger = invocation.logger;
+        final ResourceModel requestModel = invocation.model;
+
+        logger.log(String.format("Retrieved Matching Workflow with workflowName = %s", requestModel.getWorkflowName()));
+        logger.log(String.format("Retrieve Tags for workflowName = %s", requestModel.getWorkflowName()));
+        logger.log(String.format("Updated Matching Workflow with workflowName = %s", requestModel.getWorkflowName()));
+        logger.log(String.format("Retrieve Tags for workflowName = %s", requestModel.getWorkflowName()));
+        return invocation.loggedChars;
+    }
+
+    @Benchmark
+    public long levelGated(final Invocation invocation) {
+        final Logger logger = invocation.logger;
+        final ResourceModel requestModel = invocation.model;
+
+        HandlerLogger.debug(logger, () -> String.format("Retrieved Matching Workflow with workflowName = %s",
+            requestModel.getWorkflowName()));
+        HandlerLogger.debug(logger, () -> String.format("Retrieve Tags for workflowName = %s",
+            requestModel.getWorkflowName()));
+        HandlerLogger.info(logger, () -> String.format("Updated Matching Workflow with workflowName = %s",
+            requestModel.getWorkflowName()));
+        HandlerLogger.debug(logger, () -> String.format("Retrieve Tags for workflowName = %s",
+            requestModel.getWorkflowName()));
+        return invocation.loggedChars;
+    }
+}
@@ -0,0 +1,110 @@
+package software.amazon.entityresolution.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.entityresolution.model.IdMappingTechniques;
+import software.amazon.awssdk.services.entityresolution.model.IdMappingWorkflowInputSource;
+import software.amazon.entityresolution.idmappingworkflow.IntermediateSourceConfiguration;
+import software.amazon.entityresolution.idmappingworkflow.ProviderProperties;
+import software.amazon.entityresolution.idmappingworkflow.Translator;
+
+/**
+ * Conversions done by the ID mapping workflow handlers: the provider technique, whose configuration map goes through
+ * {@code Document}, and the input source list, which rebuilds schema ARNs from the workflow ARN.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class IdMappingWorkflowTranslatorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ProviderState {
+
+        @Param({"10", "100", "1000"})
+        int providerConfigurationSize;
+
+        software.amazon.entityresolution.idmappingworkflow.IdMappingTechniques cfnTechniques;
+        IdMappingTechniques veniceTechniques;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final Map<String, String> providerConfiguration = new HashMap<>();
+            for (int i = 0; i < providerConfigurationSize; i++) {
+                providerConfiguration.put("configurationKey" + i, "configurationValue" + i);
+            }
+
+            cfnTechniques = software.amazon.entityresolution.idmappingworkflow.IdMappingTechniques.builder()
+                    .idMappingType("PROVIDER")
+                    .providerProperties(ProviderProperties.builder()
+                            .providerServiceArn(Payloads.PROVIDER_SERVICE_ARN)
+                            .providerConfiguration(providerConfiguration)
+                            .intermediateSourceConfiguration(IntermediateSourceConfiguration.builder()
+                                    .intermediateS3Path(Payloads.S3_PATH)
+                                    .build())
+                            .build())
+                    .build();
+            veniceTechniques = Translator.translateToVeniceResolutionTechniques(cfnTechniques);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class InputSourceState {
+
+        @Param({"1", "5", "20"})
+        int inputSourceCount;
+
+        List<software.amazon.entityresolution.idmappingworkflow.IdMappingWorkflowInputSource> cfnInputSources;
+        List<IdMappingWorkflowInputSource> veniceInputSources;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            cfnInputSources = new ArrayList<>();
+            for (final String name : Payloads.names("inputSource", inputSourceCount)) {
+                cfnInputSources.add(software.amazon.entityresolution.idmappingworkflow.IdMappingWorkflowInputSource.builder()
+                        .inputSourceARN(Payloads.INPUT_SOURCE_ARN_PREFIX + name)
+                        .schemaArn(Payloads.SCHEMA_ARN)
+                        .build());
+            }
+            veniceInputSources = Translator.translateToVeniceInputSourceConfig(cfnInputSources);
+        }
+    }
+
+    @Benchmark
+    public IdMappingTechniques providerToVenice(final ProviderState state) {
+        return Translator.translateToVeniceResolutionTechniques(state.cfnTechniques);
+    }
+
+    @Benchmark
+    public software.amazon.entityresolution.idmappingworkflow.IdMappingTechniques providerToCfn(
+            final ProviderState state) {
+        return Translator.translateToCfnResolutionTechniques(state.veniceTechniques);
+    }
+
+    @Benchmark
+    public List<IdMappingWorkflowInputSource> inputSourceToVenice(final InputSourceState state) {
+        return Translator.translateToVeniceInputSourceConfig(state.cfnInputSources);
+    }
+
+    @Benchmark
+    public List<software.amazon.entityresolution.idmappingworkflow.IdMappingWorkflowInputSource> inputSourceToCfn(
+            final InputSourceState state) {
+        return Translator.translateToCfnInputSourceConfig(state.veniceInputSources, Payloads.ID_MAPPING_WORKFLOW_ARN);
+    }
+}
@@ -0,0 +1,288 @@
+package software.amazon.entityresolution.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.entityresolution.model.InputSource;
+import software.amazon.awssdk.services.entityresolution.model.OutputSource;
+import software.amazon.awssdk.services.entityresolution.model.ResolutionTechniques;
+import software.amazon.entityresolution.matchingworkflow.IntermediateSourceConfiguration;
+import software.amazon.entityresolution.matchingworkflow.OutputAttribute;
+import software.amazon.entityresolution.matchingworkflow.ProviderProperties;
+import software.amazon.entityresolution.matchingworkflow.Rule;
+import software.amazon.entityresolution.matchingworkflow.RuleBasedProperties;
+import software.amazon.entityresolution.matchingworkflow.Translator;
+
+/**
+ * Conversions done by the matching workflow handlers on every create, read and update: input sources, output sources,
+ * rule based and provider resolution techniques, each in both directions. Every case runs against the handler's
+ * {@link Translator} and against {@link StreamMatchingWorkflowTranslator} as a baseline, and each fixture fails its
+ * setup if the two disagree.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MatchingWorkflowTranslatorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RuleBasedState {
+
+        @Param({"1", "10", "25"})
+        int fieldCount;
+
+        @Param({"1", "5", "15"})
+        int ruleCount;
+
+        software.amazon.entityresolution.matchingworkflow.ResolutionTechniques cfnTechniques;
+        ResolutionTechniques veniceTechniques;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final List<Rule> rules = new ArrayList<>();
+            for (int i = 0; i < ruleCount; i++) {
+                rules.add(Rule.builder()
+                              .ruleName("rule" + i)
+                              .matchingKeys(Payloads.names("matchKey", fieldCount))
+                              .build());
+            }
+
+            cfnTechniques = software.amazon.entityresolution.matchingworkflow.ResolutionTechniques.builder()
+                                                                                                  .resolutionType(
+                                                                                                      "RULE_MATCHING")
+                                                                                                  .ruleBasedProperties(
+                                                                                                      RuleBasedProperties.builder()
+                                                                                                                         .attributeMatchingModel(
+                                                                                                                             "ONE_TO_ONE")
+                                                                                                                         .rules(
+                                                                                                                             rules)
+                                                                                                                         .build())
+                                                                                                  .build();
+            veniceTechniques = Translator.translateToVeniceResolutionTechniques(cfnTechniques);
+
+            Payloads.checkSameOutput(veniceTechniques,
+                StreamMatchingWorkflowTranslator.translateToVeniceResolutionTechniques(cfnTechniques));
+            Payloads.checkSameOutput(Translator.translateToCfnResolutionTechniques(veniceTechniques),
+                StreamMatchingWorkflowTranslator.translateToCfnResolutionTechniques(veniceTechniques));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ProviderState {
+
+        @Param({"10", "100", "1000"})
+        int providerConfigurationSize;
+
+        software.amazon.entityresolution.matchingworkflow.ResolutionTechniques cfnTechniques;
+        ResolutionTechniques veniceTechniques;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final Map<String, String> providerConfiguration = new HashMap<>();
+            for (int i = 0; i < providerConfigurationSize; i++) {
+                providerConfiguration.put("configurationKey" + i, "configurationValue" + i);
+            }
+
+            cfnTechniques = software.amazon.entityresolution.matchingworkflow.ResolutionTechniques.builder()
+                                                                                                  .resolutionType(
+                                                                                                      "PROVIDER")
+                                                                                                  .providerProperties(
+                                                                                                      ProviderProperties.builder()
+                                                                                                                        .providerServiceArn(
+                                                                                                                            Payloads.PROVIDER_SERVICE_ARN)
+                                                                                                                        .providerConfiguration(
+                                                                                                                            providerConfiguration)
+                                                                                                                        .intermediateSourceConfiguration(
+                                                                                                                            IntermediateSourceConfiguration.builder()
+                                                                                                                                                           .intermediateS3Path(
+                                                                                                                                                               Payloads.S3_PATH)
+                                                                                                                                                           .build())
+                                                                                                                        .build())
+                                                                                                  .build();
+            veniceTechniques = Translator.translateToVeniceResolutionTechniques(cfnTechniques);
+
+            Payloads.checkSameOutput(veniceTechniques,
+                StreamMatchingWorkflowTranslator.translateToVeniceResolutionTechniques(cfnTechniques));
+            Payloads.checkSameOutput(Translator.translateToCfnResolutionTechniques(veniceTechniques),
+                StreamMatchingWorkflowTranslator.translateToCfnResolutionTechniques(veniceTechniques));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class InputSourceState {
+
+        @Param({"1", "5", "20"})
+        int inputSourceCount;
+
+        List<software.amazon.entityresolution.matchingworkflow.InputSource> cfnInputSources;
+        List<InputSource> veniceInputSources;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            cfnInputSources = new ArrayList<>();
+            for (final String name : Payloads.names("inputSource", inputSourceCount)) {
+                cfnInputSources.add(software.amazon.entityresolution.matchingworkflow.InputSource.builder()
+                                                                                                 .inputSourceARN(
+                                                                                                     Payloads.INPUT_SOURCE_ARN_PREFIX
+                                                                                                         + name)
+                                                                                                 .schemaArn(
+                                                                                                     Payloads.SCHEMA_ARN)
+                                                                                                 .applyNormalization(
+                                                                                                     Boolean.TRUE)
+                                                                                                 .build());
+            }
+            veniceInputSources = Translator.translateToVeniceInputSourceConfig(cfnInputSources);
+
+            Payloads.checkSameOutput(veniceInputSources,
+                StreamMatchingWorkflowTranslator.translateToVeniceInputSourceConfig(cfnInputSources));
+            Payloads.checkSameOutput(
+                Translator.translateToCfnInputSourceConfig(veniceInputSources, Payloads.MATCHING_WORKFLOW_ARN),
+                StreamMatchingWorkflowTranslator.translateToCfnInputSourceConfig(veniceInputSources,
+                    Payloads.MATCHING_WORKFLOW_ARN));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OutputSourceState {
+
+        @Param({"1", "10", "25"})
+        int fieldCount;
+
+        List<software.amazon.entityresolution.matchingworkflow.OutputSource> cfnOutputSources;
+        List<OutputSource> veniceOutputSources;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final List<OutputAttribute> output = new ArrayList<>();
+            for (final String name : Payloads.names("field", fieldCount)) {
+                output.add(OutputAttribute.builder()
+                                          .name(name)
+                                          .hashed(Boolean.FALSE)
+                                          .build());
+            }
+
+            final List<software.amazon.entityresolution.matchingworkflow.OutputSource> outputSources = new ArrayList<>();
+            outputSources.add(software.amazon.entityresolution.matchingworkflow.OutputSource.builder()
+                                                                                            .outputS3Path(
+                                                                                                Payloads.S3_PATH)
+                                                                                            .kMSArn(
+                                                                                                Payloads.KMS_ARN)
+                                                                                            .applyNormalization(
+                                                                                                Boolean.TRUE)
+                                                                                            .output(output)
+                                                                                            .build());
+
+            cfnOutputSources = outputSources;
+            veniceOutputSources = Translator.translateToVeniceOutputSourceConfig(cfnOutputSources);
+
+            Payloads.checkSameOutput(veniceOutputSources,
+                StreamMatchingWorkflowTranslator.translateToVeniceOutputSourceConfig(cfnOutputSources));
+            Payloads.checkSameOutput(Translator.translateToCfnOutputSourceConfig(veniceOutputSources),
+                StreamMatchingWorkflowTranslator.translateToCfnOutputSourceConfig(veniceOutputSources));
+        }
+    }
+
+    @Benchmark
+    public List<InputSource> inputSourceToVenice(final InputSourceState state) {
+        return Translator.translateToVeniceInputSourceConfig(state.cfnInputSources);
+    }
+
+    @Benchmark
+    public List<InputSource> inputSourceToVeniceStreams(final InputSourceState state) {
+        return StreamMatchingWorkflowTranslator.translateToVeniceInputSourceConfig(state.cfnInputSources);
+    }
+
+    @Benchmark
+    public List<software.amazon.entityresolution.matchingworkflow.InputSource> inputSourceToCfn(
+        final InputSourceState state) {
+        return Translator.translateToCfnInputSourceConfig(state.veniceInputSources, Payloads.MATCHING_WORKFLOW_ARN);
+    }
+
+    @Benchmark
+    public List<software.amazon.entityresolution.matchingworkflow.InputSource> inputSourceToCfnStreams(
+        final InputSourceState state) {
+        return StreamMatchingWorkflowTranslator.translateToCfnInputSourceConfig(state.veniceInputSources,
+            Payloads.MATCHING_WORKFLOW_ARN);
+    }
+
+    @Benchmark
+    public ResolutionTechniques ruleBasedToVenice(final RuleBasedState state) {
+        return Translator.translateToVeniceResolutionTechniques(state.cfnTechniques);
+    }
+
+    @Benchmark
+    public ResolutionTechniques ruleBasedToVeniceStreams(final RuleBasedState state) {
+        return StreamMatchingWorkflowTranslator.translateToVeniceResolutionTechniques(state.cfnTechniques);
+    }
+
+    @Benchmark
+    public software.amazon.entityresolution.matchingworkflow.ResolutionTechniques ruleBasedToCfn(
+        final RuleBasedState state) {
+        return Translator.translateToCfnResolutionTechniques(state.veniceTechniques);
+    }
+
+    @Benchmark
+    public software.amazon.entityresolution.matchingworkflow.ResolutionTechniques ruleBasedToCfnStreams(
+        final RuleBasedState state) {
+        return StreamMatchingWorkflowTranslator.translateToCfnResolutionTechniques(state.veniceTechniques);
+    }
+
+    @Benchmark
+    public ResolutionTechniques providerToVenice(final ProviderState state) {
+        return Translator.translateToVeniceResolutionTechniques(state.cfnTechniques);
+    }
+
+    @Benchmark
+    public ResolutionTechniques providerToVeniceStreams(final ProviderState state) {
+        return StreamMatchingWorkflowTranslator.translateToVeniceResolutionTechniques(state.cfnTechniques);
+    }
+
+    @Benchmark
+    public software.amazon.entityresolution.matchingworkflow.ResolutionTechniques providerToCfn(
+        final ProviderState state) {
+        return Translator.translateToCfnResolutionTechniques(state.veniceTechniques);
+    }
+
+    @Benchmark
+    public software.amazon.entityresolution.matchingworkflow.ResolutionTechniques providerToCfnStreams(
+        final ProviderState state) {
+        return StreamMatchingWorkflowTranslator.translateToCfnResolutionTechniques(state.veniceTechniques);
+    }
+
+    @Benchmark
+    public List<OutputSource> outputSourceToVenice(final OutputSourceState state) {
+        return Translator.translateToVeniceOutputSourceConfig(state.cfnOutputSources);
+    }
+
+    @Benchmark
+    public List<OutputSource> outputSourceToVeniceStreams(final OutputSourceState state) {
+        return StreamMatchingWorkflowTranslator.translateToVeniceOutputSourceConfig(state.cfnOutputSources);
+    }
+
+    @Benchmark
+    public List<software.amazon.entityresolution.matchingworkflow.OutputSource> outputSourceToCfn(
+        final OutputSourceState state) {
+        return Translator.translateToCfnOutputSourceConfig(state.veniceOutputSources);
+    }
+
+    @Benchmark
+    public List<software.amazon.entityresolution.matchingworkflow.OutputSource> outputSourceToCfnStreams(
+        final OutputSourceState state) {
+        return StreamMatchingWorkflowTranslator.translateToCfnOutputSourceConfig(state.veniceOutputSources);
+    }
+}
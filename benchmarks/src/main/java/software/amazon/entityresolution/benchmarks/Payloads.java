@@ -0,0 +1,44 @@
+package software.amazon.entityresolution.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Identifiers and name generators shared by the benchmark fixtures.
+ */
+final class Payloads {
+
+    static final String PROVIDER_SERVICE_ARN =
+        "arn:aws:entityresolution:us-east-1:123456789012:providerservice/provider/service";
+    static final String S3_PATH = "s3://entity-resolution-benchmark/output/";
+    static final String KMS_ARN = "arn:aws:kms:us-east-1:123456789012:key/11111111-2222-3333-4444-555555555555";
+    static final String ID_MAPPING_WORKFLOW_ARN =
+        "arn:aws:entityresolution:us-east-1:123456789012:idmappingworkflow/benchmarkWorkflow";
+    static final String MATCHING_WORKFLOW_ARN =
+        "arn:aws:entityresolution:us-east-1:123456789012:matchingworkflow/benchmarkWorkflow";
+    static final String INPUT_SOURCE_ARN_PREFIX = "arn:aws:glue:us-east-1:123456789012:table/benchmark/";
+    static final String SCHEMA_ARN = "arn:aws:entityresolution:us-east-1:123456789012:schemamapping/benchmarkSchema";
+
+    private Payloads() {
+    }
+
+    static List<String> names(final String prefix, final int count) {
+        final List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(prefix + i);
+        }
+        return names;
+    }
+
+    /**
+     * Fails the trial when a translator under test and its baseline disagree, so a faster translator can never be
+     * reported for output that differs from the one it replaces.
+     */
+    static void checkSameOutput(final Object actual, final Object expected) {
+        if (!Objects.equals(actual, expected)) {
+            throw new IllegalStateException(String.format("Translator output %s differs from baseline %s", actual,
+                expected));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package software.amazon.entityresolution.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.entityresolution.model.SchemaInputAttribute;
+import software.amazon.entityresolution.schemamapping.Translator;
+
+/**
+ * Mapped input field conversion done by the schema mapping handlers, sized from a single field up to a wide customer
+ * record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SchemaMappingTranslatorBenchmark {
+
+    @Param({"1", "10", "25"})
+    int fieldCount;
+
+    List<software.amazon.entityresolution.schemamapping.SchemaInputAttribute> cfnAttributes;
+    List<SchemaInputAttribute> veniceAttributes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cfnAttributes = new ArrayList<>();
+        for (final String name : Payloads.names("field", fieldCount)) {
+            cfnAttributes.add(software.amazon.entityresolution.schemamapping.SchemaInputAttribute.builder()
+                                                                                                 .fieldName(name)
+                                                                                                 .type("NAME")
+                                                                                                 .subType("FIRST")
+                                                                                                 .groupName("name")
+                                                                                                 .matchKey(
+                                                                                                     "matchKey")
+                                                                                                 .build());
+        }
+        veniceAttributes = Translator.translateFromInternalSchemaInputAttributes(cfnAttributes);
+    }
+
+    @Benchmark
+    public List<SchemaInputAttribute> toVenice() {
+        return Translator.translateFromInternalSchemaInputAttributes(cfnAttributes);
+    }
+
+    @Benchmark
+    public List<software.amazon.entityresolution.schemamapping.SchemaInputAttribute> toCfn() {
+        return Translator.translateToInternalSchemaInputAttributes(veniceAttributes);
+    }
+}
@@ -0,0 +1,63 @@
+package software.amazon.entityresolution.loadtests;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+/**
+ * Latencies and failures of one handler, such as the schema mapping create handler, within one phase.
+ */
+class HandlerStats {
+
+    private long[] latencyNanos = new long[64];
+    private int invocations;
+    private final Map<HandlerErrorCode, Integer> failures = new EnumMap<>(HandlerErrorCode.class);
+
+    /**
+     * @param errorCode the error the invocation failed with, or {@code null} if it succeeded
+     */
+    synchronized void record(final long nanos, final HandlerErrorCode errorCode) {
+        if (invocations == latencyNanos.length) {
+            latencyNanos = Arrays.copyOf(latencyNanos, invocations * 2);
+        }
+        latencyNanos[invocations++] = nanos;
+
+        if (errorCode != null) {
+            failures.merge(errorCode, 1, Integer::sum);
+        }
+    }
+
+    synchronized int getInvocations() {
+        return invocations;
+    }
+
+    synchronized int getFailures() {
+        return failures.values()
+                       .stream()
+                       .mapToInt(Integer::intValue)
+                       .sum();
+    }
+
+    synchronized int getFailures(final HandlerErrorCode errorCode) {
+        return failures.getOrDefault(errorCode, 0);
+    }
+
+    synchronized Map<HandlerErrorCode, Integer> getFailuresByErrorCode() {
+        return new EnumMap<>(failures);
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds, e.g. {@code percentileMillis(0.99)} for p99.
+     */
+    synchronized double percentileMillis(final double percentile) {
+        if (invocations == 0) {
+            return 0;
+        }
+
+        final long[] sorted = Arrays.copyOf(latencyNanos, invocations);
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile * invocations);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,92 @@
+package software.amazon.entityresolution.loadtests;
+
+import java.util.Collections;
+import software.amazon.entityresolution.idmappingworkflow.CallbackContext;
+import software.amazon.entityresolution.idmappingworkflow.CreateHandler;
+import software.amazon.entityresolution.idmappingworkflow.DeleteHandler;
+import software.amazon.entityresolution.idmappingworkflow.IdMappingTechniques;
+import software.amazon.entityresolution.idmappingworkflow.IdMappingWorkflowInputSource;
+import software.amazon.entityresolution.idmappingworkflow.IdMappingWorkflowOutputSource;
+import software.amazon.entityresolution.idmappingworkflow.IntermediateSourceConfiguration;
+import software.amazon.entityresolution.idmappingworkflow.ListHandler;
+import software.amazon.entityresolution.idmappingworkflow.ProviderProperties;
+import software.amazon.entityresolution.idmappingworkflow.ReadHandler;
+import software.amazon.entityresolution.idmappingworkflow.ResourceModel;
+import software.amazon.entityresolution.idmappingworkflow.UpdateHandler;
+
+/**
+ * Provider-based ID mapping workflows, each reading one table through the schema mapping with the same index.
+ */
+class IdMappingWorkflowDriver extends ResourceDriver<ResourceModel, CallbackContext> {
+
+    private static final String PROVIDER_SERVICE_ARN =
+        "arn:aws:entityresolution:%s::providerservice/LiveRamp/Assignment";
+
+    private final String providerServiceArn;
+
+    IdMappingWorkflowDriver(final String region, final String accountId) {
+        super("IdMappingWorkflow", region, accountId);
+        this.providerServiceArn = String.format(PROVIDER_SERVICE_ARN, region);
+    }
+
+    @Override
+    ResourceModel model(final int index, final int revision) {
+        return ResourceModel.builder()
+                            .workflowName(workflowName(index))
+                            .description("Load test ID mapping workflow, revision " + revision)
+                            .inputSourceConfig(Collections.singletonList(IdMappingWorkflowInputSource.builder()
+                                                                                                     .inputSourceARN(
+                                                                                                         inputSourceArn(
+                                                                                                             index))
+                                                                                                     .schemaArn(
+                                                                                                         schemaArn(
+                                                                                                             index))
+                                                                                                     .build()))
+                            .outputSourceConfig(Collections.singletonList(IdMappingWorkflowOutputSource.builder()
+                                                                                                       .outputS3Path(
+                                                                                                           S3_PATH)
+                                                                                                       .build()))
+                            .idMappingTechniques(IdMappingTechniques.builder()
+                                                                    .idMappingType("PROVIDER")
+                                                                    .providerProperties(
+                                                                        ProviderProperties.builder()
+                                                                                          .providerServiceArn(
+                                                                                              providerServiceArn)
+                                                                                          .intermediateSourceConfiguration(
+                                                                                              IntermediateSourceConfiguration.builder()
+                                                                                                                             .intermediateS3Path(
+                                                                                                                                 S3_PATH)
+                                                                                                                             .build())
+                                                                                          .build())
+                                                                    .build())
+                            .roleArn(roleArn())
+                            .build();
+    }
+
+    @Override
+    ResourceModel identifier(final int index) {
+        return ResourceModel.builder()
+                            .workflowName(workflowName(index))
+                            .build();
+    }
+
+    @Override
+    Handler<ResourceModel, CallbackContext> handler(final Action action) {
+        switch (action) {
+            case CREATE:
+                return new CreateHandler()::handleRequest;
+            case READ:
+                return new ReadHandler()::handleRequest;
+            case UPDATE:
+                return new UpdateHandler()::handleRequest;
+            case DELETE:
+                return new DeleteHandler()::handleRequest;
+            default:
+                return new ListHandler()::handleRequest;
+        }
+    }
+
+    private static String workflowName(final int index) {
+        return String.format("loadTestIdMapping%05d", index);
+    }
+}
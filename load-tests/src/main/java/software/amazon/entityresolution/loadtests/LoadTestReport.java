@@ -0,0 +1,118 @@
+package software.amazon.entityresolution.loadtests;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+
+/**
+ * Results of a load test, one entry per phase of the simulated stack lifecycle.
+ */
+class LoadTestReport {
+
+    private final int stackSize;
+    private final int concurrency;
+    private final List<Phase> phases = new ArrayList<>();
+
+    LoadTestReport(final int stackSize, final int concurrency) {
+        this.stackSize = stackSize;
+        this.concurrency = concurrency;
+    }
+
+    void add(final Phase phase) {
+        phases.add(phase);
+    }
+
+    List<Phase> getPhases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    Phase getPhase(final String name) {
+        return phases.stream()
+                     .filter(phase -> phase.name.equals(name))
+                     .findFirst()
+                     .orElseThrow(() -> new IllegalArgumentException("No phase " + name));
+    }
+
+    void print(final PrintStream out) {
+        out.printf("Stack of %d resources per type, %d concurrent handler invocations%n", stackSize, concurrency);
+
+        for (final Phase phase : phases) {
+            out.printf("%nPhase %s: %d invocations in %d ms, %.2f service calls per invocation%n", phase.name,
+                phase.getInvocations(), phase.wallMillis, phase.getServiceCallsPerInvocation());
+            out.printf("  %-28s %7s %8s %10s %9s %9s %9s%n", "handler", "count", "failed", "throttled", "p50 ms",
+                "p99 ms", "max ms");
+
+            phase.handlers.forEach((handler, stats) -> out.printf("  %-28s %7d %7.1f%% %9.1f%% %9.1f %9.1f %9.1f%n",
+                handler, stats.getInvocations(), percent(stats.getFailures(), stats.getInvocations()),
+                percent(stats.getFailures(HandlerErrorCode.Throttling), stats.getInvocations()),
+                stats.percentileMillis(0.5), stats.percentileMillis(0.99), stats.percentileMillis(1)));
+            phase.handlers.forEach((handler, stats) -> {
+                if (stats.getFailures() > 0) {
+                    out.printf("  %s failures: %s%n", handler, stats.getFailuresByErrorCode());
+                }
+            });
+            out.printf("  service calls: %s%n", phase.serviceCalls);
+        }
+    }
+
+    private static double percent(final int count, final int total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+
+    static class Phase {
+
+        private final String name;
+        private final long wallMillis;
+        private final Map<String, HandlerStats> handlers;
+        private final Map<String, Long> serviceCalls;
+
+        Phase(
+            final String name,
+            final long wallMillis,
+            final Map<String, HandlerStats> handlers,
+            final Map<String, Long> serviceCalls) {
+            this.name = name;
+            this.wallMillis = wallMillis;
+            this.handlers = new TreeMap<>(handlers);
+            this.serviceCalls = new TreeMap<>(serviceCalls);
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Map<String, HandlerStats> getHandlers() {
+            return Collections.unmodifiableMap(handlers);
+        }
+
+        Map<String, Long> getServiceCalls() {
+            return Collections.unmodifiableMap(serviceCalls);
+        }
+
+        int getInvocations() {
+            return handlers.values()
+                           .stream()
+                           .mapToInt(HandlerStats::getInvocations)
+                           .sum();
+        }
+
+        int getFailures() {
+            return handlers.values()
+                           .stream()
+                           .mapToInt(HandlerStats::getFailures)
+                           .sum();
+        }
+
+        double getServiceCallsPerInvocation() {
+            final long calls = serviceCalls.values()
+                                           .stream()
+                                           .mapToLong(Long::longValue)
+                                           .sum();
+            return getInvocations() == 0 ? 0 : (double) calls / getInvocations();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package software.amazon.entityresolution.loadtests;
+
+import software.amazon.entityresolution.localservice.LocalEntityResolutionService;
+import software.amazon.entityresolution.localservice.ServiceBehavior;
+
+/**
+ * Starts the local Entity Resolution service, points the handlers' clients at it and runs a {@link StackLoadTest}.
+ *
+ * <p>The stack is sized with {@code -Dloadtest.stackSize} (resources per type, default 100) and
+ * {@code -Dloadtest.concurrency} (parallel handler invocations, default 16). The service is configured with the
+ * {@code localservice.*} properties and defaults to a log-normal latency around 40 ms.
+ */
+public class LoadTestRunner {
+
+    static final String ENDPOINT_PROPERTY = "entityresolution.endpoint";
+
+    private static final String DEFAULT_LATENCY = "lognormal:40:0.5";
+
+    public static void main(final String[] args) throws Exception {
+        final int stackSize = Integer.getInteger("loadtest.stackSize", 100);
+        final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        if (System.getProperty("localservice.latency") == null) {
+            System.setProperty("localservice.latency", DEFAULT_LATENCY);
+        }
+
+        final LocalEntityResolutionService service =
+            new LocalEntityResolutionService(0, ServiceBehavior.fromSystemProperties());
+        service.start();
+        try {
+            // Must be set before the first handler runs: the clients are built once and cached per region.
+            System.setProperty(ENDPOINT_PROPERTY, service.getEndpoint()
+                                                         .toString());
+
+            new StackLoadTest(service, stackSize, concurrency).run()
+                                                              .print(System.out);
+        } finally {
+            service.stop();
+        }
+    }
+}
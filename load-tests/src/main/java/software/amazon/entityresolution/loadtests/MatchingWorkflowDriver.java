@@ -0,0 +1,104 @@
+package software.amazon.entityresolution.loadtests;
+
+import java.util.Arrays;
+import java.util.Collections;
+import software.amazon.entityresolution.matchingworkflow.CallbackContext;
+import software.amazon.entityresolution.matchingworkflow.CreateHandler;
+import software.amazon.entityresolution.matchingworkflow.DeleteHandler;
+import software.amazon.entityresolution.matchingworkflow.InputSource;
+import software.amazon.entityresolution.matchingworkflow.ListHandler;
+import software.amazon.entityresolution.matchingworkflow.OutputAttribute;
+import software.amazon.entityresolution.matchingworkflow.OutputSource;
+import software.amazon.entityresolution.matchingworkflow.ReadHandler;
+import software.amazon.entityresolution.matchingworkflow.ResolutionTechniques;
+import software.amazon.entityresolution.matchingworkflow.ResourceModel;
+import software.amazon.entityresolution.matchingworkflow.Rule;
+import software.amazon.entityresolution.matchingworkflow.RuleBasedProperties;
+import software.amazon.entityresolution.matchingworkflow.UpdateHandler;
+
+/**
+ * Rule-based matching workflows, each reading one table through the schema mapping with the same index.
+ */
+class MatchingWorkflowDriver extends ResourceDriver<ResourceModel, CallbackContext> {
+
+    MatchingWorkflowDriver(final String region, final String accountId) {
+        super("MatchingWorkflow", region, accountId);
+    }
+
+    @Override
+    ResourceModel model(final int index, final int revision) {
+        return ResourceModel.builder()
+                            .workflowName(workflowName(index))
+                            .description("Load test matching workflow, revision " + revision)
+                            .inputSourceConfig(Collections.singletonList(InputSource.builder()
+                                                                                    .inputSourceARN(
+                                                                                        inputSourceArn(index))
+                                                                                    .schemaArn(schemaArn(index))
+                                                                                    .applyNormalization(true)
+                                                                                    .build()))
+                            .outputSourceConfig(Collections.singletonList(OutputSource.builder()
+                                                                                      .outputS3Path(S3_PATH)
+                                                                                      .applyNormalization(true)
+                                                                                      .output(Arrays.asList(
+                                                                                          output("id"),
+                                                                                          output("name"),
+                                                                                          output("email")))
+                                                                                      .build()))
+                            .resolutionTechniques(ResolutionTechniques.builder()
+                                                                      .resolutionType("RULE_MATCHING")
+                                                                      .ruleBasedProperties(
+                                                                          RuleBasedProperties.builder()
+                                                                                             .attributeMatchingModel(
+                                                                                                 "ONE_TO_ONE")
+                                                                                             .rules(Arrays.asList(
+                                                                                                 rule("byEmail",
+                                                                                                     "email"),
+                                                                                                 rule("byNameAndPhone",
+                                                                                                     "name", "phone")))
+                                                                                             .build())
+                                                                      .build())
+                            .roleArn(roleArn())
+                            .build();
+    }
+
+    @Override
+    ResourceModel identifier(final int index) {
+        return ResourceModel.builder()
+                            .workflowName(workflowName(index))
+                            .build();
+    }
+
+    @Override
+    Handler<ResourceModel, CallbackContext> handler(final Action action) {
+        switch (action) {
+            case CREATE:
+                return new CreateHandler()::handleRequest;
+            case READ:
+                return new ReadHandler()::handleRequest;
+            case UPDATE:
+                return new UpdateHandler()::handleRequest;
+            case DELETE:
+                return new DeleteHandler()::handleRequest;
+            default:
+                return new ListHandler()::handleRequest;
+        }
+    }
+
+    private static String workflowName(final int index) {
+        return String.format("loadTestMatching%05d", index);
+    }
+
+    private static OutputAttribute output(final String name) {
+        return OutputAttribute.builder()
+                              .name(name)
+                              .hashed(false)
+                              .build();
+    }
+
+    private static Rule rule(final String ruleName, final String... matchingKeys) {
+        return Rule.builder()
+                   .ruleName(ruleName)
+                   .matchingKeys(Arrays.asList(matchingKeys))
+                   .build();
+    }
+}
@@ -0,0 +1,96 @@
+package software.amazon.entityresolution.loadtests;
+
+import java.util.HashMap;
+import java.util.Map;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Builds the models of one resource type for a stack of a given size and hands out its handlers. Each module generates
+ * its own {@code ResourceModel}, {@code CallbackContext} and {@code BaseHandler}, so the harness drives them through
+ * this class instead of a shared handler type.
+ */
+abstract class ResourceDriver<ModelT, ContextT> {
+
+    enum Action {
+        CREATE,
+        READ,
+        UPDATE,
+        DELETE,
+        LIST
+    }
+
+    @FunctionalInterface
+    interface Handler<ModelT, ContextT> {
+        ProgressEvent<ModelT, ContextT> handleRequest(
+            AmazonWebServicesClientProxy proxy,
+            ResourceHandlerRequest<ModelT> request,
+            ContextT callbackContext,
+            Logger logger);
+    }
+
+    static final String ROLE_ARN = "arn:aws:iam::%s:role/entity-resolution-load-test";
+    static final String S3_PATH = "s3://entity-resolution-load-test/";
+
+    private final String name;
+    private final String region;
+    private final String accountId;
+
+    ResourceDriver(final String name, final String region, final String accountId) {
+        this.name = name;
+        this.region = region;
+        this.accountId = accountId;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * The desired state of the resource at {@code index} after {@code revision} stack updates.
+     */
+    abstract ModelT model(int index, int revision);
+
+    /**
+     * The primary identifier only, which is all CloudFormation passes to a read.
+     */
+    abstract ModelT identifier(int index);
+
+    /**
+     * A new handler, as a fresh Lambda container would create one. Clients and rate limiters are static in each
+     * module, so they are still shared by every handler of that module in this JVM.
+     */
+    abstract Handler<ModelT, ContextT> handler(Action action);
+
+    /**
+     * Stack tags for a revision. Each update changes one tag and drops another, so updates exercise both tagging
+     * calls.
+     */
+    static Map<String, String> tags(final int revision) {
+        final Map<String, String> tags = new HashMap<>();
+        tags.put("stack", "entity-resolution-load-test");
+        tags.put("revision", String.valueOf(revision));
+        if (revision % 2 == 0) {
+            tags.put("owner", "load-test");
+        }
+        return tags;
+    }
+
+    static String schemaName(final int index) {
+        return String.format("loadTestSchema%05d", index);
+    }
+
+    String schemaArn(final int index) {
+        return String.format("arn:aws:entityresolution:%s:%s:schemamapping/%s", region, accountId, schemaName(index));
+    }
+
+    String inputSourceArn(final int index) {
+        return String.format("arn:aws:glue:%s:%s:table/load_test/table%05d", region, accountId, index);
+    }
+
+    String roleArn() {
+        return String.format(ROLE_ARN, accountId);
+    }
+}
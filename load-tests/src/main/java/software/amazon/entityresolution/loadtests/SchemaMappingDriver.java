@@ -0,0 +1,68 @@
+package software.amazon.entityresolution.loadtests;
+
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.entityresolution.schemamapping.CallbackContext;
+import software.amazon.entityresolution.schemamapping.CreateHandler;
+import software.amazon.entityresolution.schemamapping.DeleteHandler;
+import software.amazon.entityresolution.schemamapping.ListHandler;
+import software.amazon.entityresolution.schemamapping.ReadHandler;
+import software.amazon.entityresolution.schemamapping.ResourceModel;
+import software.amazon.entityresolution.schemamapping.SchemaInputAttribute;
+import software.amazon.entityresolution.schemamapping.UpdateHandler;
+
+/**
+ * Schema mappings with a unique ID and three matched fields, the shape of a typical customer record.
+ */
+class SchemaMappingDriver extends ResourceDriver<ResourceModel, CallbackContext> {
+
+    SchemaMappingDriver(final String region, final String accountId) {
+        super("SchemaMapping", region, accountId);
+    }
+
+    @Override
+    ResourceModel model(final int index, final int revision) {
+        final List<SchemaInputAttribute> mappedInputFields = new ArrayList<>();
+        mappedInputFields.add(attribute("id", "UNIQUE_ID", null));
+        mappedInputFields.add(attribute("name", "NAME", "name"));
+        mappedInputFields.add(attribute("email", "EMAIL_ADDRESS", "email"));
+        mappedInputFields.add(attribute("phone", "PHONE_NUMBER", "phone"));
+
+        return ResourceModel.builder()
+                            .schemaName(schemaName(index))
+                            .description("Load test schema, revision " + revision)
+                            .mappedInputFields(mappedInputFields)
+                            .build();
+    }
+
+    @Override
+    ResourceModel identifier(final int index) {
+        return ResourceModel.builder()
+                            .schemaName(schemaName(index))
+                            .build();
+    }
+
+    @Override
+    Handler<ResourceModel, CallbackContext> handler(final Action action) {
+        switch (action) {
+            case CREATE:
+                return new CreateHandler()::handleRequest;
+            case READ:
+                return new ReadHandler()::handleRequest;
+            case UPDATE:
+                return new UpdateHandler()::handleRequest;
+            case DELETE:
+                return new DeleteHandler()::handleRequest;
+            default:
+                return new ListHandler()::handleRequest;
+        }
+    }
+
+    private static SchemaInputAttribute attribute(final String fieldName, final String type, final String matchKey) {
+        return SchemaInputAttribute.builder()
+                                   .fieldName(fieldName)
+                                   .type(type)
+                                   .matchKey(matchKey)
+                                   .build();
+    }
+}
@@ -0,0 +1,301 @@
+package software.amazon.entityresolution.loadtests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.DelayFactory;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.proxy.WaitStrategy;
+import software.amazon.entityresolution.loadtests.ResourceDriver.Action;
+import software.amazon.entityresolution.localservice.LocalEntityResolutionService;
+
+/**
+ * Drives the handlers of all three resource types through the lifecycle of a stack that holds {@code stackSize}
+ * resources of each type: the schema mappings are created first, then the workflows that read from them, everything
+ * is read, updated and listed, and the workflows are deleted before the schema mappings they depend on. Up to
+ * {@code concurrency} handler invocations run at a time, the way CloudFormation provisions independent resources of a
+ * stack in parallel.
+ *
+ * <p>A resource whose create fails is left out of the later phases, so one failure is reported once instead of again
+ * as a not-found in every phase after it.
+ */
+class StackLoadTest {
+
+    static final String REGION = "us-west-2";
+
+    /**
+     * Handlers that wait for propagation or retry a throttled call return {@code IN_PROGRESS}. The harness re-invokes
+     * them right away rather than after the callback delay, and gives up after this many invocations.
+     */
+    private static final int MAX_INVOCATIONS_PER_OPERATION = 10;
+
+    private static final Credentials CREDENTIALS = new Credentials("accessKeyId", "secretAccessKey", "sessionToken");
+    private static final Logger LOGGER = message -> {
+    };
+
+    private final LocalEntityResolutionService service;
+    private final int stackSize;
+    private final int concurrency;
+    private final String accountId;
+    private final SchemaMappingDriver schemaMappings;
+    private final MatchingWorkflowDriver matchingWorkflows;
+    private final IdMappingWorkflowDriver idMappingWorkflows;
+
+    private final Map<ResourceDriver<?, ?>, Set<Integer>> liveResources = new ConcurrentHashMap<>();
+
+    StackLoadTest(final LocalEntityResolutionService service, final int stackSize, final int concurrency) {
+        this.service = service;
+        this.stackSize = stackSize;
+        this.concurrency = concurrency;
+        this.accountId = service.getBehavior()
+                                .getAccountId();
+        this.schemaMappings = new SchemaMappingDriver(REGION, accountId);
+        this.matchingWorkflows = new MatchingWorkflowDriver(REGION, accountId);
+        this.idMappingWorkflows = new IdMappingWorkflowDriver(REGION, accountId);
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        final LoadTestReport report = new LoadTestReport(stackSize, concurrency);
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        final List<ResourceDriver<?, ?>> allTypes = Arrays.asList(schemaMappings, matchingWorkflows,
+            idMappingWorkflows);
+        final List<ResourceDriver<?, ?>> workflowTypes = Arrays.asList(matchingWorkflows, idMappingWorkflows);
+
+        try {
+            report.add(runPhase(executor, "create schemas", allIndexes(schemaMappings, Action.CREATE)));
+            report.add(runPhase(executor, "create workflows", allIndexes(workflowTypes, Action.CREATE)));
+            report.add(runPhase(executor, "read", liveIndexes(allTypes, Action.READ)));
+            report.add(runPhase(executor, "update", liveIndexes(allTypes, Action.UPDATE)));
+            report.add(runListPhase(executor, allTypes));
+            report.add(runPhase(executor, "delete workflows", liveIndexes(workflowTypes, Action.DELETE)));
+            report.add(runPhase(executor, "delete schemas", liveIndexes(schemaMappings, Action.DELETE)));
+        } finally {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    private LoadTestReport.Phase runPhase(
+        final ExecutorService executor,
+        final String name,
+        final List<Operation> operations) throws InterruptedException {
+        final Map<String, HandlerStats> handlers = new ConcurrentHashMap<>();
+        final Map<String, Long> callsBefore = service.getRequestCounts();
+        final long start = System.nanoTime();
+
+        final List<Future<?>> futures = new ArrayList<>(operations.size());
+        for (final Operation operation : operations) {
+            futures.add(executor.submit(() -> execute(operation, handlers)));
+        }
+        await(futures);
+
+        return new LoadTestReport.Phase(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), handlers,
+            callsSince(callsBefore));
+    }
+
+    /**
+     * Lists every resource type page by page. Pages of one type are read one after another, since each needs the
+     * previous page's token, while the types are listed in parallel.
+     */
+    private LoadTestReport.Phase runListPhase(
+        final ExecutorService executor,
+        final List<ResourceDriver<?, ?>> drivers) throws InterruptedException {
+        final Map<String, HandlerStats> handlers = new ConcurrentHashMap<>();
+        final Map<String, Long> callsBefore = service.getRequestCounts();
+        final long start = System.nanoTime();
+
+        final List<Future<?>> futures = new ArrayList<>(drivers.size());
+        for (final ResourceDriver<?, ?> driver : drivers) {
+            futures.add(executor.submit(() -> {
+                String nextToken = null;
+                do {
+                    nextToken = execute(new Operation(driver, Action.LIST, 0, nextToken), handlers);
+                } while (nextToken != null);
+            }));
+        }
+        await(futures);
+
+        return new LoadTestReport.Phase("list", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), handlers,
+            callsSince(callsBefore));
+    }
+
+    /**
+     * Runs one operation to completion and records it. Returns the next page token of a list, otherwise {@code null}.
+     */
+    private String execute(final Operation operation, final Map<String, HandlerStats> handlers) {
+        final HandlerStats stats = handlers.computeIfAbsent(operation.driver.getName() + " " + operation.action,
+            key -> new HandlerStats());
+        final long start = System.nanoTime();
+
+        HandlerErrorCode errorCode = null;
+        String nextToken = null;
+        try {
+            final ProgressEvent<?, ?> event = invoke(operation.driver, operation);
+            if (event.getStatus() != OperationStatus.SUCCESS) {
+                errorCode = event.getErrorCode() == null ? HandlerErrorCode.NotStabilized : event.getErrorCode();
+            }
+            nextToken = event.getNextToken();
+        } catch (final BaseHandlerException e) {
+            errorCode = e.getErrorCode();
+        } catch (final RuntimeException e) {
+            errorCode = HandlerErrorCode.InternalFailure;
+        }
+        stats.record(System.nanoTime() - start, errorCode);
+
+        if (operation.action == Action.CREATE && errorCode == null) {
+            liveResources.computeIfAbsent(operation.driver, driver -> ConcurrentHashMap.newKeySet())
+                         .add(operation.index);
+        } else if (operation.action == Action.DELETE && errorCode == null) {
+            liveResources.get(operation.driver)
+                         .remove(operation.index);
+        }
+        return errorCode == null ? nextToken : null;
+    }
+
+    private <ModelT, ContextT> ProgressEvent<ModelT, ContextT> invoke(
+        final ResourceDriver<ModelT, ContextT> driver,
+        final Operation operation) {
+        final ResourceHandlerRequest<ModelT> request = request(driver, operation);
+        final ResourceDriver.Handler<ModelT, ContextT> handler = driver.handler(operation.action);
+
+        ProgressEvent<ModelT, ContextT> event = null;
+        ContextT callbackContext = null;
+        for (int invocation = 0; invocation < MAX_INVOCATIONS_PER_OPERATION; invocation++) {
+            final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(new LoggerProxy(),
+                CREDENTIALS, DelayFactory.CONSTANT_DEFAULT_DELAY_FACTORY, WaitStrategy.scheduleForCallbackStrategy());
+
+            event = handler.handleRequest(proxy, request, callbackContext, LOGGER);
+            if (event.getStatus() != OperationStatus.IN_PROGRESS) {
+                break;
+            }
+            callbackContext = event.getCallbackContext();
+        }
+        return event;
+    }
+
+    private <ModelT> ResourceHandlerRequest<ModelT> request(
+        final ResourceDriver<ModelT, ?> driver,
+        final Operation operation) {
+        final ResourceHandlerRequest.ResourceHandlerRequestBuilder<ModelT> builder =
+            ResourceHandlerRequest.<ModelT>builder()
+                                  .awsPartition("aws")
+                                  .region(REGION)
+                                  .awsAccountId(accountId)
+                                  .clientRequestToken(UUID.randomUUID()
+                                                          .toString())
+                                  .logicalResourceIdentifier(driver.getName() + operation.index);
+
+        switch (operation.action) {
+            case CREATE:
+                return builder.desiredResourceState(driver.model(operation.index, 0))
+                              .desiredResourceTags(ResourceDriver.tags(0))
+                              .build();
+            case READ:
+                return builder.desiredResourceState(driver.identifier(operation.index))
+                              .build();
+            case UPDATE:
+                return builder.previousResourceState(driver.model(operation.index, 0))
+                              .desiredResourceState(driver.model(operation.index, 1))
+                              .previousResourceTags(ResourceDriver.tags(0))
+                              .desiredResourceTags(ResourceDriver.tags(1))
+                              .build();
+            case DELETE:
+                return builder.desiredResourceState(driver.model(operation.index, 1))
+                              .build();
+            default:
+                return builder.nextToken(operation.nextToken)
+                              .build();
+        }
+    }
+
+    private List<Operation> allIndexes(final ResourceDriver<?, ?> driver, final Action action) {
+        return allIndexes(Arrays.asList(driver), action);
+    }
+
+    /**
+     * Interleaves the types, so a phase touching several of them keeps all of them busy from its start.
+     */
+    private List<Operation> allIndexes(final List<ResourceDriver<?, ?>> drivers, final Action action) {
+        final List<Operation> operations = new ArrayList<>(drivers.size() * stackSize);
+        for (int index = 0; index < stackSize; index++) {
+            for (final ResourceDriver<?, ?> driver : drivers) {
+                operations.add(new Operation(driver, action, index, null));
+            }
+        }
+        return operations;
+    }
+
+    private List<Operation> liveIndexes(final ResourceDriver<?, ?> driver, final Action action) {
+        return liveIndexes(Arrays.asList(driver), action);
+    }
+
+    private List<Operation> liveIndexes(final List<ResourceDriver<?, ?>> drivers, final Action action) {
+        final List<Operation> operations = new ArrayList<>();
+        for (final Operation operation : allIndexes(drivers, action)) {
+            if (liveResources.getOrDefault(operation.driver, ConcurrentHashMap.newKeySet())
+                             .contains(operation.index)) {
+                operations.add(operation);
+            }
+        }
+        return operations;
+    }
+
+    private Map<String, Long> callsSince(final Map<String, Long> callsBefore) {
+        final Map<String, Long> calls = new HashMap<>();
+        service.getRequestCounts()
+               .forEach((operation, count) -> {
+                   final long delta = count - callsBefore.getOrDefault(operation, 0L);
+                   if (delta > 0) {
+                       calls.put(operation, delta);
+                   }
+               });
+        return calls;
+    }
+
+    private static void await(final List<Future<?>> futures) throws InterruptedException {
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final ExecutionException e) {
+                throw new IllegalStateException("Load test worker failed", e.getCause());
+            }
+        }
+    }
+
+    private static final class Operation {
+
+        private final ResourceDriver<?, ?> driver;
+        private final Action action;
+        private final int index;
+        private final String nextToken;
+
+        private Operation(
+            final ResourceDriver<?, ?> driver,
+            final Action action,
+            final int index,
+            final String nextToken) {
+            this.driver = driver;
+            this.action = action;
+            this.index = index;
+            this.nextToken = nextToken;
+        }
+    }
+}
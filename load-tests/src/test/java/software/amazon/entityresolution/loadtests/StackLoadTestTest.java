@@ -0,0 +1,53 @@
+package software.amazon.entityresolution.loadtests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.entityresolution.localservice.LocalEntityResolutionService;
+import software.amazon.entityresolution.localservice.ServiceBehavior;
+
+public class StackLoadTestTest {
+
+    private static final int STACK_SIZE = 12;
+
+    private static LocalEntityResolutionService service;
+
+    @BeforeAll
+    public static void startService() throws Exception {
+        service = new LocalEntityResolutionService(0, ServiceBehavior.builder()
+                                                                     .maxPageSize(5)
+                                                                     .build());
+        service.start();
+        System.setProperty(LoadTestRunner.ENDPOINT_PROPERTY, service.getEndpoint()
+                                                                    .toString());
+    }
+
+    @AfterAll
+    public static void stopService() {
+        System.clearProperty(LoadTestRunner.ENDPOINT_PROPERTY);
+        service.stop();
+    }
+
+    @Test
+    public void testStackLifecycle() throws Exception {
+        final LoadTestReport report = new StackLoadTest(service, STACK_SIZE, 4).run();
+
+        assertThat(report.getPhases()).extracting(LoadTestReport.Phase::getName)
+                                      .containsExactly("create schemas", "create workflows", "read", "update", "list",
+                                          "delete workflows", "delete schemas");
+        assertThat(report.getPhases()).allSatisfy(phase -> assertThat(phase.getFailures()).isZero());
+
+        final LoadTestReport.Phase createWorkflows = report.getPhase("create workflows");
+        assertThat(createWorkflows.getInvocations()).isEqualTo(2 * STACK_SIZE);
+        assertThat(createWorkflows.getServiceCalls()).containsEntry("CreateMatchingWorkflow", (long) STACK_SIZE)
+                                                     .containsEntry("CreateIdMappingWorkflow", (long) STACK_SIZE);
+
+        // Twelve resources in pages of five take three list invocations per type.
+        assertThat(report.getPhase("list")
+                         .getInvocations()).isEqualTo(9);
+        assertThat(report.getPhase("delete schemas")
+                         .getServiceCalls()).containsEntry("DeleteSchemaMapping", (long) STACK_SIZE);
+    }
+}
@@ -0,0 +1,61 @@
+package software.amazon.entityresolution.localservice;
+
+import java.util.Random;
+
+/**
+ * Samples how long the local service waits before answering a request.
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    LatencyModel NONE = random -> 0;
+
+    long sampleMillis(Random random);
+
+    static LatencyModel fixed(final long millis) {
+        return random -> millis;
+    }
+
+    static LatencyModel uniform(final long minMillis, final long maxMillis) {
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("Uniform latency needs min <= max");
+        }
+        return random -> minMillis + (long) (random.nextDouble() * (maxMillis - minMillis + 1));
+    }
+
+    /**
+     * Service latencies are right-skewed: most calls land near the median and a long tail is slower. With a sigma of
+     * 0.5 the p99 is about three times the median.
+     */
+    static LatencyModel logNormal(final double medianMillis, final double sigma) {
+        return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    /**
+     * Parses {@code none}, {@code fixed:MS}, {@code uniform:MIN_MS:MAX_MS} or {@code lognormal:MEDIAN_MS:SIGMA}.
+     */
+    static LatencyModel parse(final String spec) {
+        if (spec == null || spec.isEmpty()) {
+            return NONE;
+        }
+
+        final String[] parts = spec.split(":");
+        try {
+            switch (parts[0].toLowerCase()) {
+                case "none":
+                    return NONE;
+                case "fixed":
+                    return fixed(Long.parseLong(parts[1]));
+                case "uniform":
+                    return uniform(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                case "lognormal":
+                    return logNormal(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default:
+                    break;
+            }
+        } catch (final ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid latency: " + spec, e);
+        }
+        throw new IllegalArgumentException("Unknown latency model: " + spec);
+    }
+}
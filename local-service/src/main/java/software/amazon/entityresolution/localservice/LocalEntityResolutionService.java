@@ -0,0 +1,413 @@
+package software.amazon.entityresolution.localservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A stand-in for the Entity Resolution control plane that speaks the same rest-json protocol as the service, so an
+ * unmodified SDK client can be pointed at it through an endpoint override. It serves the matching workflow, ID mapping
+ * workflow, schema mapping and tagging operations the handlers call, pages list results, and can add latency and
+ * inject throttles or internal errors according to its {@link ServiceBehavior}.
+ *
+ * <p>Requests are not authenticated. The region used in ARNs is read from the SigV4 credential scope of each request.
+ */
+public class LocalEntityResolutionService {
+
+    static final int DEFAULT_PORT = 8088;
+
+    private static final String DEFAULT_REGION = "us-east-1";
+    private static final String ERROR_TYPE_HEADER = "x-amzn-ErrorType";
+    private static final String TAGS_COLLECTION = "tags";
+    private static final Pattern CREDENTIAL_SCOPE = Pattern.compile("Credential=[^/]+/[^/]+/([^/]+)/");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ResourceStore store = new ResourceStore();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicLong injectedThrottles = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private volatile ServiceBehavior behavior;
+    private volatile RequestRateLimit rateLimit;
+
+    public LocalEntityResolutionService(final int port, final ServiceBehavior behavior) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "local-entity-resolution");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        setBehavior(behavior);
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        final LocalEntityResolutionService service =
+            new LocalEntityResolutionService(port, ServiceBehavior.fromSystemProperties());
+
+        service.start();
+        Runtime.getRuntime()
+               .addShutdownHook(new Thread(service::stop));
+        System.out.println("Local Entity Resolution service listening on " + service.getEndpoint());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public URI getEndpoint() {
+        return URI.create("http://localhost:" + server.getAddress()
+                                                      .getPort());
+    }
+
+    /**
+     * Swaps the behavior for requests that arrive from now on, so a load test can change conditions between phases
+     * without restarting the service or losing its resources.
+     */
+    public void setBehavior(final ServiceBehavior behavior) {
+        this.behavior = behavior;
+        this.rateLimit = behavior.getMaxRequestsPerSecond() > 0
+            ? new RequestRateLimit(behavior.getMaxRequestsPerSecond()) : null;
+    }
+
+    public ServiceBehavior getBehavior() {
+        return behavior;
+    }
+
+    /**
+     * Number of requests received for an operation, such as {@code GetMatchingWorkflow}, including those answered
+     * with an injected fault.
+     */
+    public long getRequestCount(final String operation) {
+        final AtomicLong count = requestCounts.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    public Map<String, Long> getRequestCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        requestCounts.forEach((operation, count) -> counts.put(operation, count.get()));
+        return counts;
+    }
+
+    public long getInjectedThrottleCount() {
+        return injectedThrottles.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    /**
+     * Drops every resource, tag and counter.
+     */
+    public void reset() {
+        store.clear();
+        requestCounts.clear();
+        injectedThrottles.set(0);
+        injectedErrors.set(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final Request request = parse(exchange);
+            requestCounts.computeIfAbsent(request.operation, operation -> new AtomicLong())
+                         .incrementAndGet();
+
+            final ServiceBehavior current = behavior;
+            sleep(current.getLatency()
+                         .sampleMillis(ThreadLocalRandom.current()));
+            injectFaults(current);
+
+            respond(exchange, 200, null, dispatch(request, current));
+        } catch (final ServiceException e) {
+            respond(exchange, e.getStatusCode(), e.getErrorType(), message(e.getMessage()));
+        } catch (final IOException | RuntimeException e) {
+            respond(exchange, 500, "InternalServerException", message(String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void injectFaults(final ServiceBehavior current) {
+        final RequestRateLimit limit = rateLimit;
+        if (limit != null && !limit.tryAcquire()) {
+            injectedThrottles.incrementAndGet();
+            throw ServiceException.throttling("Rate exceeded");
+        }
+
+        final double roll = ThreadLocalRandom.current()
+                                             .nextDouble();
+        if (roll < current.getThrottleRate()) {
+            injectedThrottles.incrementAndGet();
+            throw ServiceException.throttling("Rate exceeded");
+        }
+        if (roll < current.getThrottleRate() + current.getErrorRate()) {
+            injectedErrors.incrementAndGet();
+            throw ServiceException.internal("Injected internal error");
+        }
+    }
+
+    private ObjectNode dispatch(final Request request, final ServiceBehavior current) {
+        if (request.type == null) {
+            switch (request.method) {
+                case "GET":
+                    return store.listTags(request.name);
+                case "POST":
+                    store.tag(request.name, request.body);
+                    return JsonNodeFactory.instance.objectNode();
+                default:
+                    store.untag(request.name, request.query.getOrDefault("tagKeys", Collections.emptyList()));
+                    return JsonNodeFactory.instance.objectNode();
+            }
+        }
+
+        if (request.name == null) {
+            if ("POST".equals(request.method)) {
+                return store.create(request.type, request.region, current.getAccountId(), request.body);
+            }
+            return store.list(request.type, maxResults(request, current), first(request.query.get("nextToken")));
+        }
+
+        switch (request.method) {
+            case "GET":
+                return store.get(request.type, request.name);
+            case "PUT":
+                return store.update(request.type, request.name, request.body);
+            default:
+                return store.delete(request.type, request.name);
+        }
+    }
+
+    private static Request parse(final HttpExchange exchange) throws IOException {
+        final Request request = new Request();
+        request.method = exchange.getRequestMethod();
+        request.region = region(exchange.getRequestHeaders()
+                                        .getFirst("Authorization"));
+        request.query = parseQuery(exchange.getRequestURI()
+                                           .getRawQuery());
+
+        final List<String> segments = new ArrayList<>();
+        for (final String segment : exchange.getRequestURI()
+                                            .getRawPath()
+                                            .split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(decode(segment));
+            }
+        }
+
+        if (segments.size() == 2 && TAGS_COLLECTION.equals(segments.get(0))) {
+            request.name = segments.get(1);
+            request.operation = operation(request.method, "ListTagsForResource", "TagResource", "UntagResource");
+        } else if (!segments.isEmpty() && segments.size() <= 2
+            && ResourceType.fromCollection(segments.get(0)) != null) {
+            request.type = ResourceType.fromCollection(segments.get(0));
+            final String noun = request.type.getNoun();
+
+            if (segments.size() == 1) {
+                request.operation = "POST".equals(request.method) ? "Create" + noun
+                    : "GET".equals(request.method) ? "List" + noun + "s" : null;
+            } else {
+                request.name = segments.get(1);
+                request.operation = operation(request.method, "Get" + noun, "Update" + noun, "Delete" + noun);
+            }
+        }
+
+        if (request.operation == null) {
+            throw new ServiceException(404, "UnknownOperationException",
+                request.method + " " + exchange.getRequestURI() + " is not supported");
+        }
+
+        try (InputStream body = exchange.getRequestBody()) {
+            request.body = MAPPER.readTree(body);
+        }
+        if (request.body == null || request.body.isMissingNode()) {
+            request.body = JsonNodeFactory.instance.objectNode();
+        }
+        return request;
+    }
+
+    /**
+     * Maps the three verbs used on a single resource or tag set to an operation: GET reads, POST or PUT writes and
+     * DELETE removes.
+     */
+    private static String operation(final String method, final String read, final String write, final String delete) {
+        switch (method) {
+            case "GET":
+                return read;
+            case "POST":
+            case "PUT":
+                return write;
+            case "DELETE":
+                return delete;
+            default:
+                return null;
+        }
+    }
+
+    private static int maxResults(final Request request, final ServiceBehavior current) {
+        final String maxResults = first(request.query.get("maxResults"));
+        if (maxResults == null) {
+            return current.getMaxPageSize();
+        }
+
+        try {
+            final int requested = Integer.parseInt(maxResults);
+            if (requested < 1) {
+                throw ServiceException.validation("maxResults must be positive");
+            }
+            return Math.min(requested, current.getMaxPageSize());
+        } catch (final NumberFormatException e) {
+            throw ServiceException.validation("maxResults must be a number");
+        }
+    }
+
+    private static String region(final String authorization) {
+        if (authorization != null) {
+            final Matcher matcher = CREDENTIAL_SCOPE.matcher(authorization);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return DEFAULT_REGION;
+    }
+
+    private static Map<String, List<String>> parseQuery(final String rawQuery) {
+        final Map<String, List<String>> query = new TreeMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+
+        for (final String parameter : rawQuery.split("&")) {
+            final int separator = parameter.indexOf('=');
+            final String key = decode(separator < 0 ? parameter : parameter.substring(0, separator));
+            final String value = separator < 0 ? "" : decode(parameter.substring(separator + 1));
+            query.computeIfAbsent(key, k -> new ArrayList<>())
+                 .add(value);
+        }
+        return query;
+    }
+
+    private static String first(final List<String> values) {
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static String decode(final String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ObjectNode message(final String message) {
+        return JsonNodeFactory.instance.objectNode()
+                                       .put("message", message);
+    }
+
+    private static void respond(
+        final HttpExchange exchange,
+        final int statusCode,
+        final String errorType,
+        final JsonNode body) throws IOException {
+        final byte[] bytes = MAPPER.writeValueAsBytes(body);
+
+        exchange.getResponseHeaders()
+                .set("Content-Type", "application/json");
+        if (errorType != null) {
+            exchange.getResponseHeaders()
+                    .set(ERROR_TYPE_HEADER, errorType);
+        }
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static void sleep(final long millis) {
+        if (millis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+    }
+
+    private static final class Request {
+        private String method;
+        private String operation;
+        private String region;
+        private ResourceType type;
+        private String name;
+        private Map<String, List<String>> query;
+        private JsonNode body;
+    }
+
+    /**
+     * Token bucket holding one second of requests, and at least one. Unlike the handlers' limiter it never queues: a request
+     * that finds the bucket empty is throttled, which is what the service does.
+     */
+    private static final class RequestRateLimit {
+
+        private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+        private final double rate;
+        private final double capacity;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private RequestRateLimit(final double rate) {
+            this.rate = rate;
+            this.capacity = Math.max(1, rate);
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        private synchronized boolean tryAcquire() {
+            final long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / NANOS_PER_SECOND * rate);
+            lastRefillNanos = now;
+
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package software.amazon.entityresolution.localservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory state of the local service. Resources are kept as the JSON document they were created or last updated
+ * with, plus their name, ARN and timestamps, so anything the handlers send comes back on a get without this class
+ * having to model it. Tags live apart from the resources, keyed by ARN, as they do in the service.
+ */
+class ResourceStore {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final Map<ResourceType, ConcurrentNavigableMap<String, ObjectNode>> resources =
+        new EnumMap<>(ResourceType.class);
+
+    private final Map<String, Map<String, String>> tags = new ConcurrentHashMap<>();
+
+    ResourceStore() {
+        for (final ResourceType type : ResourceType.values()) {
+            resources.put(type, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    ObjectNode create(final ResourceType type, final String region, final String accountId, final JsonNode body) {
+        final String name = requireName(type, body.path(type.getNameField())
+                                                  .asText(null));
+        final String arn = type.arn(region, accountId, name);
+        final double now = epochSeconds();
+
+        final ObjectNode resource = copyWithoutTags(body);
+        resource.put(type.getNameField(), name);
+        resource.put(type.getArnField(), arn);
+        resource.put("createdAt", now);
+        resource.put("updatedAt", now);
+
+        if (resources.get(type)
+                     .putIfAbsent(name, resource) != null) {
+            throw ServiceException.conflict(type.getNoun() + " already exists: " + name);
+        }
+        tags.put(arn, readTags(body.get("tags")));
+
+        return describe(type, resource);
+    }
+
+    ObjectNode get(final ResourceType type, final String name) {
+        return describe(type, find(type, name));
+    }
+
+    ObjectNode update(final ResourceType type, final String name, final JsonNode body) {
+        final ObjectNode updated = resources.get(type)
+                                            .computeIfPresent(name, (key, existing) -> {
+                                                final ObjectNode resource = copyWithoutTags(body);
+                                                resource.put(type.getNameField(), name);
+                                                resource.set(type.getArnField(), existing.get(type.getArnField()));
+                                                resource.set("createdAt", existing.get("createdAt"));
+                                                resource.put("updatedAt", epochSeconds());
+                                                return resource;
+                                            });
+        if (updated == null) {
+            throw notFound(type, name);
+        }
+        return describe(type, updated);
+    }
+
+    /**
+     * Deleting a resource that does not exist succeeds, as it does in the service. A schema mapping that a workflow
+     * still reads from cannot be deleted.
+     */
+    ObjectNode delete(final ResourceType type, final String name) {
+        if (type == ResourceType.SCHEMA_MAPPING && isSchemaInUse(name)) {
+            throw ServiceException.conflict("SchemaMapping " + name + " is used by a workflow");
+        }
+
+        final ObjectNode removed = resources.get(type)
+                                            .remove(name);
+        if (removed != null) {
+            tags.remove(removed.get(type.getArnField())
+                               .asText());
+        }
+        return NODES.objectNode()
+                    .put("message", type.getNoun() + " " + name + " deleted");
+    }
+
+    ObjectNode list(final ResourceType type, final int maxResults, final String nextToken) {
+        ConcurrentNavigableMap<String, ObjectNode> page = resources.get(type);
+        if (nextToken != null) {
+            page = page.tailMap(decodeToken(nextToken), false);
+        }
+
+        final ObjectNode response = NODES.objectNode();
+        final Iterator<ObjectNode> iterator = page.values()
+                                                  .iterator();
+        final ArrayNode summaries = response.putArray(type.getListField());
+        String lastName = null;
+
+        while (iterator.hasNext() && summaries.size() < maxResults) {
+            final ObjectNode resource = iterator.next();
+            lastName = resource.get(type.getNameField())
+                               .asText();
+            summaries.add(summarize(type, resource));
+        }
+        if (iterator.hasNext()) {
+            response.put("nextToken", encodeToken(lastName));
+        }
+        return response;
+    }
+
+    ObjectNode listTags(final String arn) {
+        final ObjectNode response = NODES.objectNode();
+        response.set("tags", toJson(findTags(arn)));
+        return response;
+    }
+
+    void tag(final String arn, final JsonNode body) {
+        findTags(arn).putAll(readTags(body.get("tags")));
+    }
+
+    void untag(final String arn, final Collection<String> tagKeys) {
+        findTags(arn).keySet()
+                     .removeAll(tagKeys);
+    }
+
+    void clear() {
+        resources.values()
+                 .forEach(Map::clear);
+        tags.clear();
+    }
+
+    private ObjectNode find(final ResourceType type, final String name) {
+        final ObjectNode resource = resources.get(type)
+                                             .get(name);
+        if (resource == null) {
+            throw notFound(type, name);
+        }
+        return resource;
+    }
+
+    private Map<String, String> findTags(final String arn) {
+        final Map<String, String> resourceTags = tags.get(arn);
+        if (resourceTags == null) {
+            throw ServiceException.notFound("Resource " + arn + " not found");
+        }
+        return resourceTags;
+    }
+
+    private ObjectNode describe(final ResourceType type, final ObjectNode resource) {
+        final ObjectNode description = resource.deepCopy();
+        final Map<String, String> resourceTags = tags.get(resource.get(type.getArnField())
+                                                                  .asText());
+        if (resourceTags != null) {
+            description.set("tags", toJson(resourceTags));
+        }
+        if (type == ResourceType.SCHEMA_MAPPING) {
+            description.put("hasWorkflows", isSchemaInUse(resource.get(type.getNameField())
+                                                                  .asText()));
+        }
+        return description;
+    }
+
+    private ObjectNode summarize(final ResourceType type, final ObjectNode resource) {
+        final ObjectNode summary = NODES.objectNode();
+        summary.set(type.getNameField(), resource.get(type.getNameField()));
+        summary.set(type.getArnField(), resource.get(type.getArnField()));
+        summary.set("createdAt", resource.get("createdAt"));
+        summary.set("updatedAt", resource.get("updatedAt"));
+
+        if (type == ResourceType.MATCHING_WORKFLOW) {
+            final JsonNode resolutionType = resource.path("resolutionTechniques")
+                                                    .get("resolutionType");
+            if (resolutionType != null) {
+                summary.set("resolutionType", resolutionType);
+            }
+        } else if (type == ResourceType.SCHEMA_MAPPING) {
+            summary.put("hasWorkflows", isSchemaInUse(resource.get(type.getNameField())
+                                                              .asText()));
+        }
+        return summary;
+    }
+
+    private boolean isSchemaInUse(final String schemaName) {
+        return readsSchema(ResourceType.MATCHING_WORKFLOW, schemaName)
+            || readsSchema(ResourceType.ID_MAPPING_WORKFLOW, schemaName);
+    }
+
+    private boolean readsSchema(final ResourceType type, final String schemaName) {
+        for (final ObjectNode workflow : resources.get(type)
+                                                  .values()) {
+            for (final JsonNode inputSource : workflow.path("inputSourceConfig")) {
+                if (schemaName.equals(inputSource.path("schemaName")
+                                                 .asText(null))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String requireName(final ResourceType type, final String name) {
+        if (name == null || name.isEmpty()) {
+            throw ServiceException.validation(type.getNameField() + " is required");
+        }
+        return name;
+    }
+
+    private static ServiceException notFound(final ResourceType type, final String name) {
+        return ServiceException.notFound(type.getNoun() + " " + name + " not found");
+    }
+
+    private static ObjectNode copyWithoutTags(final JsonNode body) {
+        final ObjectNode copy = body.isObject() ? ((ObjectNode) body).deepCopy() : NODES.objectNode();
+        copy.remove("tags");
+        return copy;
+    }
+
+    private static Map<String, String> readTags(final JsonNode tagsNode) {
+        final Map<String, String> resourceTags = new ConcurrentHashMap<>();
+        if (tagsNode != null) {
+            tagsNode.fields()
+                    .forEachRemaining(tag -> resourceTags.put(tag.getKey(), tag.getValue()
+                                                                              .asText()));
+        }
+        return resourceTags;
+    }
+
+    private static ObjectNode toJson(final Map<String, String> resourceTags) {
+        final ObjectNode tagsNode = NODES.objectNode();
+        resourceTags.forEach(tagsNode::put);
+        return tagsNode;
+    }
+
+    private static double epochSeconds() {
+        return System.currentTimeMillis() / 1000.0;
+    }
+
+    private static String encodeToken(final String name) {
+        return Base64.getUrlEncoder()
+                     .encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeToken(final String nextToken) {
+        try {
+            return new String(Base64.getUrlDecoder()
+                                    .decode(nextToken), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException e) {
+            throw ServiceException.validation("Invalid nextToken");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package software.amazon.entityresolution.localservice;
+
+/**
+ * The resources the local service stores, with the REST collection, operation noun and JSON field names the SDK uses
+ * for each.
+ */
+enum ResourceType {
+
+    MATCHING_WORKFLOW("matchingworkflows", "MatchingWorkflow", "matchingworkflow", "workflowName", "workflowArn",
+        "workflowSummaries"),
+    ID_MAPPING_WORKFLOW("idmappingworkflows", "IdMappingWorkflow", "idmappingworkflow", "workflowName", "workflowArn",
+        "workflowSummaries"),
+    SCHEMA_MAPPING("schemas", "SchemaMapping", "schemamapping", "schemaName", "schemaArn", "schemaList");
+
+    private final String collection;
+    private final String noun;
+    private final String arnResource;
+    private final String nameField;
+    private final String arnField;
+    private final String listField;
+
+    ResourceType(
+        final String collection,
+        final String noun,
+        final String arnResource,
+        final String nameField,
+        final String arnField,
+        final String listField) {
+        this.collection = collection;
+        this.noun = noun;
+        this.arnResource = arnResource;
+        this.nameField = nameField;
+        this.arnField = arnField;
+        this.listField = listField;
+    }
+
+    static ResourceType fromCollection(final String collection) {
+        for (final ResourceType type : values()) {
+            if (type.collection.equals(collection)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    static ResourceType fromArnResource(final String arnResource) {
+        for (final ResourceType type : values()) {
+            if (type.arnResource.equals(arnResource)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    String arn(final String region, final String accountId, final String name) {
+        return "arn:aws:entityresolution:" + region + ":" + accountId + ":" + arnResource + "/" + name;
+    }
+
+    String getNoun() {
+        return noun;
+    }
+
+    String getNameField() {
+        return nameField;
+    }
+
+    String getArnField() {
+        return arnField;
+    }
+
+    String getListField() {
+        return listField;
+    }
+}
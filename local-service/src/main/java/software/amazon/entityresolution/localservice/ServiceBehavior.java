@@ -0,0 +1,158 @@
+package software.amazon.entityresolution.localservice;
+
+/**
+ * How the local service misbehaves: the latency added to every request, the share of requests answered with an
+ * injected throttle or internal error, an optional request rate above which every request is throttled, and the
+ * largest page a list call returns.
+ */
+public final class ServiceBehavior {
+
+    static final int DEFAULT_MAX_PAGE_SIZE = 25;
+    static final String DEFAULT_ACCOUNT_ID = "123456789012";
+
+    private static final String PROPERTY_PREFIX = "localservice.";
+
+    private final LatencyModel latency;
+    private final double throttleRate;
+    private final double errorRate;
+    private final double maxRequestsPerSecond;
+    private final int maxPageSize;
+    private final String accountId;
+
+    private ServiceBehavior(final Builder builder) {
+        this.latency = builder.latency;
+        this.throttleRate = builder.throttleRate;
+        this.errorRate = builder.errorRate;
+        this.maxRequestsPerSecond = builder.maxRequestsPerSecond;
+        this.maxPageSize = builder.maxPageSize;
+        this.accountId = builder.accountId;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static ServiceBehavior defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Reads {@code localservice.latency}, {@code localservice.throttleRate}, {@code localservice.errorRate},
+     * {@code localservice.maxRequestsPerSecond} and {@code localservice.maxPageSize}, keeping the default for any
+     * that is unset.
+     */
+    public static ServiceBehavior fromSystemProperties() {
+        final Builder builder = builder().latency(LatencyModel.parse(property("latency")));
+
+        if (property("throttleRate") != null) {
+            builder.throttleRate(Double.parseDouble(property("throttleRate")));
+        }
+        if (property("errorRate") != null) {
+            builder.errorRate(Double.parseDouble(property("errorRate")));
+        }
+        if (property("maxRequestsPerSecond") != null) {
+            builder.maxRequestsPerSecond(Double.parseDouble(property("maxRequestsPerSecond")));
+        }
+        if (property("maxPageSize") != null) {
+            builder.maxPageSize(Integer.parseInt(property("maxPageSize")));
+        }
+        return builder.build();
+    }
+
+    private static String property(final String name) {
+        return System.getProperty(PROPERTY_PREFIX + name);
+    }
+
+    public LatencyModel getLatency() {
+        return latency;
+    }
+
+    public double getThrottleRate() {
+        return throttleRate;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public double getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public static final class Builder {
+
+        private LatencyModel latency = LatencyModel.NONE;
+        private double throttleRate;
+        private double errorRate;
+        private double maxRequestsPerSecond;
+        private int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+        private String accountId = DEFAULT_ACCOUNT_ID;
+
+        private Builder() {
+        }
+
+        public Builder latency(final LatencyModel latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Share of requests, from 0 to 1, answered with a {@code ThrottlingException}.
+         */
+        public Builder throttleRate(final double throttleRate) {
+            this.throttleRate = rate(throttleRate);
+            return this;
+        }
+
+        /**
+         * Share of requests, from 0 to 1, answered with an {@code InternalServerException}.
+         */
+        public Builder errorRate(final double errorRate) {
+            this.errorRate = rate(errorRate);
+            return this;
+        }
+
+        /**
+         * Requests per second the service accepts before throttling everything above it; 0 means unlimited.
+         */
+        public Builder maxRequestsPerSecond(final double maxRequestsPerSecond) {
+            if (maxRequestsPerSecond < 0) {
+                throw new IllegalArgumentException("maxRequestsPerSecond must not be negative");
+            }
+            this.maxRequestsPerSecond = maxRequestsPerSecond;
+            return this;
+        }
+
+        public Builder maxPageSize(final int maxPageSize) {
+            if (maxPageSize < 1) {
+                throw new IllegalArgumentException("maxPageSize must be positive");
+            }
+            this.maxPageSize = maxPageSize;
+            return this;
+        }
+
+        public Builder accountId(final String accountId) {
+            this.accountId = accountId;
+            return this;
+        }
+
+        public ServiceBehavior build() {
+            return new ServiceBehavior(this);
+        }
+
+        private static double rate(final double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Rates must be between 0 and 1");
+            }
+            return rate;
+        }
+    }
+}
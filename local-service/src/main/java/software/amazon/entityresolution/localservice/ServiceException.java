@@ -0,0 +1,47 @@
+package software.amazon.entityresolution.localservice;
+
+/**
+ * An error response in the rest-json shape the SDK unmarshals: the status code, the modeled exception name in the
+ * {@code x-amzn-ErrorType} header and a {@code message} body.
+ */
+class ServiceException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String errorType;
+
+    ServiceException(final int statusCode, final String errorType, final String message) {
+        super(message);
+        this.statusCode = statusCode;
+        this.errorType = errorType;
+    }
+
+    static ServiceException validation(final String message) {
+        return new ServiceException(400, "ValidationException", message);
+    }
+
+    static ServiceException notFound(final String message) {
+        return new ServiceException(404, "ResourceNotFoundException", message);
+    }
+
+    static ServiceException conflict(final String message) {
+        return new ServiceException(409, "ConflictException", message);
+    }
+
+    static ServiceException throttling(final String message) {
+        return new ServiceException(429, "ThrottlingException", message);
+    }
+
+    static ServiceException internal(final String message) {
+        return new ServiceException(500, "InternalServerException", message);
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    String getErrorType() {
+        return errorType;
+    }
+}
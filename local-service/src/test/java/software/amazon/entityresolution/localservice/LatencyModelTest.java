@@ -0,0 +1,50 @@
+package software.amazon.entityresolution.localservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class LatencyModelTest {
+
+    private static final long SEED = 20231106L;
+    private static final int SAMPLES = 10_001;
+
+    @Test
+    public void testParse() {
+        final Random random = new Random(SEED);
+
+        assertThat(LatencyModel.parse(null)
+                               .sampleMillis(random)).isZero();
+        assertThat(LatencyModel.parse("none")
+                               .sampleMillis(random)).isZero();
+        assertThat(LatencyModel.parse("fixed:40")
+                               .sampleMillis(random)).isEqualTo(40);
+        assertThat(LatencyModel.parse("uniform:10:20")
+                               .sampleMillis(random)).isBetween(10L, 20L);
+    }
+
+    @Test
+    public void testParseRejectsInvalidSpecs() {
+        assertThatThrownBy(() -> LatencyModel.parse("gaussian:40")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyModel.parse("fixed")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LatencyModel.parse("uniform:20:10")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testLogNormalIsCenteredOnMedianWithLongTail() {
+        final LatencyModel latency = LatencyModel.parse("lognormal:40:0.5");
+        final Random random = new Random(SEED);
+        final long[] samples = new long[SAMPLES];
+
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = latency.sampleMillis(random);
+        }
+        Arrays.sort(samples);
+
+        assertThat(samples[SAMPLES / 2]).isBetween(38L, 42L);
+        assertThat(samples[SAMPLES * 99 / 100]).isGreaterThan(2 * samples[SAMPLES / 2]);
+    }
+}
@@ -0,0 +1,311 @@
+package software.amazon.entityresolution.localservice;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.entityresolution.EntityResolutionClient;
+import software.amazon.awssdk.services.entityresolution.model.ConflictException;
+import software.amazon.awssdk.services.entityresolution.model.CreateIdMappingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.CreateMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.CreateMatchingWorkflowResponse;
+import software.amazon.awssdk.services.entityresolution.model.CreateSchemaMappingRequest;
+import software.amazon.awssdk.services.entityresolution.model.DeleteMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.DeleteSchemaMappingRequest;
+import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowRequest;
+import software.amazon.awssdk.services.entityresolution.model.GetMatchingWorkflowResponse;
+import software.amazon.awssdk.services.entityresolution.model.GetSchemaMappingRequest;
+import software.amazon.awssdk.services.entityresolution.model.InputSource;
+import software.amazon.awssdk.services.entityresolution.model.InternalServerException;
+import software.amazon.awssdk.services.entityresolution.model.ListMatchingWorkflowsRequest;
+import software.amazon.awssdk.services.entityresolution.model.ListSchemaMappingsRequest;
+import software.amazon.awssdk.services.entityresolution.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.MatchingWorkflowSummary;
+import software.amazon.awssdk.services.entityresolution.model.ResolutionTechniques;
+import software.amazon.awssdk.services.entityresolution.model.ResolutionType;
+import software.amazon.awssdk.services.entityresolution.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.entityresolution.model.SchemaAttributeType;
+import software.amazon.awssdk.services.entityresolution.model.SchemaInputAttribute;
+import software.amazon.awssdk.services.entityresolution.model.SchemaMappingSummary;
+import software.amazon.awssdk.services.entityresolution.model.TagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.ThrottlingException;
+import software.amazon.awssdk.services.entityresolution.model.UntagResourceRequest;
+import software.amazon.awssdk.services.entityresolution.model.UpdateMatchingWorkflowRequest;
+
+public class LocalEntityResolutionServiceTest {
+
+    private static final String ROLE_ARN = "arn:aws:iam::123456789012:role/entityresolution";
+    private static final String INPUT_SOURCE_ARN = "arn:aws:glue:us-west-2:123456789012:table/db/table";
+    private static final Map<String, String> TAGS = Collections.singletonMap("key1", "value1");
+
+    private static LocalEntityResolutionService service;
+    private static EntityResolutionClient client;
+
+    @BeforeAll
+    public static void startService() throws Exception {
+        service = new LocalEntityResolutionService(0, ServiceBehavior.defaults());
+        service.start();
+
+        // Retries are off so every injected fault reaches the test.
+        client = EntityResolutionClient.builder()
+                                       .endpointOverride(service.getEndpoint())
+                                       .region(Region.US_WEST_2)
+                                       .credentialsProvider(StaticCredentialsProvider.create(
+                                           AwsBasicCredentials.create("accessKey", "secretKey")))
+                                       .overrideConfiguration(config -> config.retryPolicy(RetryPolicy.none()))
+                                       .build();
+    }
+
+    @AfterAll
+    public static void stopService() {
+        client.close();
+        service.stop();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        service.setBehavior(ServiceBehavior.defaults());
+        service.reset();
+    }
+
+    @Test
+    public void testMatchingWorkflowLifecycle() {
+        final CreateMatchingWorkflowRequest createRequest = matchingWorkflow("workflow")
+            .tags(Collections.singletonMap("key", "value"))
+            .build();
+        final CreateMatchingWorkflowResponse createResponse = client.createMatchingWorkflow(createRequest);
+
+        assertThat(createResponse.workflowArn())
+            .isEqualTo("arn:aws:entityresolution:us-west-2:123456789012:matchingworkflow/workflow");
+
+        client.updateMatchingWorkflow(UpdateMatchingWorkflowRequest.builder()
+                                                                   .workflowName("workflow")
+                                                                   .description("updated")
+                                                                   .inputSourceConfig(inputSource("schema"))
+                                                                   .resolutionTechniques(ruleMatching())
+                                                                   .roleArn(ROLE_ARN)
+                                                                   .build());
+
+        final GetMatchingWorkflowRequest getRequest = GetMatchingWorkflowRequest.builder()
+                                                                                .workflowName("workflow")
+                                                                                .build();
+        final GetMatchingWorkflowResponse getResponse = client.getMatchingWorkflow(getRequest);
+
+        assertThat(getResponse.description()).isEqualTo("updated");
+        assertThat(getResponse.workflowArn()).isEqualTo(createResponse.workflowArn());
+        assertThat(getResponse.inputSourceConfig()).containsExactly(inputSource("schema"));
+        assertThat(getResponse.tags()).containsEntry("key", "value");
+        assertThat(getResponse.createdAt()).isNotNull();
+
+        client.deleteMatchingWorkflow(DeleteMatchingWorkflowRequest.builder()
+                                                                   .workflowName("workflow")
+                                                                   .build());
+
+        assertThatThrownBy(() -> client.getMatchingWorkflow(getRequest))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(service.getRequestCount("GetMatchingWorkflow")).isEqualTo(2);
+    }
+
+    @Test
+    public void testCreateExistingResourceConflicts() {
+        client.createMatchingWorkflow(matchingWorkflow("workflow").build());
+
+        assertThatThrownBy(() -> client.createMatchingWorkflow(matchingWorkflow("workflow").build()))
+            .isInstanceOf(ConflictException.class)
+            .hasMessageContaining("MatchingWorkflow already exists");
+    }
+
+    @Test
+    public void testDeleteMissingResourceSucceeds() {
+        client.deleteMatchingWorkflow(DeleteMatchingWorkflowRequest.builder()
+                                                                   .workflowName("missing")
+                                                                   .build());
+
+        assertThat(service.getRequestCount("DeleteMatchingWorkflow")).isEqualTo(1);
+    }
+
+    @Test
+    public void testListPagination() {
+        service.setBehavior(ServiceBehavior.builder()
+                                           .maxPageSize(3)
+                                           .build());
+        for (int i = 6; i >= 0; i--) {
+            client.createSchemaMapping(schemaMapping("schema" + i));
+        }
+
+        final List<String> schemaNames = client.listSchemaMappingsPaginator(ListSchemaMappingsRequest.builder()
+                                                                                                     .build())
+                                               .schemaList()
+                                               .stream()
+                                               .map(SchemaMappingSummary::schemaName)
+                                               .collect(Collectors.toList());
+
+        assertThat(schemaNames).containsExactly("schema0", "schema1", "schema2", "schema3", "schema4", "schema5",
+            "schema6");
+        assertThat(service.getRequestCount("ListSchemaMappings")).isEqualTo(3);
+    }
+
+    @Test
+    public void testListSummaries() {
+        client.createMatchingWorkflow(matchingWorkflow("workflow").build());
+
+        final ListMatchingWorkflowsRequest listRequest = ListMatchingWorkflowsRequest.builder()
+                                                                                    .maxResults(10)
+                                                                                    .build();
+        final MatchingWorkflowSummary summary = client.listMatchingWorkflows(listRequest)
+                                                      .workflowSummaries()
+                                                      .get(0);
+
+        assertThat(summary.workflowName()).isEqualTo("workflow");
+        assertThat(summary.resolutionType()).isEqualTo(ResolutionType.RULE_MATCHING);
+        assertThat(summary.updatedAt()).isEqualTo(summary.createdAt());
+    }
+
+    @Test
+    public void testTagging() {
+        final CreateIdMappingWorkflowRequest createRequest = CreateIdMappingWorkflowRequest.builder()
+                                                                                          .workflowName("workflow")
+                                                                                          .roleArn(ROLE_ARN)
+                                                                                          .tags(TAGS)
+                                                                                          .build();
+        final String arn = client.createIdMappingWorkflow(createRequest)
+                                 .workflowArn();
+
+        client.tagResource(TagResourceRequest.builder()
+                                             .resourceArn(arn)
+                                             .tags(Collections.singletonMap("key2", "value2"))
+                                             .build());
+        client.untagResource(UntagResourceRequest.builder()
+                                                 .resourceArn(arn)
+                                                 .tagKeys("key1")
+                                                 .build());
+
+        assertThat(client.listTagsForResource(ListTagsForResourceRequest.builder()
+                                                                        .resourceArn(arn)
+                                                                        .build())
+                         .tags()).isEqualTo(Collections.singletonMap("key2", "value2"));
+        assertThatThrownBy(() -> client.listTagsForResource(ListTagsForResourceRequest.builder()
+                                                                                      .resourceArn(arn + "-missing")
+                                                                                      .build()))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void testSchemaMappingInUse() {
+        client.createSchemaMapping(schemaMapping("schema"));
+        client.createMatchingWorkflow(matchingWorkflow("workflow").build());
+
+        assertThat(client.getSchemaMapping(GetSchemaMappingRequest.builder()
+                                                                  .schemaName("schema")
+                                                                  .build())
+                         .hasWorkflows()).isTrue();
+        assertThatThrownBy(() -> client.deleteSchemaMapping(DeleteSchemaMappingRequest.builder()
+                                                                                      .schemaName("schema")
+                                                                                      .build()))
+            .isInstanceOf(ConflictException.class);
+
+        client.deleteMatchingWorkflow(DeleteMatchingWorkflowRequest.builder()
+                                                                   .workflowName("workflow")
+                                                                   .build());
+        client.deleteSchemaMapping(DeleteSchemaMappingRequest.builder()
+                                                             .schemaName("schema")
+                                                             .build());
+    }
+
+    @Test
+    public void testInjectedThrottle() {
+        service.setBehavior(ServiceBehavior.builder()
+                                           .throttleRate(1)
+                                           .build());
+
+        assertThatThrownBy(() -> client.createSchemaMapping(schemaMapping("schema")))
+            .isInstanceOf(ThrottlingException.class);
+        assertThat(service.getInjectedThrottleCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testInjectedError() {
+        service.setBehavior(ServiceBehavior.builder()
+                                           .errorRate(1)
+                                           .build());
+
+        assertThatThrownBy(() -> client.createSchemaMapping(schemaMapping("schema")))
+            .isInstanceOf(InternalServerException.class);
+        assertThat(service.getInjectedErrorCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRequestRateLimit() {
+        service.setBehavior(ServiceBehavior.builder()
+                                           .maxRequestsPerSecond(2)
+                                           .build());
+
+        int throttled = 0;
+        for (int i = 0; i < 5; i++) {
+            try {
+                client.listSchemaMappings(ListSchemaMappingsRequest.builder()
+                                                                   .build());
+            } catch (final ThrottlingException e) {
+                throttled++;
+            }
+        }
+
+        assertThat(throttled).isGreaterThanOrEqualTo(2);
+        assertThat(service.getInjectedThrottleCount()).isEqualTo(throttled);
+    }
+
+    @Test
+    public void testLatency() {
+        service.setBehavior(ServiceBehavior.builder()
+                                           .latency(LatencyModel.fixed(100))
+                                           .build());
+
+        final long start = System.nanoTime();
+        client.listSchemaMappings(ListSchemaMappingsRequest.builder()
+                                                           .build());
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isGreaterThanOrEqualTo(100);
+    }
+
+    private static CreateMatchingWorkflowRequest.Builder matchingWorkflow(final String workflowName) {
+        return CreateMatchingWorkflowRequest.builder()
+                                            .workflowName(workflowName)
+                                            .inputSourceConfig(inputSource("schema"))
+                                            .resolutionTechniques(ruleMatching())
+                                            .roleArn(ROLE_ARN);
+    }
+
+    private static InputSource inputSource(final String schemaName) {
+        return InputSource.builder()
+                          .inputSourceARN(INPUT_SOURCE_ARN)
+                          .schemaName(schemaName)
+                          .build();
+    }
+
+    private static ResolutionTechniques ruleMatching() {
+        return ResolutionTechniques.builder()
+                                   .resolutionType(ResolutionType.RULE_MATCHING)
+                                   .build();
+    }
+
+    private static CreateSchemaMappingRequest schemaMapping(final String schemaName) {
+        return CreateSchemaMappingRequest.builder()
+                                         .schemaName(schemaName)
+                                         .mappedInputFields(SchemaInputAttribute.builder()
+                                                                                .fieldName("id")
+                                                                                .type(SchemaAttributeType.UNIQUE_ID)
+                                                                                .build())
+                                         .build();
+    }
+}